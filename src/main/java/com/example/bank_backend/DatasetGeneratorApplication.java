@@ -0,0 +1,48 @@
+package com.example.bank_backend;
+
+import com.example.bank_backend.service.DatasetFileWriter;
+import com.example.bank_backend.service.DatasetGenerator;
+import com.example.bank_backend.service.DatasetLoadService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Генерация синтетического набора данных (см. DatasetGenerator).
+// Параметры: --dataset.seed, --dataset.banks, --dataset.clients, --dataset.deposits.
+// С --dataset.output=<каталог> набор пишется в CSV-файлы, без него — в БД приложения через COPY
+// (остальные аргументы, например --spring.datasource.url, передаются Spring как есть).
+public class DatasetGeneratorApplication {
+
+	public static void main(String[] args) throws IOException {
+		SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+		DatasetGenerator.Settings defaults = DatasetGenerator.Settings.defaults();
+		DatasetGenerator generator = new DatasetGenerator(defaults
+				.withSeed(Long.parseLong(option(options, "dataset.seed", defaults.seed())))
+				.withScale(Integer.parseInt(option(options, "dataset.banks", defaults.banks())),
+						Integer.parseInt(option(options, "dataset.clients", defaults.clients())),
+						Long.parseLong(option(options, "dataset.deposits", defaults.deposits()))));
+
+		String output = options.getProperty("dataset.output");
+		if (output != null) {
+			DatasetFileWriter.write(generator, Path.of(output));
+			return;
+		}
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BankBackendApplication.class)
+				.web(WebApplicationType.NONE)
+				// книга депозитов в памяти нужна серверу, а не консольной загрузке
+				.properties("deposit-book.preload=false")
+				.run(args)) {
+			context.getBean(DatasetLoadService.class).load(generator);
+		}
+	}
+
+	private static String option(SimpleCommandLinePropertySource options, String name, Object defaultValue) {
+		String value = options.getProperty(name);
+		return value != null ? value : String.valueOf(defaultValue);
+	}
+
+}
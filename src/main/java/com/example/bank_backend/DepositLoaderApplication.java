@@ -0,0 +1,32 @@
+package com.example.bank_backend;
+
+import com.example.bank_backend.dto.DepositLoadReport;
+import com.example.bank_backend.service.DepositCopyService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+// Консольная загрузка исторических депозитов из CSV через COPY (см. DepositCopyService).
+// Поднимает контекст приложения без веб-сервера с теми же настройками БД, что и API.
+public class DepositLoaderApplication {
+
+	public static void main(String[] args) {
+		if (args.length < 1) {
+			System.err.println("Использование: DepositLoaderApplication <файл.csv> [--spring.datasource.url=...]");
+			System.exit(2);
+		}
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BankBackendApplication.class)
+				.web(WebApplicationType.NONE)
+				// книга депозитов в памяти нужна серверу, а не консольной загрузке
+				.properties("deposit-book.preload=false")
+				.run(args)) {
+			DepositLoadReport report = context.getBean(DepositCopyService.class).load(Path.of(args[0]));
+			System.out.printf("Прочитано: %d, загружено: %d, отбраковано: %d%n",
+					report.read(), report.inserted(), report.rejected());
+			report.messages().forEach(System.out::println);
+		}
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.example.bank_backend.config;
+
+import com.example.bank_backend.repository.KeysetJpaRepository;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+// Отдельный класс, чтобы @WebMvcTest-срезы не поднимали репозитории
+@Configuration
+@EnableJpaRepositories(
+        basePackages = "com.example.bank_backend.repository",
+        repositoryBaseClass = KeysetJpaRepository.class
+)
+public class JpaConfig {
+}
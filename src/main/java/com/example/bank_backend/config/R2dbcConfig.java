@@ -0,0 +1,64 @@
+package com.example.bank_backend.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+// Клиент R2DBC для реактивного чтения депозитов. Отдельный класс по той же причине, что и JpaConfig.
+// Пул соединений собирается здесь по spring.r2dbc.*, а не автоконфигурацией (R2dbcAutoConfiguration
+// исключена в application.properties), и бином не публикуется: при любом бине ConnectionFactory
+// DataSourceAutoConfiguration не создаёт DataSource, и без него не поднимаются JPA и Flyway
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class R2dbcConfig implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(R2dbcProperties properties) {
+        connectionPool = connectionPool(properties);
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    private static ConnectionPool connectionPool(R2dbcProperties properties) {
+        ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(properties.getUrl());
+        if (StringUtils.hasText(properties.getUsername())) {
+            builder.username(properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            builder.password(properties.getPassword());
+        }
+        ConnectionFactory connectionFactory = builder.build();
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .minIdle(pool.getMinIdle())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .maxAcquireTime(pool.getMaxAcquireTime())
+                .maxCreateConnectionTime(pool.getMaxCreateConnectionTime())
+                .maxValidationTime(pool.getMaxValidationTime())
+                .validationDepth(pool.getValidationDepth());
+        if (StringUtils.hasText(pool.getValidationQuery())) {
+            configuration.validationQuery(pool.getValidationQuery());
+        }
+        return new ConnectionPool(configuration.build());
+    }
+}
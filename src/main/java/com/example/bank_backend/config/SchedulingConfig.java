@@ -0,0 +1,10 @@
+package com.example.bank_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Фоновые задачи (обновление справочника банков); вынесено отдельно по той же причине, что и JpaConfig
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,46 @@
+package com.example.bank_backend.controller;
+
+import com.example.bank_backend.dto.BankLoadReport;
+import com.example.bank_backend.dto.CacheStatsView;
+import com.example.bank_backend.dto.SummaryRebuildReport;
+import com.example.bank_backend.service.BikDirectoryLoader;
+import com.example.bank_backend.service.ClientCache;
+import com.example.bank_backend.service.DepositStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+// Служебные эндпоинты: состояние кэшей, загрузка справочников, пересчёт итогов
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final ClientCache clientCache;
+    private final BikDirectoryLoader bikDirectoryLoader;
+    private final DepositStatsService depositStatsService;
+
+    @Autowired
+    public AdminController(ClientCache clientCache, BikDirectoryLoader bikDirectoryLoader,
+                           DepositStatsService depositStatsService) {
+        this.clientCache = clientCache;
+        this.bikDirectoryLoader = bikDirectoryLoader;
+        this.depositStatsService = depositStatsService;
+    }
+
+    // Статистика кэша клиентов: попадания, промахи, вытеснения, размер
+    @GetMapping("/cache/clients")
+    public CacheStatsView getClientCacheStats() {
+        return clientCache.stats();
+    }
+
+    // Загрузить справочник БИК из файла bik-directory.path: новые банки добавляются, наименования обновляются
+    @PostMapping("/banks/bik-directory")
+    public BankLoadReport loadBikDirectory() {
+        return bikDirectoryLoader.load();
+    }
+
+    // Пересчитать итоги депозитов по банкам (deposit_summary) с нуля, если они разошлись с книгой
+    @PostMapping("/deposit-summary/rebuild")
+    public SummaryRebuildReport rebuildDepositSummary() {
+        return depositStatsService.rebuildSummary();
+    }
+}
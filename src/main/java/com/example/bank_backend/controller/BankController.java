@@ -1,5 +1,7 @@
 package com.example.bank_backend.controller;
 
+import com.example.bank_backend.dto.BankView;
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.exception.NoBanksFoundException;
 import com.example.bank_backend.model.Bank;
 import com.example.bank_backend.service.BankService;
@@ -8,8 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/banks")
 public class BankController {
@@ -24,13 +24,15 @@ public class BankController {
 
     // Получить все банки (поиск + фильтрация)
     @GetMapping
-    public List<Bank> getAllBanks(@RequestParam(required = false) String name,
-                                  @RequestParam(required = false) String bik,
-                                  @RequestParam(defaultValue = "id") String sortBy,
-                                  @RequestParam(defaultValue = "asc") String direction
+    public CursorPage<BankView> getAllBanks(@RequestParam(required = false) String name,
+                                        @RequestParam(required = false) String bik,
+                                        @RequestParam(defaultValue = "id") String sortBy,
+                                        @RequestParam(defaultValue = "asc") String direction,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer size
     ) {
-        List<Bank> banks = bankService.findAllBanks(name, bik, sortBy, direction);
-        if (banks.isEmpty()) {
+        CursorPage<BankView> banks = bankService.findAllBanks(name, bik, sortBy, direction, cursor, size);
+        if (banks.content().isEmpty()) {
             throw new NoBanksFoundException("Банки с указанными критериями не найдены");
         }
         return banks;
@@ -1,39 +1,48 @@
 package com.example.bank_backend.controller;
 
+import com.example.bank_backend.dto.ClientView;
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.exception.NoClientsFoundException;
 import com.example.bank_backend.model.Client;
 import com.example.bank_backend.model.LegalForm;
+import com.example.bank_backend.service.ClientImportService;
 import com.example.bank_backend.service.ClientService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/clients")
 public class ClientController {
 
     private final ClientService clientService;
+    private final ClientImportService clientImportService;
 
     @Autowired
-    public ClientController(ClientService clientService)
+    public ClientController(ClientService clientService, ClientImportService clientImportService)
     {
         this.clientService = clientService;
+        this.clientImportService = clientImportService;
     }
 
     // Получить всех клиентов (поиск + фильтрация)
     @GetMapping
-    public List<Client> getAllClients(@RequestParam(required = false) String name,
+    public CursorPage<ClientView> getAllClients(@RequestParam(required = false) String name,
             @RequestParam(required = false) String shortName,
             @RequestParam(required = false) String address,
             @RequestParam(required = false) LegalForm legalForm,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String direction
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ) {
-        List<Client> clients = clientService.findAllClients(name, shortName, address, legalForm, sortBy, direction);
-        if (clients.isEmpty()) {
+        CursorPage<ClientView> clients = clientService.findAllClients(name, shortName, address, legalForm, sortBy, direction, cursor, size);
+        if (clients.content().isEmpty()) {
             throw new NoClientsFoundException("Клиенты с указанными критериями не найдены");
         }
         return clients;
@@ -51,6 +60,15 @@ public class ClientController {
         return clientService.createClient(client);
     }
 
+    // Импорт клиентов из CSV (колонки name, shortName, address, legalForm); отчёт по строкам — NDJSON
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<StreamingResponseBody> importClients(InputStream csv) {
+        StreamingResponseBody report = out -> clientImportService.importClients(csv, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(report);
+    }
+
     // Обновить (изменить) клиента по ID
     @PutMapping("/{id}")
     public Client updateClient(@PathVariable Long id, @Valid @RequestBody Client clientDetails) {
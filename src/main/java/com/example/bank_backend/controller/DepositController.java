@@ -1,15 +1,33 @@
 package com.example.bank_backend.controller;
 
+import com.example.bank_backend.dto.AccrualConvention;
+import com.example.bank_backend.dto.AccrualSummary;
+import com.example.bank_backend.dto.BankConcentration;
+import com.example.bank_backend.dto.BankDepositStats;
+import com.example.bank_backend.dto.BulkResult;
+import com.example.bank_backend.dto.ClientDepositStats;
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.dto.DepositRequest;
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.dto.ExportFormat;
+import com.example.bank_backend.dto.MaturityLadder;
+import com.example.bank_backend.dto.TermDepositStats;
 import com.example.bank_backend.exception.NoDepositsFoundException;
 import com.example.bank_backend.model.Client;
 import com.example.bank_backend.model.Deposit;
+import com.example.bank_backend.service.DepositAnalyticsService;
+import com.example.bank_backend.service.DepositBulkService;
+import com.example.bank_backend.service.DepositExportService;
 import com.example.bank_backend.service.DepositService;
+import com.example.bank_backend.service.DepositStatsService;
+import com.example.bank_backend.service.InterestAccrualService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,15 +37,27 @@ import java.util.List;
 public class DepositController {
 
     private final DepositService depositService;
+    private final DepositBulkService depositBulkService;
+    private final DepositExportService depositExportService;
+    private final InterestAccrualService interestAccrualService;
+    private final DepositStatsService depositStatsService;
+    private final DepositAnalyticsService depositAnalyticsService;
 
     @Autowired
-    public DepositController(DepositService depositService) {
+    public DepositController(DepositService depositService, DepositBulkService depositBulkService,
+                             DepositExportService depositExportService, InterestAccrualService interestAccrualService,
+                             DepositStatsService depositStatsService, DepositAnalyticsService depositAnalyticsService) {
         this.depositService = depositService;
+        this.depositBulkService = depositBulkService;
+        this.depositExportService = depositExportService;
+        this.interestAccrualService = interestAccrualService;
+        this.depositStatsService = depositStatsService;
+        this.depositAnalyticsService = depositAnalyticsService;
     }
 
     // Получить все депозиты (поиск + фильтрация)
     @GetMapping
-    public List<Deposit> getAllDeposits(
+    public CursorPage<DepositView> getAllDeposits(
             @RequestParam(required = false) Long clientId,
             @RequestParam(required = false) Long bankId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateFrom,
@@ -37,20 +67,148 @@ public class DepositController {
             @RequestParam(required = false) Integer minTerm,
             @RequestParam(required = false) Integer maxTerm,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String direction
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ) {
-        List<Deposit> deposits = depositService.findAllDeposits(
+        CursorPage<DepositView> deposits = depositService.findAllDeposits(
                 clientId, bankId, openingDateFrom, openingDateTo,
                 minPercentage, maxPercentage, minTerm, maxTerm,
-                sortBy, direction
+                sortBy, direction, cursor, size
         );
 
-        if (deposits.isEmpty()) {
+        if (deposits.content().isEmpty()) {
             throw new NoDepositsFoundException("Депозиты с указанными критериями не найдены");
         }
         return deposits;
     }
 
+    // Выгрузить все депозиты по тем же фильтрам потоком (ndjson или csv), без постраничной разбивки
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDeposits(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long bankId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateTo,
+            @RequestParam(required = false) Double minPercentage,
+            @RequestParam(required = false) Double maxPercentage,
+            @RequestParam(required = false) Integer minTerm,
+            @RequestParam(required = false) Integer maxTerm,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = out -> depositExportService.exportDeposits(
+                clientId, bankId, openingDateFrom, openingDateTo,
+                minPercentage, maxPercentage, minTerm, maxTerm,
+                exportFormat, out
+        );
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=deposits." + exportFormat.extension())
+                .body(body);
+    }
+
+    // Депозиты, погашаемые в ближайшие days дней начиная с from (по умолчанию — сегодня),
+    // по дате погашения; страницы — по курсору, как у списка депозитов
+    @GetMapping("/maturities")
+    public CursorPage<DepositView> getMaturingDeposits(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long bankId,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        return depositService.findMaturingDeposits(start, start.plusDays(days), clientId, bankId, direction, cursor, size);
+    }
+
+    // Итоги по банкам: число депозитов, средняя и взвешенная по сроку ставка, распределение по срокам.
+    // Фильтры — как у списка депозитов
+    @GetMapping("/stats/banks")
+    public List<BankDepositStats> getBankStats(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long bankId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateTo,
+            @RequestParam(required = false) Double minPercentage,
+            @RequestParam(required = false) Double maxPercentage,
+            @RequestParam(required = false) Integer minTerm,
+            @RequestParam(required = false) Integer maxTerm
+    ) {
+        return depositStatsService.findBankStats(
+                clientId, bankId, openingDateFrom, openingDateTo,
+                minPercentage, maxPercentage, minTerm, maxTerm
+        );
+    }
+
+    // Клиенты с наибольшим числом депозитов (первые size), по тем же фильтрам
+    @GetMapping("/stats/clients")
+    public List<ClientDepositStats> getClientStats(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long bankId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateTo,
+            @RequestParam(required = false) Double minPercentage,
+            @RequestParam(required = false) Double maxPercentage,
+            @RequestParam(required = false) Integer minTerm,
+            @RequestParam(required = false) Integer maxTerm,
+            @RequestParam(required = false) Integer size
+    ) {
+        return depositStatsService.findTopClientStats(
+                clientId, bankId, openingDateFrom, openingDateTo,
+                minPercentage, maxPercentage, minTerm, maxTerm,
+                size
+        );
+    }
+
+    // Распределение депозитов по сроку, по тем же фильтрам
+    @GetMapping("/stats/terms")
+    public List<TermDepositStats> getTermStats(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long bankId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateTo,
+            @RequestParam(required = false) Double minPercentage,
+            @RequestParam(required = false) Double maxPercentage,
+            @RequestParam(required = false) Integer minTerm,
+            @RequestParam(required = false) Integer maxTerm
+    ) {
+        return depositStatsService.findTermStats(
+                clientId, bankId, openingDateFrom, openingDateTo,
+                minPercentage, maxPercentage, minTerm, maxTerm
+        );
+    }
+
+    // Итоги начисления процентов по всей книге депозитов на дату (по умолчанию — сегодня)
+    @GetMapping("/accrual")
+    public AccrualSummary getAccrual(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestParam(defaultValue = "simple") String convention
+    ) {
+        return interestAccrualService.accrue(asOf != null ? asOf : LocalDate.now(), AccrualConvention.of(convention));
+    }
+
+    // Действующие депозиты по месяцу погашения на months месяцев вперёд от asOf (по книге в памяти)
+    @GetMapping("/maturity-ladder")
+    public MaturityLadder getMaturityLadder(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestParam(required = false) Integer months,
+            @RequestParam(required = false) Long bankId
+    ) {
+        return depositAnalyticsService.maturityLadder(asOf != null ? asOf : LocalDate.now(), months, bankId);
+    }
+
+    // Доли банков в действующих депозитах и индекс концентрации (по книге в памяти)
+    @GetMapping("/concentration")
+    public BankConcentration getConcentration(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestParam(required = false) Integer size
+    ) {
+        return depositAnalyticsService.concentration(asOf != null ? asOf : LocalDate.now(), size);
+    }
+
     // Получить депозит по ID
     @GetMapping("/{id}")
     public Deposit getDepositById(@PathVariable Long id) {
@@ -63,6 +221,12 @@ public class DepositController {
         return depositService.createDeposit(depositRequest);
     }
 
+    // Создать депозиты пачкой; записи проверяются по отдельности, результат — по каждой записи
+    @PostMapping("/bulk")
+    public BulkResult createDeposits(@RequestBody List<DepositRequest> depositRequests) {
+        return depositBulkService.createDeposits(depositRequests);
+    }
+
     @PutMapping("/{id}")
     public Deposit updateDeposit(@PathVariable Long id, @Valid @RequestBody DepositRequest DepositRequestDetails) {
         return depositService.updateDeposit(id, DepositRequestDetails);
@@ -0,0 +1,53 @@
+package com.example.bank_backend.controller;
+
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.service.DepositReactiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+// Реактивный вариант чтения депозитов для потребителей с тысячами одновременных запросов.
+// Поток запроса освобождается сразу: ответ дописывается асинхронно по мере прихода строк из R2DBC,
+// следующая строка запрашивается у БД после записи предыдущей (обратное давление)
+@RestController
+@RequestMapping("/api/reactive/deposits")
+public class ReactiveDepositController {
+
+    private final DepositReactiveService depositReactiveService;
+
+    @Autowired
+    public ReactiveDepositController(DepositReactiveService depositReactiveService) {
+        this.depositReactiveService = depositReactiveService;
+    }
+
+    // Все депозиты по фильтрам GET /api/deposits, по строке NDJSON на депозит
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DepositView> getAllDeposits(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long bankId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate openingDateTo,
+            @RequestParam(required = false) Double minPercentage,
+            @RequestParam(required = false) Double maxPercentage,
+            @RequestParam(required = false) Integer minTerm,
+            @RequestParam(required = false) Integer maxTerm,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return depositReactiveService.findDeposits(
+                clientId, bankId, openingDateFrom, openingDateTo,
+                minPercentage, maxPercentage, minTerm, maxTerm,
+                sortBy, direction, limit);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<DepositView> getDepositById(@PathVariable Long id) {
+        return depositReactiveService.findDepositById(id);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.bank_backend.dto;
+
+import com.example.bank_backend.exception.UnsupportedAccrualConventionException;
+
+import java.util.Locale;
+
+// Способ начисления процентов: SIMPLE — простые проценты ACT/365,
+// MONTHLY — ежемесячная капитализация по ставке percentage / 12, неполный месяц — простые ACT/365
+public enum AccrualConvention {
+    SIMPLE,
+    MONTHLY;
+
+    public static AccrualConvention of(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedAccrualConventionException("Неподдерживаемый способ начисления '" + value + "'. Допустимые значения: simple, monthly");
+        }
+    }
+}
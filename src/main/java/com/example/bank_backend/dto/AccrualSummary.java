@@ -0,0 +1,20 @@
+package com.example.bank_backend.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Итоги начисления по книге депозитов на дату asOf (GET /api/deposits/accrual).
+// Суммы у депозита нет, поэтому каждый считается с номиналом 1: accruedInterest и maturityValue —
+// суммы по депозитам в долях номинала, averageEffectiveYield — средняя эффективная годовая доходность, %.
+// Депозиты, открытые после asOf, в итоги не входят.
+public record AccrualSummary(
+        LocalDate asOf,
+        AccrualConvention convention,
+        long deposits,
+        long matured,
+        double accruedInterest,
+        double maturityValue,
+        double averageEffectiveYield,
+        Instant bookLoadedAt,
+        long computeMillis) {
+}
@@ -0,0 +1,23 @@
+package com.example.bank_backend.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+// Концентрация действующих на asOf депозитов по банкам (GET /api/deposits/concentration).
+// hhi — индекс Херфиндаля–Хиршмана по числу депозитов: сумма квадратов долей банков в процентах,
+// от 10000 / banks (поровну) до 10000 (всё в одном банке). top — первые банки по числу депозитов
+public record BankConcentration(
+        LocalDate asOf,
+        long deposits,
+        int banks,
+        double hhi,
+        List<BankShare> top,
+        Instant bookLoadedAt,
+        long computeMillis) {
+
+    // share — доля депозитов банка, %; bankName и bik — null, если банка уже нет в справочнике
+    public record BankShare(Long bankId, String bankName, String bik, long deposits, double share,
+                            double averagePercentage) {
+    }
+}
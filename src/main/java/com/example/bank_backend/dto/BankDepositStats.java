@@ -0,0 +1,30 @@
+package com.example.bank_backend.dto;
+
+// Итоги по депозитам одного банка (GET /api/deposits/stats/banks).
+// weightedPercentage — средняя ставка, взвешенная по сроку: у депозита нет суммы, поэтому вес — termMonths.
+// terms — число депозитов по группам сроков, в месяцах.
+public record BankDepositStats(
+        Long bankId,
+        String bankName,
+        String bik,
+        Long deposits,
+        Double averagePercentage,
+        Double weightedPercentage,
+        Double minPercentage,
+        Double maxPercentage,
+        Double averageTermMonths,
+        TermBuckets terms
+) {
+    public record TermBuckets(Long months1To3, Long months4To6, Long months7To12, Long months13To24, Long over24) {}
+
+    // Конструктор для JPA constructor expression (DepositStatsRepository.findBankStats);
+    // percentageTermSum / termSum — числитель и знаменатель взвешенной ставки
+    public BankDepositStats(Long bankId, String bankName, String bik, Long deposits,
+                            Double averagePercentage, Double minPercentage, Double maxPercentage,
+                            Double averageTermMonths, Double percentageTermSum, Long termSum,
+                            Long months1To3, Long months4To6, Long months7To12, Long months13To24, Long over24) {
+        this(bankId, bankName, bik, deposits, averagePercentage, percentageTermSum / termSum,
+                minPercentage, maxPercentage, averageTermMonths,
+                new TermBuckets(months1To3, months4To6, months7To12, months13To24, over24));
+    }
+}
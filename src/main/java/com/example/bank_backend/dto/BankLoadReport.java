@@ -0,0 +1,7 @@
+package com.example.bank_backend.dto;
+
+import java.util.List;
+
+// Итог загрузки справочника БИК; messages — причины пропуска записей (не больше BikDirectoryLoader.MAX_MESSAGES)
+public record BankLoadReport(int inserted, int updated, int unchanged, int skipped, List<String> messages) {
+}
@@ -0,0 +1,17 @@
+package com.example.bank_backend.dto;
+
+import com.example.bank_backend.model.Bank;
+
+// Строка списка банков (read-model, не управляется persistence context)
+public record BankView(
+        Long id,
+        String name,
+        String bik
+) {
+    // Колонки для BankRepository.findViews, в порядке параметров конструктора
+    public static final String[] COLUMNS = {"id", "name", "bik"};
+
+    public static BankView from(Bank bank) {
+        return new BankView(bank.getId(), bank.getName(), bank.getBik());
+    }
+}
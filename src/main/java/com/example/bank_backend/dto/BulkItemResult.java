@@ -0,0 +1,13 @@
+package com.example.bank_backend.dto;
+
+// Результат по одной записи массовой операции: id созданной записи или текст ошибки
+public record BulkItemResult(int index, Long id, String error) {
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, id, null);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, null, error);
+    }
+}
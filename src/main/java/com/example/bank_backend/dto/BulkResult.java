@@ -0,0 +1,7 @@
+package com.example.bank_backend.dto;
+
+import java.util.List;
+
+// Ответ массовой операции; items идут в порядке входных записей
+public record BulkResult(int created, int failed, List<BulkItemResult> items) {
+}
@@ -0,0 +1,27 @@
+package com.example.bank_backend.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+// Счётчики кэша для GET /api/admin/cache/*
+public record CacheStatsView(
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long loadFailureCount,
+        long evictionCount,
+        long evictionWeight,
+        long estimatedSize,
+        long weightedSize) {
+
+    public static CacheStatsView of(CacheStats stats, long estimatedSize, long weightedSize) {
+        return new CacheStatsView(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.loadFailureCount(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                estimatedSize,
+                weightedSize);
+    }
+}
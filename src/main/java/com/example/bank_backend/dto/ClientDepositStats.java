@@ -0,0 +1,12 @@
+package com.example.bank_backend.dto;
+
+// Итоги по депозитам одного клиента (GET /api/deposits/stats/clients): число депозитов,
+// число банков, в которых они открыты, и средняя ставка
+public record ClientDepositStats(
+        Long clientId,
+        String clientName,
+        Long deposits,
+        Long banks,
+        Double averagePercentage
+) {
+}
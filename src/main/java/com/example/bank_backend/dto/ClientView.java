@@ -0,0 +1,20 @@
+package com.example.bank_backend.dto;
+
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.LegalForm;
+
+// Строка списка клиентов (read-model, не управляется persistence context)
+public record ClientView(
+        Long id,
+        String name,
+        String shortName,
+        String address,
+        LegalForm legalForm
+) {
+    // Колонки для ClientRepository.findViews, в порядке параметров конструктора
+    public static final String[] COLUMNS = {"id", "name", "shortName", "address", "legalForm"};
+
+    public static ClientView from(Client client) {
+        return new ClientView(client.getId(), client.getName(), client.getShortName(), client.getAddress(), client.getLegalForm());
+    }
+}
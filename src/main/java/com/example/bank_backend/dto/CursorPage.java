@@ -0,0 +1,9 @@
+package com.example.bank_backend.dto;
+
+import java.util.List;
+
+// Страница списка; nextCursor == null, если дальше строк нет
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor
+) {}
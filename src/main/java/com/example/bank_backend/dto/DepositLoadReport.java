@@ -0,0 +1,7 @@
+package com.example.bank_backend.dto;
+
+import java.util.List;
+
+// Итог загрузки исторических депозитов; messages — первые отбракованные строки (не больше DepositCopyService.MAX_MESSAGES)
+public record DepositLoadReport(long read, long inserted, long rejected, List<String> messages) {
+}
@@ -0,0 +1,41 @@
+package com.example.bank_backend.dto;
+
+import com.example.bank_backend.model.Deposit;
+
+import java.time.LocalDate;
+
+// Строка списка депозитов: от клиента и банка берутся только идентифицирующие поля,
+// без адреса клиента и без загрузки связанных сущностей
+public record DepositView(
+        Long id,
+        ClientRef client,
+        BankRef bank,
+        LocalDate openingDate,
+        Double percentage,
+        Integer termMonths,
+        LocalDate maturityDate
+) {
+    // Колонки для DepositRepository.findViews, в порядке параметров плоского конструктора
+    public static final String[] COLUMNS = {
+            "id", "client.id", "client.name", "bank.id", "bank.name", "bank.bik",
+            "openingDate", "percentage", "termMonths", "maturityDate"
+    };
+
+    public record ClientRef(Long id, String name) {}
+
+    public record BankRef(Long id, String name, String bik) {}
+
+    // Конструктор для JPA constructor expression
+    public DepositView(Long id, Long clientId, String clientName, Long bankId, String bankName, String bankBik,
+                       LocalDate openingDate, Double percentage, Integer termMonths, LocalDate maturityDate) {
+        this(id, new ClientRef(clientId, clientName), new BankRef(bankId, bankName, bankBik),
+                openingDate, percentage, termMonths, maturityDate);
+    }
+
+    public static DepositView from(Deposit deposit) {
+        return new DepositView(deposit.getId(),
+                deposit.getClient().getId(), deposit.getClient().getName(),
+                deposit.getBank().getId(), deposit.getBank().getName(), deposit.getBank().getBik(),
+                deposit.getOpeningDate(), deposit.getPercentage(), deposit.getTermMonths(), deposit.getMaturityDate());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bank_backend.dto;
+
+import com.example.bank_backend.exception.UnsupportedExportFormatException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+// Форматы выгрузки: NDJSON — по JSON-объекту на строку, CSV — с заголовком
+public enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat of(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedExportFormatException("Неподдерживаемый формат выгрузки '" + value + "'. Допустимые значения: ndjson, csv");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bank_backend.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+// Лестница погашений (GET /api/deposits/maturity-ladder): действующие на asOf депозиты
+// (открыты не позже asOf и ещё не погашены) по месяцу погашения, начиная с месяца asOf.
+// buckets — ровно months месяцев, в том числе пустые; later — всё, что гасится позже.
+// bankId — фильтр запроса (null — все банки)
+public record MaturityLadder(
+        LocalDate asOf,
+        Long bankId,
+        long deposits,
+        List<Bucket> buckets,
+        Bucket later,
+        Instant bookLoadedAt,
+        long computeMillis) {
+
+    // month — месяц погашения (у later — null); averagePercentage — 0, если депозитов нет
+    public record Bucket(YearMonth month, long deposits, double averagePercentage) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.bank_backend.dto;
+
+import com.example.bank_backend.exception.InvalidPageRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Позиция последней строки страницы: значение поля сортировки + id как тай-брейкер.
+// Клиенту отдаётся как непрозрачный base64url-токен.
+public record PageCursor(
+        String sortBy,
+        Sort.Direction direction,
+        String value,
+        Long id
+) {
+
+    public String encode() {
+        String raw = sortBy + "\n" + direction + "\n" + id + "\n" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 4);
+            if (parts.length != 4) {
+                throw new InvalidPageRequestException("Некорректный курсор страницы");
+            }
+            return new PageCursor(parts[0], Sort.Direction.valueOf(parts[1]), parts[3], Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Некорректный курсор страницы");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.bank_backend.dto;
+
+// Результат пересчёта итогов deposit_summary (POST /api/admin/deposit-summary/rebuild):
+// число строк (банк, группа сроков) и время пересчёта
+public record SummaryRebuildReport(int rows, long computeMillis) {
+}
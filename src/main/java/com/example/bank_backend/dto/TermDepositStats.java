@@ -0,0 +1,9 @@
+package com.example.bank_backend.dto;
+
+// Распределение депозитов по сроку (GET /api/deposits/stats/terms): строка на каждый встречающийся срок
+public record TermDepositStats(
+        Integer termMonths,
+        Long deposits,
+        Double averagePercentage
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.bank_backend.exception;
+
+public class InvalidLadderMonthsException extends RuntimeException {
+    public InvalidLadderMonthsException(String message) {
+        super(message);
+    }
+}
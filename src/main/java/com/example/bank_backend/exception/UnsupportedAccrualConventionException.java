@@ -0,0 +1,7 @@
+package com.example.bank_backend.exception;
+
+public class UnsupportedAccrualConventionException extends RuntimeException {
+    public UnsupportedAccrualConventionException(String message) {
+        super(message);
+    }
+}
@@ -14,7 +14,8 @@ import lombok.Setter;
 @Setter
 public class Bank {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "banks_seq")
+    @SequenceGenerator(name = "banks_seq", sequenceName = "banks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Наименование банка обязательно")
@@ -3,6 +3,7 @@ package com.example.bank_backend.model;
 import java.time.LocalDate;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,15 +13,16 @@ import lombok.Setter;
 @Setter
 public class Deposit {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deposits_seq")
+    @SequenceGenerator(name = "deposits_seq", sequenceName = "deposits_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     @NotNull(message = "Клиент не может быть пустым")
     private Client client;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bank_id", nullable = false)
     @NotNull(message = "Банк не может быть пустым")
     private Bank bank;
@@ -39,6 +41,13 @@ public class Deposit {
     @Max(value = 600, message = "Срок не может быть больше 300 месяцев (25 лет)") // random
     private Integer termMonths;
 
+    // Генерируемая колонка (V5): пишет её только БД. Значение в памяти считается тем же правилом
+    // перед вставкой и обновлением, чтобы сохранённый депозит возвращался с датой погашения
+    // без повторного чтения строки (которое помешало бы пакетной вставке).
+    @Column(name = "maturity_date", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private LocalDate maturityDate;
+
     public Deposit() {
     }
 
@@ -49,4 +58,10 @@ public class Deposit {
         this.percentage = percentage;
         this.termMonths = termMonths;
     }
+
+    @PrePersist
+    @PreUpdate
+    void computeMaturityDate() {
+        maturityDate = openingDate == null || termMonths == null ? null : openingDate.plusMonths(termMonths);
+    }
 }
@@ -1,9 +1,23 @@
 package com.example.bank_backend.repository;
 
+import com.example.bank_backend.dto.BankView;
 import com.example.bank_backend.model.Bank;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
-public interface BankRepository extends JpaRepository<Bank, Long> {
+import java.util.Collection;
+import java.util.List;
+
+public interface BankRepository extends KeysetRepository<Bank, Long> {
     boolean existsByName(String name);
     boolean existsByBik(String bik);
+
+    // Сверка пачки записей справочника БИК одним запросом
+    List<Bank> findByBikIn(Collection<String> biks);
+
+    List<Bank> findByNameIn(Collection<String> names);
+
+    default List<BankView> findViews(Specification<Bank> spec, Sort sort, int limit) {
+        return findAll(spec, sort, limit, BankView.class, BankView.COLUMNS);
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.model.Bank;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+// Фильтры списка банков, выполняются на стороне БД
+public final class BankSpecifications {
+
+    private BankSpecifications() {
+    }
+
+    // ILIKE по banks.name использует trigram-индекс idx_banks_name_trgm (V3)
+    public static Specification<Bank> nameContains(String name) {
+        return (root, query, cb) -> name == null ? null
+                : ((HibernateCriteriaBuilder) cb).ilike(root.get("name"), LikePatterns.contains(name), LikePatterns.ESCAPE);
+    }
+
+    public static Specification<Bank> bikContains(String bik) {
+        return (root, query, cb) -> bik == null ? null
+                : cb.like(root.get("bik"), LikePatterns.contains(bik), LikePatterns.ESCAPE);
+    }
+
+    // Полный набор фильтров GET /api/banks
+    public static Specification<Bank> filter(String name, String bik) {
+        return Specification.where(nameContains(name))
+                .and(bikContains(bik));
+    }
+}
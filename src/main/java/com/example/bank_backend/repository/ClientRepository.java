@@ -1,11 +1,28 @@
 package com.example.bank_backend.repository;
 
+import com.example.bank_backend.dto.ClientView;
 import com.example.bank_backend.model.Client;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends KeysetRepository<Client, Long> {
     boolean existsByName(String name);
     List<Client> findByNameContainingIgnoreCase(String name);
+
+    // Проверка существования пачки клиентов одним запросом (массовое создание депозитов)
+    @Query("select c.id from Client c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // То же для имён (импорт клиентов из CSV)
+    @Query("select c.name from Client c where c.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    default List<ClientView> findViews(Specification<Client> spec, Sort sort, int limit) {
+        return findAll(spec, sort, limit, ClientView.class, ClientView.COLUMNS);
+    }
 }
@@ -0,0 +1,41 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.LegalForm;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+// Фильтры списка клиентов, выполняются на стороне БД.
+// Поиск подстроки — ILIKE без lower(), чтобы Postgres мог использовать trigram GIN-индексы (V3).
+public final class ClientSpecifications {
+
+    private ClientSpecifications() {
+    }
+
+    public static Specification<Client> nameContains(String name) {
+        return (root, query, cb) -> name == null ? null
+                : ((HibernateCriteriaBuilder) cb).ilike(root.get("name"), LikePatterns.contains(name), LikePatterns.ESCAPE);
+    }
+
+    public static Specification<Client> shortNameContains(String shortName) {
+        return (root, query, cb) -> shortName == null ? null
+                : ((HibernateCriteriaBuilder) cb).ilike(root.get("shortName"), LikePatterns.contains(shortName), LikePatterns.ESCAPE);
+    }
+
+    public static Specification<Client> addressContains(String address) {
+        return (root, query, cb) -> address == null ? null
+                : ((HibernateCriteriaBuilder) cb).ilike(root.get("address"), LikePatterns.contains(address), LikePatterns.ESCAPE);
+    }
+
+    public static Specification<Client> hasLegalForm(LegalForm legalForm) {
+        return (root, query, cb) -> legalForm == null ? null : cb.equal(root.get("legalForm"), legalForm);
+    }
+
+    // Полный набор фильтров GET /api/clients
+    public static Specification<Client> filter(String name, String shortName, String address, LegalForm legalForm) {
+        return Specification.where(nameContains(name))
+                .and(shortNameContains(shortName))
+                .and(addressContains(address))
+                .and(hasLegalForm(legalForm));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.bank_backend.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Запись сгенерированного набора прямо в таблицы через COPY ... FROM STDIN (CSV) с готовыми id
+@Repository
+public class DatasetCopyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DatasetCopyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isEmpty() {
+        Boolean empty = jdbcTemplate.queryForObject("""
+                SELECT NOT EXISTS (SELECT 1 FROM banks)
+                   AND NOT EXISTS (SELECT 1 FROM clients)
+                   AND NOT EXISTS (SELECT 1 FROM deposits)""", Boolean.class);
+        return Boolean.TRUE.equals(empty);
+    }
+
+    // Строки, записанные body, уходят на сервер по мере заполнения буфера
+    public long copyIn(String copySql, CopyBody body) {
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), copySql, 1 << 16);
+            // Writer не закрывается: после endCopy его close сбросил бы буфер в завершённый COPY
+            Writer out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), 1 << 16);
+            try {
+                body.write(out);
+                out.flush();
+                return copy.endCopy();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Ошибка записи в COPY", e);
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    // Внешние ключи deposits на время COPY: иначе каждая строка проверяется отдельным запросом к clients и banks
+    public void dropDepositForeignKeys() {
+        jdbcTemplate.execute("""
+                ALTER TABLE deposits
+                    DROP CONSTRAINT fk_deposits_client,
+                    DROP CONSTRAINT fk_deposits_bank""");
+    }
+
+    // Те же ограничения, что в V1; ADD CONSTRAINT проверяет все строки одним проходом
+    // и откатывает транзакцию, если у депозита нет клиента или банка
+    public void addDepositForeignKeys() {
+        jdbcTemplate.execute("""
+                ALTER TABLE deposits
+                    ADD CONSTRAINT fk_deposits_client FOREIGN KEY (client_id) REFERENCES clients (id),
+                    ADD CONSTRAINT fk_deposits_bank FOREIGN KEY (bank_id) REFERENCES banks (id)""");
+    }
+
+    // Последовательности после вставки с явными id — так же, как в миграции V4
+    public void resetSequences() {
+        jdbcTemplate.execute("""
+                SELECT setval('banks_seq', COALESCE((SELECT max(id) FROM banks), 0) + 50, false),
+                       setval('clients_seq', COALESCE((SELECT max(id) FROM clients), 0) + 50, false),
+                       setval('deposits_seq', COALESCE((SELECT max(id) FROM deposits), 0) + 50, false)""");
+    }
+
+    public void analyze() {
+        jdbcTemplate.execute("ANALYZE banks, clients, deposits");
+    }
+
+    @FunctionalInterface
+    public interface CopyBody {
+        void write(Writer out) throws IOException;
+    }
+}
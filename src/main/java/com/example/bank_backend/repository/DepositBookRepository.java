@@ -0,0 +1,63 @@
+package com.example.bank_backend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Collection;
+
+// Полный проход по книге депозитов для снимков в памяти (DepositBook): только нужные колонки,
+// без сущностей и без persistence context.
+@Repository
+public class DepositBookRepository {
+
+    static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DepositBookRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Оценка числа строк по статистике планировщика, без count(*); -1 — таблица ещё не анализировалась
+    public long estimateSize() {
+        Long estimate = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = 'deposits'::regclass", Long.class);
+        return estimate == null ? -1 : estimate;
+    }
+
+    // Транзакция нужна курсору PostgreSQL (без неё драйвер вычитает весь результат в память)
+    @Transactional(readOnly = true)
+    public void scan(RowHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "SELECT id, client_id, bank_id, opening_date, percentage, term_months FROM deposits");
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs ->
+                handler.accept(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                        rs.getObject(4, LocalDate.class), rs.getDouble(5), rs.getInt(6)));
+    }
+
+    // Текущие строки депозитов ids; удалённых в БД нет, handler их не получает
+    public void findByIds(Collection<Long> ids, RowHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "SELECT id, client_id, bank_id, opening_date, percentage, term_months FROM deposits WHERE id = ANY (?)");
+            ps.setArray(1, connection.createArrayOf("int8", ids.toArray()));
+            return ps;
+        }, (RowCallbackHandler) rs ->
+                handler.accept(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                        rs.getObject(4, LocalDate.class), rs.getDouble(5), rs.getInt(6)));
+    }
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void accept(long id, long clientId, long bankId, LocalDate openingDate, double percentage, int termMonths);
+    }
+}
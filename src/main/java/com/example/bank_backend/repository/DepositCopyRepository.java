@@ -0,0 +1,117 @@
+package com.example.bank_backend.repository;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+// Загрузка депозитов протоколом COPY (pgjdbc CopyManager) через промежуточную временную таблицу.
+// Все методы должны вызываться в одной транзакции: временная таблица живёт до её коммита.
+@Repository
+public class DepositCopyRepository {
+
+    // Строки CSV: clientName,bik,openingDate,percentage,termMonths (первая строка — заголовок).
+    // line нумерует записи в порядке файла и нужна только для отчёта об ошибках.
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE deposit_import (
+                line         BIGINT GENERATED ALWAYS AS IDENTITY,
+                client_name  TEXT,
+                bik          TEXT,
+                opening_date DATE,
+                percentage   DOUBLE PRECISION,
+                term_months  INTEGER
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_SQL = """
+            COPY deposit_import (client_name, bik, opening_date, percentage, term_months)
+            FROM STDIN WITH (FORMAT csv, HEADER true)""";
+
+    // Те же ограничения, что и у сущности Deposit
+    private static final String VALID_ROW = """
+            s.opening_date IS NOT NULL AND s.percentage >= 0.01 AND s.term_months BETWEEN 1 AND 600""";
+
+    // Ссылки разрешаются соединением с clients по имени и с banks по БИК, поэтому вставляются только строки
+    // с существующими клиентом и банком: внешние ключи deposits остаются на месте и проверяются
+    // лишь для новых строк, а не проходом по всей таблице.
+    // id выдаются блоками deposits_seq так же, как в DepositBulkRepository.allocateIds:
+    // значение nextval — верхняя граница блока из ID_BLOCK_SIZE id. Блоков берётся на все строки
+    // промежуточной таблицы; id отбракованных строк пропадают, как и при откате транзакции.
+    // MATERIALIZED: nextval вычисляется ровно один раз на блок при любом плане соединения.
+    private static final String INSERT_SQL = """
+            WITH blocks AS MATERIALIZED (
+                SELECT g AS block, nextval('deposits_seq') AS high
+                FROM generate_series(0, ?) g
+            ), resolved AS (
+                SELECT row_number() OVER (ORDER BY s.line) - 1 AS n,
+                       c.id AS client_id, b.id AS bank_id, s.opening_date, s.percentage, s.term_months
+                FROM deposit_import s
+                JOIN clients c ON c.name = s.client_name
+                JOIN banks b ON b.bik = s.bik
+                WHERE %s
+            )
+            INSERT INTO deposits (id, client_id, bank_id, opening_date, percentage, term_months)
+            SELECT k.high - %d + 1 + r.n %% %d, r.client_id, r.bank_id, r.opening_date, r.percentage, r.term_months
+            FROM resolved r
+            JOIN blocks k ON k.block = r.n / %d"""
+            .formatted(VALID_ROW, DepositBulkRepository.ID_BLOCK_SIZE,
+                    DepositBulkRepository.ID_BLOCK_SIZE, DepositBulkRepository.ID_BLOCK_SIZE);
+
+    private static final String REJECTED_SQL = """
+            SELECT s.line, s.client_name, s.bik, c.id IS NOT NULL AS client_found, b.id IS NOT NULL AS bank_found
+            FROM deposit_import s
+            LEFT JOIN clients c ON c.name = s.client_name
+            LEFT JOIN banks b ON b.bik = s.bik
+            WHERE c.id IS NULL OR b.id IS NULL OR NOT (%s)
+            ORDER BY s.line
+            LIMIT ?""".formatted(VALID_ROW);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DepositCopyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createStaging() {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+    }
+
+    // Поток файла уходит в БД как есть: разбор CSV и приведение типов делает сервер.
+    // Некорректное значение обрывает COPY с номером строки файла в сообщении об ошибке.
+    public long copyToStaging(Reader csv) {
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Ошибка чтения файла депозитов", e);
+            }
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    public long insertResolved(long stagedRows) {
+        long blocks = (stagedRows + DepositBulkRepository.ID_BLOCK_SIZE - 1) / DepositBulkRepository.ID_BLOCK_SIZE;
+        return jdbcTemplate.update(INSERT_SQL, Math.max(blocks, 1) - 1);
+    }
+
+    // Первые limit отбракованных строк промежуточной таблицы
+    public List<RejectedRow> findRejected(int limit) {
+        return jdbcTemplate.query(REJECTED_SQL, (rs, rowNum) -> new RejectedRow(
+                rs.getLong("line"), rs.getString("client_name"), rs.getString("bik"),
+                rs.getBoolean("client_found"), rs.getBoolean("bank_found")), limit);
+    }
+
+    // Статистика планировщика после загрузки большого объёма
+    public void analyze() {
+        jdbcTemplate.execute("ANALYZE deposits");
+    }
+
+    public record RejectedRow(long line, String clientName, String bik, boolean clientFound, boolean bankFound) {
+    }
+}
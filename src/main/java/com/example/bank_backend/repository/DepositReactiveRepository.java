@@ -0,0 +1,110 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.dto.DepositView;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Неблокирующее чтение депозитов через R2DBC: те же строки и фильтры, что у DepositRepository.findViews
+// (DepositSpecifications.filter), но без потока на запрос. Строки выбираются порциями по FETCH_SIZE
+// (курсор портала PostgreSQL) по мере запроса подписчика, поэтому медленный клиент не копит результат в памяти.
+@Repository
+public class DepositReactiveRepository {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_SQL = """
+            SELECT d.id, d.client_id, c.name AS client_name, d.bank_id, b.name AS bank_name, b.bik,
+                   d.opening_date, d.percentage, d.term_months, d.maturity_date
+            FROM deposits d
+            JOIN clients c ON c.id = d.client_id
+            JOIN banks b ON b.id = d.bank_id""";
+
+    // Поле сортировки списка депозитов → колонка
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "d.id",
+            "openingDate", "d.opening_date",
+            "percentage", "d.percentage",
+            "termMonths", "d.term_months",
+            "maturityDate", "d.maturity_date");
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public DepositReactiveRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<DepositView> findViewById(long id) {
+        return databaseClient.sql(SELECT_SQL + " WHERE d.id = :id")
+                .bind("id", id)
+                .map(DepositReactiveRepository::view)
+                .one();
+    }
+
+    // sortBy — одно из полей SORT_COLUMNS (проверяет сервис); при равенстве порядок по id.
+    // limit == null — все подходящие строки
+    public Flux<DepositView> findViews(
+            Long clientId, Long bankId,
+            LocalDate openingDateFrom, LocalDate openingDateTo,
+            Double minPercentage, Double maxPercentage,
+            Integer minTerm, Integer maxTerm,
+            String sortBy, Sort.Direction direction, Integer limit) {
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        where(sql, params, "d.client_id = :clientId", "clientId", clientId);
+        where(sql, params, "d.bank_id = :bankId", "bankId", bankId);
+        where(sql, params, "d.opening_date >= :openingDateFrom", "openingDateFrom", openingDateFrom);
+        where(sql, params, "d.opening_date <= :openingDateTo", "openingDateTo", openingDateTo);
+        where(sql, params, "d.percentage >= :minPercentage", "minPercentage", minPercentage);
+        where(sql, params, "d.percentage <= :maxPercentage", "maxPercentage", maxPercentage);
+        where(sql, params, "d.term_months >= :minTerm", "minTerm", minTerm);
+        where(sql, params, "d.term_months <= :maxTerm", "maxTerm", maxTerm);
+
+        String order = direction.isAscending() ? "ASC" : "DESC";
+        String column = SORT_COLUMNS.get(sortBy);
+        if (column == null) {
+            throw new IllegalArgumentException("Неизвестное поле сортировки: " + sortBy);
+        }
+        sql.append(" ORDER BY ").append(column).append(' ').append(order);
+        if (!column.equals("d.id")) {
+            sql.append(", d.id ").append(order);
+        }
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+            params.put("limit", limit);
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.fetchSize(FETCH_SIZE));
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map(DepositReactiveRepository::view).all();
+    }
+
+    private static void where(StringBuilder sql, Map<String, Object> params, String condition, String name, Object value) {
+        if (value == null) {
+            return;
+        }
+        sql.append(params.isEmpty() ? " WHERE " : " AND ").append(condition);
+        params.put(name, value);
+    }
+
+    private static DepositView view(Readable row) {
+        return new DepositView(row.get("id", Long.class),
+                row.get("client_id", Long.class), row.get("client_name", String.class),
+                row.get("bank_id", Long.class), row.get("bank_name", String.class), row.get("bik", String.class),
+                row.get("opening_date", LocalDate.class), row.get("percentage", Double.class),
+                row.get("term_months", Integer.class), row.get("maturity_date", LocalDate.class));
+    }
+}
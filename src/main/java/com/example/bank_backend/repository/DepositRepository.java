@@ -1,11 +1,50 @@
 package com.example.bank_backend.repository;
 
+import com.example.bank_backend.dto.DepositView;
 import com.example.bank_backend.model.Deposit;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
 
-public interface DepositRepository extends JpaRepository<Deposit, Long>, JpaSpecificationExecutor<Deposit> {
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface DepositRepository extends KeysetRepository<Deposit, Long>, DepositStatsRepository {
     boolean existsByClientId(Long id);
 
     boolean existsByBankId(Long attr0);
+
+    // client и bank — LAZY, на чтении подгружаются одним запросом через join,
+    // иначе каждая страница делает по отдельному select на каждого клиента и банк
+
+    @Override
+    @EntityGraph(attributePaths = {"client", "bank"})
+    Optional<Deposit> findById(Long id);
+
+    // Для изменения и удаления: SELECT ... FOR UPDATE держит строку до конца транзакции, поэтому
+    // старые банк, срок и ставка, по которым правятся итоги deposit_summary, не устаревают до записи.
+    // Без EntityGraph: блокируется только строка deposits, id банка берётся из прокси без запроса
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Deposit> findForUpdateById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"client", "bank"})
+    List<Deposit> findAll(Specification<Deposit> spec, Sort sort);
+
+    @Override
+    @EntityGraph(attributePaths = {"client", "bank"})
+    List<Deposit> findAll(Specification<Deposit> spec, Sort sort, int limit);
+
+    // Для списков: только нужные колонки депозита, клиента и банка, без сущностей
+    default List<DepositView> findViews(Specification<Deposit> spec, Sort sort, int limit) {
+        return findAll(spec, sort, limit, DepositView.class, DepositView.COLUMNS);
+    }
+
+    // Для выгрузки: те же колонки, построчно по курсору в порядке id
+    default Stream<DepositView> streamViews(Specification<Deposit> spec, int fetchSize) {
+        return stream(spec, Sort.by("id"), fetchSize, DepositView.class, DepositView.COLUMNS);
+    }
 }
@@ -0,0 +1,71 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.model.Deposit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+// Условия фильтрации депозитов, которые выполняются на стороне БД.
+// Каждый метод возвращает null-предикат, если параметр не задан, поэтому их можно свободно комбинировать через and().
+public final class DepositSpecifications {
+
+    private DepositSpecifications() {
+    }
+
+    public static Specification<Deposit> hasClientId(Long clientId) {
+        return (root, query, cb) -> clientId == null ? null : cb.equal(root.get("client").get("id"), clientId);
+    }
+
+    public static Specification<Deposit> hasBankId(Long bankId) {
+        return (root, query, cb) -> bankId == null ? null : cb.equal(root.get("bank").get("id"), bankId);
+    }
+
+    public static Specification<Deposit> openedFrom(LocalDate from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.<LocalDate>get("openingDate"), from);
+    }
+
+    public static Specification<Deposit> openedTo(LocalDate to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.<LocalDate>get("openingDate"), to);
+    }
+
+    public static Specification<Deposit> percentageFrom(Double min) {
+        return (root, query, cb) -> min == null ? null : cb.greaterThanOrEqualTo(root.<Double>get("percentage"), min);
+    }
+
+    public static Specification<Deposit> percentageTo(Double max) {
+        return (root, query, cb) -> max == null ? null : cb.lessThanOrEqualTo(root.<Double>get("percentage"), max);
+    }
+
+    public static Specification<Deposit> termFrom(Integer min) {
+        return (root, query, cb) -> min == null ? null : cb.greaterThanOrEqualTo(root.<Integer>get("termMonths"), min);
+    }
+
+    public static Specification<Deposit> termTo(Integer max) {
+        return (root, query, cb) -> max == null ? null : cb.lessThanOrEqualTo(root.<Integer>get("termMonths"), max);
+    }
+
+    public static Specification<Deposit> maturesFrom(LocalDate from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.<LocalDate>get("maturityDate"), from);
+    }
+
+    public static Specification<Deposit> maturesTo(LocalDate to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.<LocalDate>get("maturityDate"), to);
+    }
+
+    // Полный набор фильтров GET /api/deposits
+    public static Specification<Deposit> filter(
+            Long clientId, Long bankId,
+            LocalDate openingDateFrom, LocalDate openingDateTo,
+            Double minPercentage, Double maxPercentage,
+            Integer minTerm, Integer maxTerm) {
+
+        return Specification.where(hasClientId(clientId))
+                .and(hasBankId(bankId))
+                .and(openedFrom(openingDateFrom))
+                .and(openedTo(openingDateTo))
+                .and(percentageFrom(minPercentage))
+                .and(percentageTo(maxPercentage))
+                .and(termFrom(minTerm))
+                .and(termTo(maxTerm));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.dto.BankDepositStats;
+import com.example.bank_backend.dto.ClientDepositStats;
+import com.example.bank_backend.dto.TermDepositStats;
+import com.example.bank_backend.model.Deposit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Агрегаты по депозитам одним GROUP BY на стороне БД: из базы уходят только итоговые строки.
+// spec — те же условия, что и у списка депозитов (DepositSpecifications.filter).
+// Фрагмент DepositRepository, реализация — DepositStatsRepositoryImpl.
+public interface DepositStatsRepository {
+
+    // Строка на каждый банк, у которого есть подходящие депозиты, по возрастанию id банка
+    List<BankDepositStats> findBankStats(Specification<Deposit> spec);
+
+    // Первые limit клиентов по числу подходящих депозитов (при равенстве — по id клиента)
+    List<ClientDepositStats> findTopClientStats(Specification<Deposit> spec, int limit);
+
+    // Строка на каждый встречающийся срок, по возрастанию срока
+    List<TermDepositStats> findTermStats(Specification<Deposit> spec);
+}
@@ -0,0 +1,97 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.dto.BankDepositStats;
+import com.example.bank_backend.dto.ClientDepositStats;
+import com.example.bank_backend.dto.TermDepositStats;
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.Deposit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Запросы строятся через Criteria API, чтобы условия из DepositSpecifications применялись как есть
+public class DepositStatsRepositoryImpl implements DepositStatsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BankDepositStats> findBankStats(Specification<Deposit> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BankDepositStats> query = cb.createQuery(BankDepositStats.class);
+        Root<Deposit> root = query.from(Deposit.class);
+        Join<Deposit, Bank> bank = root.join("bank");
+        Expression<Double> percentage = root.get("percentage");
+        Expression<Integer> term = root.get("termMonths");
+
+        query.select(cb.construct(BankDepositStats.class,
+                        bank.get("id"), bank.get("name"), bank.get("bik"), cb.count(root),
+                        cb.avg(percentage), cb.min(percentage), cb.max(percentage), cb.avg(term),
+                        cb.sum(cb.prod(percentage, cb.toDouble(term))), cb.sumAsLong(term),
+                        countWhere(cb, cb.le(term, 3)),
+                        countWhere(cb, cb.between(term, 4, 6)),
+                        countWhere(cb, cb.between(term, 7, 12)),
+                        countWhere(cb, cb.between(term, 13, 24)),
+                        countWhere(cb, cb.gt(term, 24))))
+                .groupBy(bank.get("id"), bank.get("name"), bank.get("bik"))
+                .orderBy(cb.asc(bank.get("id")));
+        where(query, root, cb, spec);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<ClientDepositStats> findTopClientStats(Specification<Deposit> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ClientDepositStats> query = cb.createQuery(ClientDepositStats.class);
+        Root<Deposit> root = query.from(Deposit.class);
+        Join<Deposit, Client> client = root.join("client");
+
+        query.select(cb.construct(ClientDepositStats.class,
+                        client.get("id"), client.get("name"), cb.count(root),
+                        cb.countDistinct(root.get("bank").get("id")), cb.avg(root.get("percentage"))))
+                .groupBy(client.get("id"), client.get("name"))
+                .orderBy(cb.desc(cb.count(root)), cb.asc(client.get("id")));
+        where(query, root, cb, spec);
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<TermDepositStats> findTermStats(Specification<Deposit> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TermDepositStats> query = cb.createQuery(TermDepositStats.class);
+        Root<Deposit> root = query.from(Deposit.class);
+        Expression<Integer> term = root.get("termMonths");
+
+        query.select(cb.construct(TermDepositStats.class, term, cb.count(root), cb.avg(root.get("percentage"))))
+                .groupBy(term)
+                .orderBy(cb.asc(term));
+        where(query, root, cb, spec);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    // count(*) FILTER по условию, переносимо: sum(case when ... then 1 else 0 end)
+    private static Expression<Long> countWhere(CriteriaBuilder cb, Predicate condition) {
+        return cb.sum(cb.<Long>selectCase().when(condition, 1L).otherwise(0L));
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Deposit> root, CriteriaBuilder cb, Specification<Deposit> spec) {
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+}
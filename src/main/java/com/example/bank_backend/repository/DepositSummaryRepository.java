@@ -0,0 +1,198 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.dto.BankDepositStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Comparator;
+import java.util.List;
+
+// Таблица deposit_summary (V6): итоги депозитов по (банку, группе сроков).
+// Изменения депозитов переносятся в неё в той же транзакции, что и сами изменения:
+// add — после вставки, remove — после удаления или переноса депозита в другую группу.
+// rebuild пересчитывает таблицу с нуля — после массовых загрузок и для починки расхождений.
+@Repository
+public class DepositSummaryRepository {
+
+    // Верхние границы групп сроков (включительно); последняя группа — всё, что больше 24 месяцев.
+    // Те же группы, что у BankDepositStats.TermBuckets и в миграции V6
+    static final int[] TERM_BUCKET_BOUNDS = {3, 6, 12, 24};
+
+    private static final String TERM_BUCKET_SQL = """
+            CASE WHEN term_months <= 3 THEN 0 WHEN term_months <= 6 THEN 1 WHEN term_months <= 12 THEN 2
+                 WHEN term_months <= 24 THEN 3 ELSE 4 END""";
+
+    // Ставка переводится в NUMERIC в SQL и при добавлении, и при пересчёте,
+    // поэтому вычитание ровно компенсирует прибавление
+    private static final String AGGREGATES_SQL = """
+            count(*), sum(percentage::numeric), sum(percentage::numeric * term_months), sum(term_months),
+            min(percentage), max(percentage)""";
+
+    private static final String COLUMNS_SQL = """
+            bank_id, term_bucket, deposits, percentage_sum, percentage_term_sum, term_sum, min_percentage, max_percentage""";
+
+    // Строки группируются до вставки: на группу — одно обновление, блокировки берутся в порядке ключа
+    private static final String ADD_SQL = """
+            INSERT INTO deposit_summary AS s (%s)
+            SELECT bank_id, %s, %s
+            FROM unnest(?::bigint[], ?::integer[], ?::float8[]) AS d(bank_id, term_months, percentage)
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            ON CONFLICT (bank_id, term_bucket) DO UPDATE SET
+                deposits = s.deposits + EXCLUDED.deposits,
+                percentage_sum = s.percentage_sum + EXCLUDED.percentage_sum,
+                percentage_term_sum = s.percentage_term_sum + EXCLUDED.percentage_term_sum,
+                term_sum = s.term_sum + EXCLUDED.term_sum,
+                min_percentage = least(s.min_percentage, EXCLUDED.min_percentage),
+                max_percentage = greatest(s.max_percentage, EXCLUDED.max_percentage)"""
+            .formatted(COLUMNS_SQL, TERM_BUCKET_SQL, AGGREGATES_SQL);
+
+    private static final String REMOVE_SQL = """
+            UPDATE deposit_summary SET
+                deposits = deposits - 1,
+                percentage_sum = percentage_sum - ?::float8::numeric,
+                percentage_term_sum = percentage_term_sum - ?::float8::numeric * ?,
+                term_sum = term_sum - ?
+            WHERE bank_id = ? AND term_bucket = ?
+            RETURNING deposits, min_percentage, max_percentage""";
+
+    // Минимум и максимум вычитанием не поправить: если ушла граничная ставка, они пересчитываются
+    // по депозитам группы (индекс idx_deposits_bank_term_months)
+    private static final String RECOMPUTE_BOUNDS_SQL = """
+            UPDATE deposit_summary SET (min_percentage, max_percentage) = (
+                SELECT min(percentage), max(percentage) FROM deposits
+                WHERE bank_id = ? AND term_months BETWEEN ? AND ?)
+            WHERE bank_id = ? AND term_bucket = ?""";
+
+    private static final String REBUILD_SQL = """
+            INSERT INTO deposit_summary (%s)
+            SELECT bank_id, %s, %s
+            FROM deposits
+            GROUP BY 1, 2""".formatted(COLUMNS_SQL, TERM_BUCKET_SQL, AGGREGATES_SQL);
+
+    // Итоги банка — сумма строк его групп
+    private static final String BANK_STATS_SQL = """
+            SELECT s.bank_id, b.name, b.bik,
+                   sum(s.deposits) AS deposits,
+                   sum(s.percentage_sum) / sum(s.deposits) AS average_percentage,
+                   sum(s.percentage_term_sum) / sum(s.term_sum) AS weighted_percentage,
+                   min(s.min_percentage) AS min_percentage,
+                   max(s.max_percentage) AS max_percentage,
+                   sum(s.term_sum)::numeric / sum(s.deposits) AS average_term_months,
+                   coalesce(sum(s.deposits) FILTER (WHERE s.term_bucket = 0), 0) AS months1to3,
+                   coalesce(sum(s.deposits) FILTER (WHERE s.term_bucket = 1), 0) AS months4to6,
+                   coalesce(sum(s.deposits) FILTER (WHERE s.term_bucket = 2), 0) AS months7to12,
+                   coalesce(sum(s.deposits) FILTER (WHERE s.term_bucket = 3), 0) AS months13to24,
+                   coalesce(sum(s.deposits) FILTER (WHERE s.term_bucket = 4), 0) AS over24
+            FROM deposit_summary s
+            JOIN banks b ON b.id = s.bank_id
+            WHERE ?::bigint IS NULL OR s.bank_id = ?
+            GROUP BY s.bank_id, b.name, b.bik
+            ORDER BY s.bank_id""";
+
+    private static final Comparator<Entry> KEY_ORDER = Comparator.comparingLong(Entry::bankId)
+            .thenComparingInt(entry -> termBucket(entry.termMonths()));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DepositSummaryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static int termBucket(int termMonths) {
+        int bucket = 0;
+        while (bucket < TERM_BUCKET_BOUNDS.length && termMonths > TERM_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    public void add(long bankId, int termMonths, double percentage) {
+        addAll(List.of(new Entry(bankId, termMonths, percentage)));
+    }
+
+    // Пачка депозитов — одним запросом, сколько бы их ни было
+    public void addAll(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Long[] bankIds = new Long[entries.size()];
+        Integer[] terms = new Integer[entries.size()];
+        Double[] percentages = new Double[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            bankIds[i] = entries.get(i).bankId();
+            terms[i] = entries.get(i).termMonths();
+            percentages[i] = entries.get(i).percentage();
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(ADD_SQL);
+            ps.setArray(1, connection.createArrayOf("int8", bankIds));
+            ps.setArray(2, connection.createArrayOf("int4", terms));
+            ps.setArray(3, connection.createArrayOf("float8", percentages));
+            return ps;
+        });
+    }
+
+    // Вызывать, когда строки депозита в deposits уже нет (или она уже в новой группе): изменения
+    // должны быть сброшены в БД, иначе пересчёт границ увидит удалённую ставку.
+    // Первый запрос блокирует строку итогов, поэтому пересчёт границ видит все закоммиченные к этому моменту изменения.
+    public void remove(long bankId, int termMonths, double percentage) {
+        int bucket = termBucket(termMonths);
+        List<Remaining> remaining = jdbcTemplate.query(REMOVE_SQL,
+                (rs, rowNum) -> new Remaining(rs.getLong(1), rs.getDouble(2), rs.getDouble(3)),
+                percentage, percentage, termMonths, termMonths, bankId, bucket);
+        if (remaining.isEmpty()) {
+            return; // строки нет — итоги разошлись с книгой, их поправит rebuild
+        }
+        Remaining group = remaining.get(0);
+        if (group.deposits() <= 0) {
+            jdbcTemplate.update("DELETE FROM deposit_summary WHERE bank_id = ? AND term_bucket = ?", bankId, bucket);
+        } else if (percentage <= group.minPercentage() || percentage >= group.maxPercentage()) {
+            int from = bucket == 0 ? 1 : TERM_BUCKET_BOUNDS[bucket - 1] + 1;
+            int to = bucket < TERM_BUCKET_BOUNDS.length ? TERM_BUCKET_BOUNDS[bucket] : Integer.MAX_VALUE;
+            jdbcTemplate.update(RECOMPUTE_BOUNDS_SQL, bankId, from, to, bankId, bucket);
+        }
+    }
+
+    // Перенос депозита из группы from в группу to (строка deposits уже изменена и сброшена в БД).
+    // Строки итогов блокируются в порядке ключа (банк, группа сроков), как в addAll: встречные переносы
+    // между двумя группами в параллельных транзакциях ждут друг друга, а не взаимоблокируются
+    public void move(Entry from, Entry to) {
+        if (KEY_ORDER.compare(from, to) <= 0) {
+            remove(from.bankId(), from.termMonths(), from.percentage());
+            add(to.bankId(), to.termMonths(), to.percentage());
+        } else {
+            add(to.bankId(), to.termMonths(), to.percentage());
+            remove(from.bankId(), from.termMonths(), from.percentage());
+        }
+    }
+
+    // Пересчёт с нуля за один проход по deposits. Блокировка EXCLUSIVE не мешает читать старые итоги,
+    // но придерживает add/remove параллельных транзакций до коммита: их изменения лягут поверх новых итогов.
+    // Возвращает число строк итогов
+    public int rebuild() {
+        jdbcTemplate.execute("LOCK TABLE deposit_summary IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM deposit_summary");
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    // Итоги по всем банкам с депозитами или по одному банку (bankId не null)
+    public List<BankDepositStats> findBankStats(Long bankId) {
+        return jdbcTemplate.query(BANK_STATS_SQL, (rs, rowNum) -> new BankDepositStats(
+                rs.getLong("bank_id"), rs.getString("name"), rs.getString("bik"), rs.getLong("deposits"),
+                rs.getDouble("average_percentage"), rs.getDouble("weighted_percentage"),
+                rs.getDouble("min_percentage"), rs.getDouble("max_percentage"), rs.getDouble("average_term_months"),
+                new BankDepositStats.TermBuckets(rs.getLong("months1to3"), rs.getLong("months4to6"),
+                        rs.getLong("months7to12"), rs.getLong("months13to24"), rs.getLong("over24"))),
+                bankId, bankId);
+    }
+
+    public record Entry(long bankId, int termMonths, double percentage) {
+    }
+
+    private record Remaining(long deposits, double minPercentage, double maxPercentage) {
+    }
+}
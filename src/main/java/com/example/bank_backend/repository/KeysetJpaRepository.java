@@ -0,0 +1,83 @@
+package com.example.bank_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Реализация KeysetRepository, подключается как repositoryBaseClass в JpaConfig.
+// Имя без суффикса Impl, иначе Spring Data примет класс за фрагмент KeysetRepository.
+public class KeysetJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> implements KeysetRepository<T, ID> {
+
+    private final EntityManager entityManager;
+
+    public KeysetJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<T> findAll(Specification<T> spec, Sort sort, int limit) {
+        return getQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public <P> List<P> findAll(Specification<T> spec, Sort sort, int limit, Class<P> projection, String... columns) {
+        return projectionQuery(spec, sort, projection, columns)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public <P> Stream<P> stream(Specification<T> spec, Sort sort, int fetchSize, Class<P> projection, String... columns) {
+        return projectionQuery(spec, sort, projection, columns)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private <P> TypedQuery<P> projectionQuery(Specification<T> spec, Sort sort, Class<P> projection, String... columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<P> query = cb.createQuery(projection);
+        Root<T> root = query.from(getDomainClass());
+
+        Selection<?>[] selections = new Selection<?>[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            selections[i] = path(root, columns[i]);
+        }
+        query.select(cb.construct(projection, selections));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+
+    private static Path<?> path(Root<?> root, String column) {
+        Path<?> path = root;
+        for (String attribute : column.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+}
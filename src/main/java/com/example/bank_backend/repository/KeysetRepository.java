@@ -0,0 +1,25 @@
+package com.example.bank_backend.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Базовый репозиторий для keyset-пагинации: выборка первых limit строк без OFFSET и без COUNT-запроса
+@NoRepositoryBean
+public interface KeysetRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+    List<T> findAll(Specification<T> spec, Sort sort, int limit);
+
+    // То же, но в DTO-проекцию через конструктор projection: выбираются только перечисленные колонки
+    // (в порядке параметров конструктора, через точку — поля связанных сущностей), без управляемых сущностей
+    <P> List<P> findAll(Specification<T> spec, Sort sort, int limit, Class<P> projection, String... columns);
+
+    // Все строки проекции по однонаправленному курсору: драйвер держит в памяти не больше fetchSize строк.
+    // Вызывать внутри транзакции (курсор PostgreSQL работает только без autocommit), Stream закрывать.
+    <P> Stream<P> stream(Specification<T> spec, Sort sort, int fetchSize, Class<P> projection, String... columns);
+}
@@ -0,0 +1,69 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.dto.PageCursor;
+import com.example.bank_backend.exception.InvalidPageRequestException;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// Условие "строки после курсора" для keyset-пагинации по (sortBy, id).
+public final class KeysetSpecifications {
+
+    private KeysetSpecifications() {
+    }
+
+    // asc:  sortBy >= v AND (sortBy > v OR id > lastId)
+    // desc: sortBy <= v AND (sortBy < v OR id < lastId)
+    // Первая часть — диапазон по индексу (sortBy, id), поэтому глубокие страницы стоят столько же, сколько первая.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(PageCursor cursor) {
+        boolean desc = cursor.direction() == Sort.Direction.DESC;
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            if ("id".equals(cursor.sortBy())) {
+                return desc ? cb.lessThan(id, cursor.id()) : cb.greaterThan(id, cursor.id());
+            }
+
+            Path<Comparable> field = root.get(cursor.sortBy());
+            Comparable value = parse(cursor.value(), field.getJavaType());
+            if (desc) {
+                return cb.and(
+                        cb.lessThanOrEqualTo(field, value),
+                        cb.or(cb.lessThan(field, value), cb.lessThan(id, cursor.id())));
+            }
+            return cb.and(
+                    cb.greaterThanOrEqualTo(field, value),
+                    cb.or(cb.greaterThan(field, value), cb.greaterThan(id, cursor.id())));
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable parse(String value, Class<?> type) {
+        try {
+            if (type == String.class) {
+                return value;
+            }
+            if (type == Long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == Integer.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == Double.class) {
+                return Double.valueOf(value);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<Enum>) type, value);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidPageRequestException("Некорректный курсор страницы");
+        }
+        throw new InvalidPageRequestException("Сортировка по полю типа " + type.getSimpleName() + " не поддерживается");
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bank_backend.repository;
+
+// Шаблоны LIKE для поиска подстроки; %, _ и \ из пользовательского ввода экранируются
+final class LikePatterns {
+
+    static final char ESCAPE = '\\';
+
+    private LikePatterns() {
+    }
+
+    static String contains(String value) {
+        String escaped = value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
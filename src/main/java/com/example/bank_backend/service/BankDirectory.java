@@ -0,0 +1,175 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.repository.BankRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Справочник банков в памяти процесса: индексы по id, БИК и нормализованному имени.
+// Банков мало и меняются они редко, поэтому поиск банка при работе с депозитами не ходит в БД.
+// Чтение идёт без блокировок по неизменяемому снимку; запись (BankService) и фоновое
+// обновление подменяют снимок целиком под общей блокировкой. Блокировка — ReentrantLock, а не synchronized:
+// перечитывание держит её на время запроса к БД, а монитор закрепил бы виртуальный поток за потоком-носителем.
+// Возвращаемые экземпляры Bank общие для всех потоков — изменять их нельзя.
+@Component
+public class BankDirectory {
+
+    private final BankRepository bankRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Autowired
+    public BankDirectory(BankRepository bankRepository) {
+        this.bankRepository = bankRepository;
+    }
+
+    public Optional<Bank> findById(Long id) {
+        Bank bank = snapshot.byId().get(id);
+        if (bank != null) {
+            return Optional.of(bank);
+        }
+        // Банк мог быть создан другим экземпляром приложения после последнего обновления.
+        // Дочитывание идёт под блокировкой, как и refresh: иначе банк, прочитанный до удаления,
+        // вернулся бы в справочник уже после remove
+        lock.lock();
+        try {
+            bank = snapshot.byId().get(id);
+            if (bank != null) {
+                return Optional.of(bank);
+            }
+            Optional<Bank> loaded = bankRepository.findById(id);
+            loaded.ifPresent(this::put);
+            return loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Банки по набору id; отсутствующие в справочнике дочитываются из БД одним запросом под блокировкой, как в findById
+    public Map<Long, Bank> findAllById(Collection<Long> ids) {
+        Map<Long, Bank> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        Map<Long, Bank> byId = snapshot.byId();
+        for (Long id : ids) {
+            Bank bank = byId.get(id);
+            if (bank != null) {
+                found.put(id, bank);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        lock.lock();
+        try {
+            byId = snapshot.byId();
+            List<Long> stillMissing = new ArrayList<>();
+            for (Long id : missing) {
+                Bank bank = byId.get(id);
+                if (bank != null) {
+                    found.put(id, bank);
+                } else {
+                    stillMissing.add(id);
+                }
+            }
+            if (!stillMissing.isEmpty()) {
+                List<Bank> loaded = bankRepository.findAllById(stillMissing);
+                loaded.forEach(bank -> found.put(bank.getId(), bank));
+                putAll(loaded);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return found;
+    }
+
+    public Optional<Bank> findByBik(String bik) {
+        return Optional.ofNullable(snapshot.byBik().get(bik));
+    }
+
+    public Optional<Bank> findByName(String name) {
+        return Optional.ofNullable(snapshot.byName().get(normalize(name)));
+    }
+
+    public int size() {
+        return snapshot.byId().size();
+    }
+
+    // Write-through после успешного сохранения банка
+    public void put(Bank bank) {
+        putAll(List.of(bank));
+    }
+
+    private void putAll(Collection<Bank> banks) {
+        if (banks.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            Map<Long, Bank> byId = new HashMap<>(snapshot.byId());
+            banks.forEach(bank -> byId.put(bank.getId(), bank));
+            snapshot = Snapshot.of(byId.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.lock();
+        try {
+            Map<Long, Bank> byId = new HashMap<>(snapshot.byId());
+            if (byId.remove(id) != null) {
+                snapshot = Snapshot.of(byId.values());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Refresh-ahead: справочник перечитывается заранее, а не по промаху.
+    // Запрос выполняется под той же блокировкой, что и put/remove, поэтому
+    // запись, закоммиченная во время перечитывания, не будет затёрта старым снимком.
+    @Scheduled(initialDelay = 0, fixedDelayString = "${bank-directory.refresh-interval:PT5M}")
+    public void refresh() {
+        lock.lock();
+        try {
+            snapshot = Snapshot.of(bankRepository.findAll());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static String normalize(String name) {
+        return name.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(Map<Long, Bank> byId, Map<String, Bank> byBik, Map<String, Bank> byName) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of());
+
+        static Snapshot of(Collection<Bank> banks) {
+            Map<Long, Bank> byId = new HashMap<>(banks.size() * 2);
+            Map<String, Bank> byBik = new HashMap<>(banks.size() * 2);
+            Map<String, Bank> byName = new HashMap<>(banks.size() * 2);
+            for (Bank bank : banks) {
+                byId.put(bank.getId(), bank);
+                byBik.put(bank.getBik(), bank);
+                byName.put(normalize(bank.getName()), bank);
+            }
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byBik), Map.copyOf(byName));
+        }
+    }
+}
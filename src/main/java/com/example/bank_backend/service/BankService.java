@@ -1,44 +1,54 @@
 package com.example.bank_backend.service;
 
+import com.example.bank_backend.dto.BankView;
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.exception.*;
 import com.example.bank_backend.model.Bank;
 import com.example.bank_backend.repository.BankRepository;
+import com.example.bank_backend.repository.BankSpecifications;
 import com.example.bank_backend.repository.DepositRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class BankService {
 
+    // Поля, по которым доступна сортировка (и keyset-пагинация) списка банков
+    private static final Set<String> SORT_FIELDS = Set.of("id", "name", "bik");
+
     private final BankRepository bankRepository;
     private final DepositRepository depositRepository;
+    private final BankDirectory bankDirectory;
 
     @Autowired
-    public BankService(BankRepository bankRepository, DepositRepository depositRepository) {
+    public BankService(BankRepository bankRepository, DepositRepository depositRepository, BankDirectory bankDirectory) {
         this.bankRepository = bankRepository;
         this.depositRepository = depositRepository;
+        this.bankDirectory = bankDirectory;
     }
 
-    public List<Bank> findAllBanks(String name, String bik, String sortBy, String direction) {
-        Sort sort = direction.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+    public CursorPage<BankView> findAllBanks(String name, String bik, String sortBy, String direction, String cursor, Integer size) {
+        KeysetPaging.checkSortField(sortBy, SORT_FIELDS);
+        Sort.Direction dir = KeysetPaging.direction(direction);
+        int pageSize = KeysetPaging.pageSize(size);
 
-        List<Bank> banks = bankRepository.findAll(sort).stream()
-                .filter(b -> (name == null || b.getName().toLowerCase().contains(name.toLowerCase())))
-                .filter(b -> (bik == null || b.getBik().contains(bik)))
-                .toList();
+        Specification<Bank> spec = KeysetPaging.after(BankSpecifications.filter(name, bik), cursor, sortBy, dir);
+        List<BankView> banks = bankRepository.findViews(spec, KeysetPaging.sort(sortBy, dir), pageSize + 1);
 
         if (banks.isEmpty()) {
             throw new NoBanksFoundException("Список банков пуст.");
         }
 
-        return banks;
+        return KeysetPaging.page(banks, pageSize, sortBy, dir, b -> sortValue(b, sortBy), BankView::id);
     }
 
     public Bank findBankById(Long id) {
-        return bankRepository.findById(id)
+        return bankDirectory.findById(id)
                 .orElseThrow(() -> new BankNotFoundException("Банк с ID: " + id + " не найден."));
     }
 
@@ -49,19 +59,23 @@ public class BankService {
         if (bankRepository.existsByBik(bank.getBik())) {
             throw new BankAlreadyExistsException(bank.getBik());
         }
-        return bankRepository.save(bank);
+        Bank saved = bankRepository.save(bank);
+        bankDirectory.put(saved);
+        return saved;
     }
 
     public Bank updateBank(Long id, Bank bankDetails) {
-        Bank bank = findBankById(id);
+        Bank bank = loadBank(id);
 
         bank.setName(bankDetails.getName());
         bank.setBik(bankDetails.getBik());
-        return bankRepository.save(bank);
+        Bank saved = bankRepository.save(bank);
+        bankDirectory.put(saved);
+        return saved;
     }
 
     public void deleteBank(Long bakId) {
-        Bank bank = findBankById(bakId);
+        Bank bank = loadBank(bakId);
 
         boolean hasDeposits = depositRepository.existsByBankId(bakId);
 
@@ -70,5 +84,20 @@ public class BankService {
         }
 
         bankRepository.delete(bank);
+        bankDirectory.remove(bakId);
+    }
+
+    // Для изменения банк читается из БД: экземпляры из справочника общие и не должны меняться
+    private Bank loadBank(Long id) {
+        return bankRepository.findById(id)
+                .orElseThrow(() -> new BankNotFoundException("Банк с ID: " + id + " не найден."));
+    }
+
+    private static Object sortValue(BankView bank, String sortBy) {
+        return switch (sortBy) {
+            case "name" -> bank.name();
+            case "bik" -> bank.bik();
+            default -> bank.id();
+        };
     }
 }
@@ -0,0 +1,236 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.BankLoadReport;
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.repository.BankRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Загрузка справочника БИК Банка России (ED807, XML) в banks.
+// Файл читается потоково (StAX): <BICDirectoryEntry BIC="..."> с вложенным <ParticipantInfo NameP="...">.
+// Записи сверяются с БД пачками по BATCH_SIZE — два запроса на пачку (по БИК и по имени) вместо
+// existsByBik/existsByName на каждую запись — и сохраняются пакетно в транзакции пачки.
+@Service
+public class BikDirectoryLoader {
+
+    static final int BATCH_SIZE = 1000;
+    static final int MAX_MESSAGES = 100;
+
+    private static final Pattern BIK = Pattern.compile("\\d{9}");
+
+    private final BankRepository bankRepository;
+    private final BankDirectory bankDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final String directoryPath;
+
+    @Autowired
+    public BikDirectoryLoader(BankRepository bankRepository, BankDirectory bankDirectory,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${bik-directory.path:}") String directoryPath) {
+        this.bankRepository = bankRepository;
+        this.bankDirectory = bankDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directoryPath = directoryPath;
+    }
+
+    // Файл из настройки bik-directory.path
+    public BankLoadReport load() {
+        if (directoryPath.isBlank()) {
+            throw new IllegalStateException("Не задан путь к справочнику БИК (bik-directory.path)");
+        }
+        return load(Path.of(directoryPath));
+    }
+
+    public BankLoadReport load(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать справочник БИК: " + file, e);
+        }
+    }
+
+    public BankLoadReport load(InputStream in) {
+        Report report = new Report();
+        // ключ — БИК: при повторе в пределах пачки остаётся последняя запись
+        Map<String, String> batch = new LinkedHashMap<>();
+        XMLStreamReader xml = null;
+        try {
+            xml = xmlInputFactory().createXMLStreamReader(in);
+            String bik = null;
+            String name = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "BICDirectoryEntry" -> {
+                            bik = xml.getAttributeValue(null, "BIC");
+                            name = null;
+                        }
+                        case "ParticipantInfo" -> name = xml.getAttributeValue(null, "NameP");
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "BICDirectoryEntry".equals(xml.getLocalName())) {
+                    accept(bik, name, batch, report);
+                    if (batch.size() == BATCH_SIZE) {
+                        flush(batch, report);
+                    }
+                }
+            }
+            flush(batch, report);
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Некорректный XML справочника БИК: " + e.getMessage(), e);
+        } finally {
+            close(xml);
+            // справочник в памяти перечитывается целиком один раз, а не на каждую запись
+            bankDirectory.refresh();
+        }
+        return report.toReport();
+    }
+
+    private static void accept(String bik, String name, Map<String, String> batch, Report report) {
+        if (bik == null || !BIK.matcher(bik).matches()) {
+            report.skip("Некорректный БИК: " + bik);
+            return;
+        }
+        if (name == null || name.isBlank() || name.length() > 255) {
+            report.skip("БИК " + bik + ": некорректное наименование участника");
+            return;
+        }
+        batch.put(bik, name.strip());
+    }
+
+    private void flush(Map<String, String> batch, Report report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(batch, report.child()));
+            report.commitChild();
+        } catch (DataAccessException e) {
+            report.discardChild();
+            report.skip(batch.size(), "Пачка из " + batch.size() + " записей не сохранена: "
+                    + e.getMostSpecificCause().getMessage());
+        }
+        batch.clear();
+    }
+
+    private void upsert(Map<String, String> batch, Report report) {
+        Map<String, Bank> byBik = bankRepository.findByBikIn(batch.keySet()).stream()
+                .collect(Collectors.toMap(Bank::getBik, Function.identity()));
+        Map<String, Bank> byName = bankRepository.findByNameIn(batch.values()).stream()
+                .collect(Collectors.toMap(Bank::getName, Function.identity()));
+        // имена, занятые записями этой пачки (наименование банка уникально)
+        Map<String, String> claimed = new HashMap<>();
+
+        List<Bank> inserts = new ArrayList<>();
+        batch.forEach((bik, name) -> {
+            Bank owner = byName.get(name);
+            String claimedBy = claimed.putIfAbsent(name, bik);
+            if ((owner != null && !owner.getBik().equals(bik)) || (claimedBy != null && !claimedBy.equals(bik))) {
+                report.skip("БИК " + bik + ": наименование '" + name + "' уже принадлежит банку с другим БИК");
+                return;
+            }
+            Bank bank = byBik.get(bik);
+            if (bank == null) {
+                inserts.add(new Bank(name, bik));
+                report.inserted++;
+            } else if (!bank.getName().equals(name)) {
+                // управляемая сущность: UPDATE уйдёт пакетом при коммите
+                bank.setName(name);
+                report.updated++;
+            } else {
+                report.unchanged++;
+            }
+        });
+        bankRepository.saveAll(inserts);
+    }
+
+    private static XMLInputFactory xmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // внешние сущности и DTD из файла не загружаются (XXE)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static void close(XMLStreamReader xml) {
+        if (xml == null) {
+            return;
+        }
+        try {
+            xml.close();
+        } catch (XMLStreamException ignored) {
+            // поток файла закрывает вызывающий код
+        }
+    }
+
+    // Счётчики загрузки; счётчики пачки копятся отдельно и попадают в итог только после коммита
+    private static final class Report {
+        int inserted;
+        int updated;
+        int unchanged;
+        int skipped;
+        final List<String> messages = new ArrayList<>();
+        private Report pending;
+
+        Report child() {
+            pending = new Report();
+            return pending;
+        }
+
+        void commitChild() {
+            inserted += pending.inserted;
+            updated += pending.updated;
+            unchanged += pending.unchanged;
+            skipped += pending.skipped;
+            pending.messages.forEach(this::message);
+            pending = null;
+        }
+
+        void discardChild() {
+            pending = null;
+        }
+
+        void skip(String message) {
+            skip(1, message);
+        }
+
+        void skip(int count, String message) {
+            skipped += count;
+            message(message);
+        }
+
+        private void message(String message) {
+            if (messages.size() < MAX_MESSAGES) {
+                messages.add(message);
+            }
+        }
+
+        BankLoadReport toReport() {
+            return new BankLoadReport(inserted, updated, unchanged, skipped, List.copyOf(messages));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.CacheStatsView;
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.repository.ClientRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// Кэш клиентов перед ClientRepository.findById.
+// Ограничен суммарным весом (примерный размер записи в байтах); вытеснение W-TinyLFU из Caffeine
+// держит в кэше часто запрашиваемых крупных клиентов и не даёт разовым обращениям их вымыть.
+// Экземпляры Client в кэше общие для всех потоков — изменять их нельзя.
+@Component
+public class ClientCache {
+
+    // Заголовок объекта и поля фиксированного размера, без строк
+    private static final int BASE_WEIGHT = 64;
+
+    private final ClientRepository clientRepository;
+    private final Cache<Long, Client> cache;
+
+    @Autowired
+    public ClientCache(ClientRepository clientRepository,
+                       @Value("${client-cache.max-weight:16000000}") long maxWeight,
+                       @Value("${client-cache.ttl:PT10M}") Duration ttl) {
+        this.clientRepository = clientRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long id, Client client) -> weigh(client))
+                // страховка от изменений, сделанных другим экземпляром приложения
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // Отсутствующие клиенты не кэшируются
+    public Optional<Client> findById(Long id) {
+        return Optional.ofNullable(cache.get(id, key -> clientRepository.findById(key).orElse(null)));
+    }
+
+    // Вызывается после изменения или удаления клиента. Если в этот момент идёт загрузка
+    // того же ключа, Caffeine дождётся её и удалит загруженное значение.
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public CacheStatsView stats() {
+        long weightedSize = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return CacheStatsView.of(cache.stats(), cache.estimatedSize(), weightedSize);
+    }
+
+    static int weigh(Client client) {
+        return BASE_WEIGHT + 2 * (length(client.getName()) + length(client.getShortName()) + length(client.getAddress()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
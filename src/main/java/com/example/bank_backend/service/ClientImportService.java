@@ -0,0 +1,238 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.BulkItemResult;
+import com.example.bank_backend.dto.BulkResult;
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.LegalForm;
+import com.example.bank_backend.repository.ClientRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Импорт клиентов из CSV (POST /api/clients/import).
+// Файл читается пачками по CHUNK_SIZE записей: пачка проверяется параллельно, имена сверяются с БД
+// одним запросом, новые клиенты сохраняются пакетной вставкой в своей транзакции.
+// Отчёт пишется в ответ NDJSON по мере обработки: по строке BulkItemResult на запись
+// (index — номер строки файла), последней строкой — итог BulkResult без items.
+@Service
+public class ClientImportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String NAME = "name";
+    private static final String SHORT_NAME = "shortName";
+    private static final String ADDRESS = "address";
+    private static final String LEGAL_FORM = "legalForm";
+
+    private static final String ALLOWED_LEGAL_FORMS = Arrays.stream(LegalForm.values())
+            .map(LegalForm::getName)
+            .collect(Collectors.joining(", "));
+
+    private final ClientRepository clientRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ClientImportService(ClientRepository clientRepository, Validator validator,
+                               PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.clientRepository = clientRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    public BulkResult importClients(InputStream in, OutputStream out) throws IOException {
+        try (CsvReader csv = new CsvReader(in);
+             JsonGenerator report = objectMapper.getFactory().createGenerator(out)) {
+            // поток ответа закрывает контейнер
+            report.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            BulkResult summary = importRows(csv, report);
+            write(report, summary);
+            report.flush();
+            return summary;
+        }
+    }
+
+    private BulkResult importRows(CsvReader csv, JsonGenerator report) throws IOException {
+        int created = 0;
+        int failed = 0;
+        try {
+            Map<String, Integer> columns = columns(csv.next());
+            List<String> missing = Stream.of(NAME, LEGAL_FORM)
+                    .filter(column -> !columns.containsKey(column))
+                    .toList();
+            if (!missing.isEmpty()) {
+                write(report, BulkItemResult.failed(1, "В заголовке нет колонок: " + String.join(", ", missing)));
+                return new BulkResult(0, 1, List.of());
+            }
+
+            Set<String> namesInFile = new HashSet<>();
+            List<CsvRow> chunk;
+            while (!(chunk = readChunk(csv)).isEmpty()) {
+                for (BulkItemResult result : importChunk(chunk, columns, namesInFile)) {
+                    write(report, result);
+                    if (result.error() == null) {
+                        created++;
+                    } else {
+                        failed++;
+                    }
+                }
+                report.flush();
+            }
+        } catch (CsvReader.MalformedCsvException e) {
+            // дальше файл не разобрать: текущая пачка не импортируется, сохранённые ранее остаются
+            write(report, BulkItemResult.failed(csv.recordLine(), e.getMessage()));
+            failed++;
+        }
+        return new BulkResult(created, failed, List.of());
+    }
+
+    private List<BulkItemResult> importChunk(List<CsvRow> chunk, Map<String, Integer> columns, Set<String> namesInFile) {
+        // 1. Разбор и проверка полей — независимы для каждой строки, поэтому параллельно
+        List<CheckedRow> rows = chunk.parallelStream()
+                .map(row -> check(row, columns))
+                .toList();
+
+        // 2. Уникальность имён: один запрос к БД на пачку, плюс повторы внутри файла
+        Set<String> names = rows.stream()
+                .filter(row -> row.error() == null)
+                .map(row -> row.client().getName())
+                .collect(Collectors.toSet());
+        Set<String> existing = names.isEmpty() ? Set.of() : new HashSet<>(clientRepository.findExistingNames(names));
+
+        // имена пачки попадают в namesInFile только после коммита вставки: строки неудачной пачки
+        // не сохранены, и такое же имя ниже в файле — не повтор
+        String[] errors = new String[rows.size()];
+        List<Client> toInsert = new ArrayList<>();
+        Set<String> namesInChunk = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            CheckedRow row = rows.get(i);
+            if (row.error() != null) {
+                errors[i] = row.error();
+            } else if (existing.contains(row.client().getName())) {
+                errors[i] = "Клиент с именем '" + row.client().getName() + "' уже существует.";
+            } else if (namesInFile.contains(row.client().getName()) || !namesInChunk.add(row.client().getName())) {
+                errors[i] = "Клиент с именем '" + row.client().getName() + "' уже встречался в файле.";
+            } else {
+                toInsert.add(row.client());
+            }
+        }
+
+        // 3. Пакетная вставка (id из clients_seq блоками, см. V4)
+        String insertError = null;
+        if (!toInsert.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> clientRepository.saveAll(toInsert));
+                namesInFile.addAll(namesInChunk);
+            } catch (DataAccessException e) {
+                insertError = "Ошибка сохранения пачки: " + e.getMostSpecificCause().getMessage();
+            }
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            CheckedRow row = rows.get(i);
+            if (errors[i] != null) {
+                results.add(BulkItemResult.failed(row.line(), errors[i]));
+            } else if (insertError != null) {
+                results.add(BulkItemResult.failed(row.line(), insertError));
+            } else {
+                results.add(BulkItemResult.created(row.line(), row.client().getId()));
+            }
+        }
+        return results;
+    }
+
+    private CheckedRow check(CsvRow row, Map<String, Integer> columns) {
+        if (row.fields().size() != columns.size()) {
+            return CheckedRow.failed(row.line(), "Ожидалось колонок: " + columns.size() + ", в строке: " + row.fields().size());
+        }
+
+        String legalFormValue = field(row, columns, LEGAL_FORM);
+        LegalForm legalForm = null;
+        if (legalFormValue != null) {
+            try {
+                legalForm = LegalForm.fromString(legalFormValue);
+            } catch (IllegalArgumentException e) {
+                return CheckedRow.failed(row.line(), LEGAL_FORM + ": Некорректная юридическая форма '" + legalFormValue
+                        + "'. Допустимые значения: " + ALLOWED_LEGAL_FORMS);
+            }
+        }
+
+        Client client = new Client(field(row, columns, NAME), field(row, columns, SHORT_NAME),
+                field(row, columns, ADDRESS), legalForm);
+        Set<ConstraintViolation<Client>> violations = validator.validate(client);
+        if (!violations.isEmpty()) {
+            // тот же формат, что и у ошибки валидации одиночного запроса
+            return CheckedRow.failed(row.line(), violations.stream()
+                    .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining("; ")));
+        }
+        return new CheckedRow(row.line(), client, null);
+    }
+
+    private static String field(CsvRow row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        String value = row.fields().get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).strip(), i);
+            }
+        }
+        return columns;
+    }
+
+    private static List<CsvRow> readChunk(CsvReader csv) throws IOException {
+        List<CsvRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<String> fields;
+        while (chunk.size() < CHUNK_SIZE && (fields = csv.next()) != null) {
+            chunk.add(new CsvRow(csv.recordLine(), fields));
+        }
+        return chunk;
+    }
+
+    private void write(JsonGenerator report, Object value) throws IOException {
+        objectMapper.writeValue(report, value);
+        report.writeRaw('\n');
+    }
+
+    private record CsvRow(int line, List<String> fields) {
+    }
+
+    private record CheckedRow(int line, Client client, String error) {
+        static CheckedRow failed(int line, String error) {
+            return new CheckedRow(line, null, error);
+        }
+    }
+}
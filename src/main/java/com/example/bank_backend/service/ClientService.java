@@ -1,5 +1,7 @@
 package com.example.bank_backend.service;
 
+import com.example.bank_backend.dto.ClientView;
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.exception.CannotDeleteClientException;
 import com.example.bank_backend.exception.ClientAlreadyExistsException;
 import com.example.bank_backend.exception.ClientNotFoundException;
@@ -7,45 +9,53 @@ import com.example.bank_backend.exception.NoClientsFoundException;
 import com.example.bank_backend.model.Client;
 import com.example.bank_backend.model.LegalForm;
 import com.example.bank_backend.repository.ClientRepository;
+import com.example.bank_backend.repository.ClientSpecifications;
 import com.example.bank_backend.repository.DepositRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ClientService {
 
+    // Поля, по которым доступна сортировка (и keyset-пагинация) списка клиентов
+    private static final Set<String> SORT_FIELDS = Set.of("id", "name", "legalForm");
+
     private final ClientRepository clientRepository;
     private final DepositRepository depositRepository;
+    private final ClientCache clientCache;
 
     @Autowired
-    public ClientService(ClientRepository clientRepository, DepositRepository depositRepository) {
+    public ClientService(ClientRepository clientRepository, DepositRepository depositRepository, ClientCache clientCache) {
         this.clientRepository = clientRepository;
         this.depositRepository = depositRepository;
+        this.clientCache = clientCache;
     }
 
-    public List<Client> findAllClients(String name, String shortName, String address, LegalForm legalForm, String sortBy, String direction) {
-        Sort sort = direction.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+    public CursorPage<ClientView> findAllClients(String name, String shortName, String address, LegalForm legalForm,
+                                             String sortBy, String direction, String cursor, Integer size) {
+        KeysetPaging.checkSortField(sortBy, SORT_FIELDS);
+        Sort.Direction dir = KeysetPaging.direction(direction);
+        int pageSize = KeysetPaging.pageSize(size);
 
-        List<Client> clients = clientRepository.findAll(sort).stream()
-                .filter(c -> (name == null || c.getName().toLowerCase().contains(name.toLowerCase())))
-                .filter(c -> (shortName == null || c.getShortName().toLowerCase().contains(shortName.toLowerCase())))
-                .filter(c -> (address == null || c.getAddress().toLowerCase().contains(address.toLowerCase())))
-                .filter(c -> (legalForm == null || c.getLegalForm() == legalForm))
-                .toList();
+        Specification<Client> spec = KeysetPaging.after(
+                ClientSpecifications.filter(name, shortName, address, legalForm), cursor, sortBy, dir);
+        List<ClientView> clients = clientRepository.findViews(spec, KeysetPaging.sort(sortBy, dir), pageSize + 1);
 
         if (clients.isEmpty()) {
             throw new NoClientsFoundException("Список клиентов пуст.");
         }
 
-        return clients;
+        return KeysetPaging.page(clients, pageSize, sortBy, dir, c -> sortValue(c, sortBy), ClientView::id);
     }
 
     public Client findClientById(long id) {
-        return clientRepository.findById(id)
+        return clientCache.findById(id)
                 .orElseThrow(() -> new ClientNotFoundException("Клиент с ID: " + id + " не найден."));
     }
 
@@ -57,19 +67,21 @@ public class ClientService {
     }
 
     public Client updateClient(Long id, Client clientDetails) {
-        Client client = findClientById(id);
+        Client client = loadClient(id);
 
         client.setName(clientDetails.getName());
         client.setShortName(clientDetails.getShortName());
         client.setAddress(clientDetails.getAddress());
         client.setLegalForm(clientDetails.getLegalForm());
 
-        return clientRepository.save(client);
+        Client saved = clientRepository.save(client);
+        clientCache.invalidate(id);
+        return saved;
     }
 
     public void deleteClient(Long clientId) {
 
-        Client client = findClientById(clientId);
+        Client client = loadClient(clientId);
 
         boolean hasDeposits = depositRepository.existsByClientId(clientId);
 
@@ -77,6 +89,20 @@ public class ClientService {
             throw new IllegalStateException("Нельзя удалить клиента с депозитами");
         }
         clientRepository.delete(client);
+        clientCache.invalidate(clientId);
+    }
+
+    // Для изменения клиент читается из БД: экземпляры из кэша общие и не должны меняться
+    private Client loadClient(Long id) {
+        return clientRepository.findById(id)
+                .orElseThrow(() -> new ClientNotFoundException("Клиент с ID: " + id + " не найден."));
     }
 
-}
\ No newline at end of file
+    private static Object sortValue(ClientView client, String sortBy) {
+        return switch (sortBy) {
+            case "name" -> client.name();
+            case "legalForm" -> client.legalForm();
+            default -> client.id();
+        };
+    }
+}
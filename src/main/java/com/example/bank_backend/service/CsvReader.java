@@ -0,0 +1,118 @@
+package com.example.bank_backend.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Построчное чтение CSV (RFC 4180): разделитель — запятая, поля в кавычках могут содержать
+// запятые, переводы строк и удвоенные кавычки. В памяти держится только текущая запись.
+final class CsvReader implements Closeable {
+
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader reader;
+    private int line;
+    private int recordLine;
+    private boolean first = true;
+
+    CsvReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    // Следующая запись или null в конце файла; пустые строки пропускаются
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean started = false;
+        recordLine = line + 1;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (first) {
+                first = false;
+                if (c == BOM) {
+                    continue;
+                }
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int nextChar = reader.read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (nextChar != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    quoted = true;
+                    started = true;
+                }
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    started = true;
+                }
+                case '\r' -> {
+                    // CRLF: \r пропускается, запись завершает \n
+                }
+                case '\n' -> {
+                    line++;
+                    if (!started && field.isEmpty()) {
+                        recordLine = line + 1;
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                default -> {
+                    field.append((char) c);
+                    started = true;
+                }
+            }
+        }
+        if (quoted) {
+            throw new MalformedCsvException("Незакрытая кавычка в записи со строки " + recordLine);
+        }
+        if (!started && field.isEmpty()) {
+            return null;
+        }
+        line++;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Номер строки файла, с которой началась последняя прочитанная запись
+    int recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Файл нельзя разобрать дальше текущей записи
+    static final class MalformedCsvException extends RuntimeException {
+        MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.bank_backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.example.bank_backend.service.DepositExportService.csv;
+
+// Синтетический набор в CSV-файлах в форматах, которые принимает само приложение:
+// clients.csv — POST /api/clients/import, deposits.csv — DepositLoaderApplication
+// (клиент и банк указаны по имени и БИК); banks.csv — пары name,bik.
+public final class DatasetFileWriter {
+
+    private DatasetFileWriter() {
+    }
+
+    public static void write(DatasetGenerator generator, Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        try (Writer out = newWriter(directory.resolve("banks.csv"))) {
+            out.write("name,bik\n");
+            generator.banks(bank -> {
+                out.write(csv(bank.name()));
+                out.write(',');
+                out.write(bank.bik());
+                out.write('\n');
+            });
+        }
+
+        try (Writer out = newWriter(directory.resolve("clients.csv"))) {
+            out.write("name,shortName,address,legalForm\n");
+            generator.clients(client -> {
+                out.write(csv(client.name()));
+                out.write(',');
+                out.write(csv(client.shortName()));
+                out.write(',');
+                out.write(csv(client.address()));
+                out.write(',');
+                out.write(client.legalForm().getName());
+                out.write('\n');
+            });
+        }
+
+        try (Writer out = newWriter(directory.resolve("deposits.csv"))) {
+            out.write("clientName,bik,openingDate,percentage,termMonths\n");
+            generator.deposits(deposit -> {
+                out.write(csv(generator.client(deposit.clientId()).name()));
+                out.write(',');
+                out.write(generator.bik(deposit.bankId()));
+                out.write(',');
+                out.write(deposit.openingDate().toString());
+                out.write(',');
+                out.write(String.valueOf(deposit.percentage()));
+                out.write(',');
+                out.write(String.valueOf(deposit.termMonths()));
+                out.write('\n');
+            });
+        }
+    }
+
+    private static Writer newWriter(Path file) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 16);
+    }
+}
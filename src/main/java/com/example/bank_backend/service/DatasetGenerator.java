@@ -0,0 +1,247 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.model.LegalForm;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Синтетический набор банков, клиентов и депозитов для нагрузочных тестов и бенчмарков.
+// Результат определяется только настройками (в том числе seed): банк и клиент — чистые функции
+// своего id, депозиты идут одним потоком случайных чисел по возрастанию id.
+// Распределения перекошены, как в реальной книге: депозиты сосредоточены у «горячих» клиентов
+// и крупных банков (закон Ципфа), сроки тяготеют к 3/6/12/24/36 месяцам, ставки группируются
+// вокруг рыночного уровня года открытия с шагом 0.05.
+public class DatasetGenerator {
+
+    private static final long BANK_SALT = 0x62616e6bL;
+    private static final long CLIENT_SALT = 0x636c6e74L;
+    private static final long DEPOSIT_SALT = 0x64706f73L;
+
+    private static final LegalForm[] LEGAL_FORMS = {
+            LegalForm.OOO, LegalForm.IP, LegalForm.AO, LegalForm.PAO, LegalForm.PK,
+            LegalForm.GUP, LegalForm.MUP, LegalForm.PT, LegalForm.KT};
+    private static final double[] LEGAL_FORM_WEIGHTS = {50, 25, 8, 4, 4, 3, 3, 1.5, 1.5};
+
+    private static final int[] POPULAR_TERMS = {12, 6, 24, 3, 36, 1, 18, 60};
+    private static final double[] POPULAR_TERM_WEIGHTS = {30, 15, 15, 10, 10, 5, 5, 4};
+    // остаток — произвольный срок от 1 до 600 месяцев
+    private static final double OTHER_TERM_WEIGHT = 6;
+
+    // Средняя ставка по вкладам года открытия, %; вне диапазона берётся ближайший год
+    private static final int FIRST_RATE_YEAR = 2012;
+    private static final double[] YEAR_RATES = {
+            7.5, 7.5, 8.5, 10.5, 8.5, 7.0, 6.5, 6.5, 5.0, 5.5, 8.0, 9.0, 15.5, 16.0};
+
+    private static final String[] WORDS = {
+            "Альфа", "Вектор", "Гранит", "Север", "Меридиан", "Орион", "Прогресс", "Восход", "Кедр", "Стандарт",
+            "Импульс", "Магистраль", "Горизонт", "Техно", "Агро", "Строй", "Лидер", "Фаворит", "Ресурс", "Партнёр"};
+    private static final String[] SURNAMES = {
+            "Иванов", "Смирнов", "Кузнецов", "Попов", "Васильев", "Петров", "Соколов", "Михайлов", "Новиков", "Фёдоров"};
+    // Отсортированы по убыванию доли клиентов
+    private static final String[] CITIES = {
+            "Москва", "Санкт-Петербург", "Новосибирск", "Екатеринбург", "Казань", "Нижний Новгород",
+            "Челябинск", "Самара", "Омск", "Ростов-на-Дону", "Уфа", "Красноярск", "Воронеж", "Пермь"};
+    private static final String[] STREETS = {
+            "Ленина", "Советская", "Мира", "Гагарина", "Пушкина", "Садовая", "Лесная", "Центральная"};
+
+    private final Settings settings;
+    private final ZipfSampler clientRanks;
+    private final ZipfSampler bankRanks;
+    private final long clientStride;
+    private final long bankStride;
+    // постоянная надбавка банка к ставке: от -1 до +1 с шагом 0.25
+    private final double[] bankOffsets;
+
+    public DatasetGenerator(Settings settings) {
+        this.settings = settings;
+        this.clientRanks = new ZipfSampler(settings.clients(), settings.clientSkew());
+        this.bankRanks = new ZipfSampler(settings.banks(), settings.bankSkew());
+        this.clientStride = stride(settings.clients());
+        this.bankStride = stride(settings.banks());
+        this.bankOffsets = new double[settings.banks() + 1];
+        for (int id = 1; id <= settings.banks(); id++) {
+            bankOffsets[id] = (new SplittableRandom(settings.seed() ^ BANK_SALT ^ id).nextInt(9) - 4) * 0.25;
+        }
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    public void banks(RowSink<BankRow> sink) throws IOException {
+        for (int id = 1; id <= settings.banks(); id++) {
+            sink.accept(new BankRow(id, bankName(id), bik(id)));
+        }
+    }
+
+    public void clients(RowSink<ClientRow> sink) throws IOException {
+        for (long id = 1; id <= settings.clients(); id++) {
+            sink.accept(client(id));
+        }
+    }
+
+    public void deposits(RowSink<DepositRow> sink) throws IOException {
+        SplittableRandom random = new SplittableRandom(settings.seed() ^ DEPOSIT_SALT);
+        long days = ChronoUnit.DAYS.between(settings.from(), settings.to());
+        for (long id = 1; id <= settings.deposits(); id++) {
+            // «горячий» ранг переводится в id перестановкой, чтобы крупные клиенты не шли подряд
+            long clientId = clientRanks.sample(random) * clientStride % settings.clients() + 1;
+            int bankId = (int) (bankRanks.sample(random) * bankStride % settings.banks() + 1);
+            // плотность растёт линейно к концу периода: свежих депозитов больше
+            LocalDate openingDate = settings.from().plusDays((long) (days * Math.sqrt(random.nextDouble())));
+            int termMonths = term(random);
+            double percentage = percentage(random, bankId, openingDate, termMonths);
+            sink.accept(new DepositRow(id, clientId, bankId, openingDate, percentage, termMonths));
+        }
+    }
+
+    public String bankName(int id) {
+        return "Банк " + WORDS[id % WORDS.length] + "-" + id;
+    }
+
+    // Уникален для id < 10 000 000
+    public String bik(int id) {
+        return String.format("04%07d", id);
+    }
+
+    public ClientRow client(long id) {
+        SplittableRandom random = new SplittableRandom(settings.seed() ^ CLIENT_SALT ^ (id * 0x9E3779B97F4A7C15L));
+        LegalForm legalForm = LEGAL_FORMS[weighted(random, LEGAL_FORM_WEIGHTS)];
+        String name;
+        String shortName;
+        if (legalForm == LegalForm.IP) {
+            name = "ИП " + SURNAMES[random.nextInt(SURNAMES.length)] + " " + id;
+            shortName = null;
+        } else {
+            shortName = WORDS[random.nextInt(WORDS.length)] + "-" + id;
+            name = legalForm.getName() + " «" + shortName + "»";
+        }
+        // квадрат равномерной величины смещает выбор к первым (крупным) городам
+        double u = random.nextDouble();
+        String address = "г. " + CITIES[(int) (CITIES.length * u * u)]
+                + ", ул. " + STREETS[random.nextInt(STREETS.length)]
+                + ", д. " + (1 + random.nextInt(150));
+        return new ClientRow(id, name, shortName, address, legalForm);
+    }
+
+    private static int term(SplittableRandom random) {
+        int i = weighted(random, POPULAR_TERM_WEIGHTS, OTHER_TERM_WEIGHT);
+        return i < POPULAR_TERMS.length ? POPULAR_TERMS[i] : 1 + random.nextInt(600);
+    }
+
+    private double percentage(SplittableRandom random, int bankId, LocalDate openingDate, int termMonths) {
+        int year = Math.max(0, Math.min(YEAR_RATES.length - 1, openingDate.getYear() - FIRST_RATE_YEAR));
+        double premium = termMonths <= 3 ? -1.0 : termMonths <= 6 ? -0.5 : termMonths <= 12 ? 0 : termMonths <= 24 ? 0.3 : 0.5;
+        double rate = YEAR_RATES[year] + premium + bankOffsets[bankId] + random.nextGaussian() * 0.15;
+        return Math.max(0.01, Math.round(rate * 20) / 20.0);
+    }
+
+    private static int weighted(SplittableRandom random, double[] weights) {
+        return weighted(random, weights, 0);
+    }
+
+    // Индекс по весам; вес rest (если больше 0) соответствует индексу weights.length
+    private static int weighted(SplittableRandom random, double[] weights, double rest) {
+        double total = rest;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double x = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            x -= weights[i];
+            if (x < 0) {
+                return i;
+            }
+        }
+        return rest > 0 ? weights.length : weights.length - 1;
+    }
+
+    // Шаг перестановки рангов: взаимно прост с n, поэтому rank * stride % n обходит все id
+    private static long stride(long n) {
+        long stride = 1_000_003;
+        while (gcd(stride, n) != 1) {
+            stride += 2;
+        }
+        return stride % n == 0 ? 1 : stride;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // Ранги 0..n-1 с вероятностью, пропорциональной 1 / (rank + 1)^skew; выбор — двоичный поиск по CDF
+    private static final class ZipfSampler {
+
+        private final double[] cdf;
+
+        ZipfSampler(int n, double skew) {
+            cdf = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += Math.pow(i + 1, -skew);
+                cdf[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cdf[i] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int i = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(i < 0 ? -i - 1 : i, cdf.length - 1);
+        }
+    }
+
+    // Масштаб и форма набора. Для бенчмарков — например, 1 000 000 клиентов и 50 000 000 депозитов
+    public record Settings(long seed, int banks, int clients, long deposits,
+                           LocalDate from, LocalDate to, double clientSkew, double bankSkew) {
+
+        public Settings {
+            if (banks < 1 || clients < 1 || deposits < 0) {
+                throw new IllegalArgumentException("Нужен хотя бы один банк и один клиент");
+            }
+            if (banks >= 10_000_000) {
+                throw new IllegalArgumentException("Банков должно быть меньше 10 000 000 (БИК из 9 цифр)");
+            }
+            if (!from.isBefore(to)) {
+                throw new IllegalArgumentException("Начало периода должно быть раньше конца");
+            }
+        }
+
+        public static Settings defaults() {
+            return new Settings(42, 300, 10_000, 100_000,
+                    LocalDate.of(2012, 1, 1), LocalDate.of(2025, 12, 31), 0.8, 1.1);
+        }
+
+        public Settings withScale(int banks, int clients, long deposits) {
+            return new Settings(seed, banks, clients, deposits, from, to, clientSkew, bankSkew);
+        }
+
+        public Settings withSeed(long seed) {
+            return new Settings(seed, banks, clients, deposits, from, to, clientSkew, bankSkew);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowSink<T> {
+        void accept(T row) throws IOException;
+    }
+
+    public record BankRow(int id, String name, String bik) {
+    }
+
+    public record ClientRow(long id, String name, String shortName, String address, LegalForm legalForm) {
+    }
+
+    public record DepositRow(long id, long clientId, int bankId, LocalDate openingDate, double percentage,
+                             int termMonths) {
+    }
+}
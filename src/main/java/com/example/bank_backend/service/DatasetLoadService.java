@@ -0,0 +1,87 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.repository.DatasetCopyRepository;
+import com.example.bank_backend.repository.DepositCopyRepository;
+import com.example.bank_backend.repository.DepositSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.example.bank_backend.service.DepositExportService.csv;
+
+// Запись синтетического набора (DatasetGenerator) в пустую БД через COPY одной транзакцией.
+// Внешние ключи deposits снимаются на время COPY и создаются заново после неё: ссылки
+// десятков миллионов депозитов проверяются один раз, а не построчно. БД пуста, поэтому
+// блокировка таблиц на время загрузки никому не мешает; при ошибке DDL откатывается вместе с данными.
+@Service
+public class DatasetLoadService {
+
+    private final DatasetCopyRepository datasetCopyRepository;
+    private final DepositCopyRepository depositCopyRepository;
+    private final DepositSummaryRepository depositSummaryRepository;
+
+    @Autowired
+    public DatasetLoadService(DatasetCopyRepository datasetCopyRepository,
+                              DepositCopyRepository depositCopyRepository,
+                              DepositSummaryRepository depositSummaryRepository) {
+        this.datasetCopyRepository = datasetCopyRepository;
+        this.depositCopyRepository = depositCopyRepository;
+        this.depositSummaryRepository = depositSummaryRepository;
+    }
+
+    @Transactional
+    public void load(DatasetGenerator generator) {
+        // id набора начинаются с 1 и пересеклись бы с существующими строками
+        if (!datasetCopyRepository.isEmpty()) {
+            throw new IllegalStateException("Синтетический набор загружается только в пустую БД");
+        }
+
+        datasetCopyRepository.copyIn("COPY banks (id, name, bik) FROM STDIN WITH (FORMAT csv)",
+                out -> generator.banks(bank -> {
+                    out.write(String.valueOf(bank.id()));
+                    out.write(',');
+                    out.write(csv(bank.name()));
+                    out.write(',');
+                    out.write(bank.bik());
+                    out.write('\n');
+                }));
+
+        datasetCopyRepository.copyIn(
+                "COPY clients (id, name, short_name, address, legal_form) FROM STDIN WITH (FORMAT csv)",
+                out -> generator.clients(client -> {
+                    out.write(String.valueOf(client.id()));
+                    out.write(',');
+                    out.write(csv(client.name()));
+                    out.write(',');
+                    out.write(csv(client.shortName())); // пустое поле без кавычек — NULL
+                    out.write(',');
+                    out.write(csv(client.address()));
+                    out.write(',');
+                    out.write(client.legalForm().name());
+                    out.write('\n');
+                }));
+
+        datasetCopyRepository.dropDepositForeignKeys();
+        datasetCopyRepository.copyIn(
+                "COPY deposits (id, client_id, bank_id, opening_date, percentage, term_months) FROM STDIN WITH (FORMAT csv)",
+                out -> generator.deposits(deposit -> {
+                    out.write(String.valueOf(deposit.id()));
+                    out.write(',');
+                    out.write(String.valueOf(deposit.clientId()));
+                    out.write(',');
+                    out.write(String.valueOf(deposit.bankId()));
+                    out.write(',');
+                    out.write(deposit.openingDate().toString());
+                    out.write(',');
+                    out.write(String.valueOf(deposit.percentage()));
+                    out.write(',');
+                    out.write(String.valueOf(deposit.termMonths()));
+                    out.write('\n');
+                }));
+        datasetCopyRepository.addDepositForeignKeys();
+        depositSummaryRepository.rebuild();
+
+        datasetCopyRepository.resetSequences();
+        datasetCopyRepository.analyze();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.BankConcentration;
+import com.example.bank_backend.dto.MaturityLadder;
+import com.example.bank_backend.exception.InvalidLadderMonthsException;
+import com.example.bank_backend.exception.NoDepositsFoundException;
+import com.example.bank_backend.model.Bank;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Аналитика по книге депозитов в памяти (DepositBook) без запросов к PostgreSQL: каждый кусок книги
+// копит счётчики в собственных примитивных массивах, массивы кусков складываются при свёртке.
+// Действующий на дату asOf депозит — открыт не позже asOf и ещё не погашен (asOf < даты погашения).
+@Service
+public class DepositAnalyticsService {
+
+    static final int DEFAULT_LADDER_MONTHS = 12;
+    static final int MAX_LADDER_MONTHS = 120;
+
+    private final DepositBook depositBook;
+    private final BankDirectory bankDirectory;
+
+    @Autowired
+    public DepositAnalyticsService(DepositBook depositBook, BankDirectory bankDirectory) {
+        this.depositBook = depositBook;
+        this.bankDirectory = bankDirectory;
+    }
+
+    public MaturityLadder maturityLadder(LocalDate asOf, Integer months, Long bankId) {
+        int ladderMonths = months == null ? DEFAULT_LADDER_MONTHS : months;
+        if (ladderMonths < 1 || ladderMonths > MAX_LADDER_MONTHS) {
+            throw new InvalidLadderMonthsException(
+                    "Число месяцев лестницы должно быть от 1 до " + MAX_LADDER_MONTHS + ": " + months);
+        }
+        DepositBook.Snapshot book = depositBook.snapshot();
+        long started = System.nanoTime();
+
+        int bank = bankId == null ? -1 : book.bankSlot(bankId);
+        if (bankId != null && bank < 0) {
+            throw new NoDepositsFoundException("Депозиты банка с ID: " + bankId + " не найдены");
+        }
+        int asOfDay = (int) asOf.toEpochDay();
+        int asOfMonth = asOf.getYear() * 12 + asOf.getMonthValue() - 1;
+        // последний элемент — «позже»
+        Counters counters = book.scan(() -> new Counters(ladderMonths + 1), (columns, from, to, acc) -> {
+            int[] bankSlot = columns.bank();
+            int[] openingDay = columns.openingDay();
+            int[] openingMonth = columns.openingMonth();
+            int[] maturityDay = columns.maturityDay();
+            short[] termMonths = columns.termMonths();
+            double[] percentage = columns.percentage();
+            for (int i = from; i < to; i++) {
+                if (openingDay[i] > asOfDay || maturityDay[i] <= asOfDay || (bank >= 0 && bankSlot[i] != bank)) {
+                    continue;
+                }
+                // месяц погашения не раньше месяца asOf, поэтому номер ступени неотрицателен
+                int step = Math.min(openingMonth[i] + termMonths[i] - asOfMonth, ladderMonths);
+                acc.deposits[step]++;
+                acc.percentageSums[step] += percentage[i];
+            }
+        }, Counters::plus);
+
+        if (counters.total() == 0) {
+            throw new NoDepositsFoundException("Действующие на " + asOf + " депозиты не найдены");
+        }
+        YearMonth first = YearMonth.from(asOf);
+        List<MaturityLadder.Bucket> buckets = new ArrayList<>(ladderMonths);
+        for (int step = 0; step < ladderMonths; step++) {
+            buckets.add(counters.bucket(step, first.plusMonths(step)));
+        }
+        return new MaturityLadder(asOf, bankId, counters.total(), buckets, counters.bucket(ladderMonths, null),
+                book.loadedAt(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Первые size банков по числу действующих депозитов; HHI — по всем банкам
+    public BankConcentration concentration(LocalDate asOf, Integer size) {
+        int limit = KeysetPaging.pageSize(size);
+        DepositBook.Snapshot book = depositBook.snapshot();
+        long started = System.nanoTime();
+
+        long[] bankIds = book.bankIds();
+        int asOfDay = (int) asOf.toEpochDay();
+        Counters counters = book.scan(() -> new Counters(bankIds.length), (columns, from, to, acc) -> {
+            int[] bankSlot = columns.bank();
+            int[] openingDay = columns.openingDay();
+            int[] maturityDay = columns.maturityDay();
+            double[] percentage = columns.percentage();
+            for (int i = from; i < to; i++) {
+                if (openingDay[i] <= asOfDay && asOfDay < maturityDay[i]) {
+                    acc.deposits[bankSlot[i]]++;
+                    acc.percentageSums[bankSlot[i]] += percentage[i];
+                }
+            }
+        }, Counters::plus);
+
+        long total = counters.total();
+        if (total == 0) {
+            throw new NoDepositsFoundException("Действующие на " + asOf + " депозиты не найдены");
+        }
+        double hhi = 0;
+        for (long deposits : counters.deposits) {
+            double share = 100.0 * deposits / total;
+            hhi += share * share;
+        }
+        List<BankConcentration.BankShare> top = IntStream.range(0, bankIds.length)
+                .filter(slot -> counters.deposits[slot] > 0)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(slot -> -counters.deposits[slot])
+                        .thenComparingLong(slot -> bankIds[slot]))
+                .limit(limit)
+                .map(slot -> {
+                    Bank bank = bankDirectory.findById(bankIds[slot]).orElse(null);
+                    long deposits = counters.deposits[slot];
+                    return new BankConcentration.BankShare(bankIds[slot],
+                            bank == null ? null : bank.getName(), bank == null ? null : bank.getBik(),
+                            deposits, 100.0 * deposits / total, counters.percentageSums[slot] / deposits);
+                })
+                .toList();
+        int banks = (int) IntStream.range(0, bankIds.length).filter(slot -> counters.deposits[slot] > 0).count();
+        return new BankConcentration(asOf, total, banks, hhi, top,
+                book.loadedAt(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Число депозитов и сумма ставок по группам (ступеням лестницы или номерам банков) одного куска
+    private static final class Counters {
+        final long[] deposits;
+        final double[] percentageSums;
+
+        Counters(int groups) {
+            deposits = new long[groups];
+            percentageSums = new double[groups];
+        }
+
+        Counters plus(Counters other) {
+            for (int i = 0; i < deposits.length; i++) {
+                deposits[i] += other.deposits[i];
+                percentageSums[i] += other.percentageSums[i];
+            }
+            return this;
+        }
+
+        long total() {
+            long total = 0;
+            for (long count : deposits) {
+                total += count;
+            }
+            return total;
+        }
+
+        MaturityLadder.Bucket bucket(int i, YearMonth month) {
+            return new MaturityLadder.Bucket(month, deposits[i], deposits[i] == 0 ? 0 : percentageSums[i] / deposits[i]);
+        }
+    }
+}
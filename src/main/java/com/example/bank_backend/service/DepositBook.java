@@ -0,0 +1,624 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.repository.DepositBookRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// Книга депозитов в памяти в колоночном виде: по примитивному массиву на поле, без объектов на депозит
+// (около 50 байт на депозит). Даты хранятся в разобранном виде, чтобы расчёт по дате не создавал LocalDate.
+// Снимок неизменяем: загружается при старте приложения и по расписанию, а между загрузками
+// изменения из DepositService (после коммита) дают новый снимок — добавленные строки дописываются в хвост,
+// удалённые отмечаются позицией. Накопив COMPACT_THRESHOLD изменений, снимок пересобирается без них.
+// Строки изменённых депозитов перечитываются из БД по id: слушатели коммитов разных транзакций
+// не упорядочены, и строки из самих событий могли бы лечь в книгу в обратном порядке коммитов.
+// Читает их один фоновый поток по очереди событий, а не поток запроса.
+@Component
+public class DepositBook {
+
+    // Размер куска параллельного прохода (Snapshot.scan)
+    public static final int CHUNK_SIZE = 1 << 16;
+
+    // Изменений с последней загрузки, после которых хвост и удалённые позиции сливаются в основные колонки
+    static final int COMPACT_THRESHOLD = 1 << 14;
+
+    private final DepositBookRepository depositBookRepository;
+    private final boolean preload;
+
+    private volatile Snapshot snapshot;
+
+    // Книга отстаёт от БД: изменение не удалось перечитать, а полное перечитывание после этого ещё не прошло
+    private volatile boolean stale;
+    // Неудачные чтения изменений за всё время; доступ — под writing
+    private long failures;
+
+    // Очередь изменений после коммита: один поток по порядку событий, без простоя поток не держится
+    private final Executor changeQueue;
+
+    // Изменения, пришедшие во время загрузки: повторяются поверх загруженного снимка.
+    // Не null, пока идёт загрузка; доступ — под writing
+    private List<Changes> pending;
+
+    // Одна загрузка за раз; изменения в это время не ждут загрузку, а копятся в pending.
+    // Блокировки — ReentrantLock: загрузка держит loading на время чтения из БД, а сжатие снимка держит
+    // writing на время слияния колонок; монитор закрепил бы виртуальный поток за потоком-носителем
+    private final ReentrantLock loading = new ReentrantLock();
+    private final ReentrantLock writing = new ReentrantLock();
+
+    @Autowired
+    public DepositBook(DepositBookRepository depositBookRepository,
+                       @Value("${deposit-book.preload:true}") boolean preload) {
+        this(depositBookRepository, preload, changesExecutor());
+    }
+
+    DepositBook(DepositBookRepository depositBookRepository, boolean preload, Executor changeQueue) {
+        this.depositBookRepository = depositBookRepository;
+        this.preload = preload;
+        this.changeQueue = changeQueue;
+    }
+
+    private static Executor changesExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "deposit-book");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            loading.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    reload();
+                    current = snapshot;
+                }
+            } finally {
+                loading.unlock();
+            }
+        }
+        return current;
+    }
+
+    // Книга читается сразу после старта, чтобы первый аналитический запрос не ждал загрузку
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (preload) {
+            snapshot();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${deposit-book.refresh-interval:PT10M}",
+            fixedDelayString = "${deposit-book.refresh-interval:PT10M}")
+    public void refresh() {
+        loading.lock();
+        try {
+            reload();
+        } finally {
+            loading.unlock();
+        }
+    }
+
+    public boolean stale() {
+        return stale;
+    }
+
+    // Только закоммиченные изменения: откаченная транзакция книгу не трогает.
+    // Поток запроса только ставит событие в очередь changeQueue и не ждёт чужих чтений
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepositsChanged(DepositChangedEvent event) {
+        changeQueue.execute(() -> applyChanged(event.ids()));
+    }
+
+    // Изменения читает один поток по очереди: каждое следующее чтение видит БД не раньше предыдущего,
+    // поэтому депозит, который две транзакции изменили одна за другой, остаётся в книге в последней версии,
+    // в каком бы порядке ни пришли их события. Чтение идёт без writing, под writing — только новый снимок.
+    // До первой загрузки читать нечего: её прочитает загрузка. Чтение не удалось — изменение потеряно,
+    // поэтому книга помечается устаревшей и сразу ставится в очередь на полное перечитывание
+    private void applyChanged(List<Long> ids) {
+        writing.lock();
+        try {
+            if (snapshot == null && pending == null) {
+                return;
+            }
+        } finally {
+            writing.unlock();
+        }
+        Changes read;
+        try {
+            read = read(ids);
+        } catch (RuntimeException e) {
+            writing.lock();
+            try {
+                failures++;
+                stale = true;
+            } finally {
+                writing.unlock();
+            }
+            changeQueue.execute(this::reloadIfStale);
+            return;
+        }
+        writing.lock();
+        try {
+            if (pending != null) {
+                pending.add(read);
+            }
+            if (snapshot != null) {
+                snapshot = apply(snapshot, read);
+            }
+        } finally {
+            writing.unlock();
+        }
+    }
+
+    private void reloadIfStale() {
+        if (stale) {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                // БД недоступна: книга остаётся устаревшей до планового перечитывания
+            }
+        }
+    }
+
+    // Текущие строки депозитов ids; id, которого в БД уже нет, — удаление
+    private Changes read(List<Long> ids) {
+        List<Row> saved = new ArrayList<>(ids.size());
+        depositBookRepository.findByIds(ids, (id, clientId, bankId, openingDate, percentage, termMonths) ->
+                saved.add(new Row(id, clientId, bankId, openingDate, percentage, termMonths)));
+        Set<Long> found = new HashSet<>();
+        saved.forEach(row -> found.add(row.id()));
+        List<Long> removed = ids.stream().filter(id -> !found.contains(id)).distinct().toList();
+        return new Changes(saved, removed);
+    }
+
+    // Изменения идемпотентны (сохранение по id, удаление по id), поэтому повтор изменения,
+    // которое загрузка уже прочитала из БД, ничего не портит. Устаревшей книга перестаёт быть, только если
+    // за время загрузки не потерялось ни одно изменение
+    private void reload() {
+        long failuresBefore;
+        writing.lock();
+        try {
+            pending = new ArrayList<>();
+            failuresBefore = failures;
+        } finally {
+            writing.unlock();
+        }
+        Snapshot loaded = null;
+        try {
+            loaded = load();
+        } finally {
+            writing.lock();
+            try {
+                if (loaded != null) {
+                    for (Changes changed : pending) {
+                        loaded = apply(loaded, changed);
+                    }
+                    snapshot = loaded;
+                    if (failures == failuresBefore) {
+                        stale = false;
+                    }
+                }
+            } finally {
+                pending = null;
+                writing.unlock();
+            }
+        }
+    }
+
+    private Snapshot load() {
+        BankDictionary banks = new BankDictionary();
+        Builder builder = new Builder(capacity(depositBookRepository.estimateSize()));
+        depositBookRepository.scan((id, clientId, bankId, openingDate, percentage, termMonths) ->
+                builder.add(id, clientId, banks.slot(bankId), openingDate, percentage, termMonths));
+        return new Snapshot(builder.sortedById(), Columns.EMPTY, new int[0], banks.ids(), banks.slots, Instant.now());
+    }
+
+    private static Snapshot apply(Snapshot snapshot, Changes changes) {
+        Snapshot next = snapshot.with(changes);
+        return next.changes() > COMPACT_THRESHOLD ? next.compact() : next;
+    }
+
+    // Небольшой запас сверх оценки, чтобы не расширять массивы из-за устаревшей статистики
+    private static int capacity(long estimate) {
+        return (int) Math.min(Math.max(1024, estimate + estimate / 16), Integer.MAX_VALUE - 8);
+    }
+
+    // Неизменяемый снимок книги. Позиции 0..base.size-1 — основные колонки (по возрастанию id),
+    // дальше — хвост tail (строки, добавленные или изменённые после загрузки, в порядке поступления).
+    // removed — удалённые позиции по возрастанию; изменённый депозит — удалённая позиция плюс строка хвоста.
+    public static final class Snapshot {
+
+        private final Columns base;
+        private final Columns tail;
+        private final int[] removed;
+        private final long[] bankIds;
+        private final Map<Long, Integer> bankSlots;
+        private final Instant loadedAt;
+
+        private Snapshot(Columns base, Columns tail, int[] removed,
+                         long[] bankIds, Map<Long, Integer> bankSlots, Instant loadedAt) {
+            this.base = base;
+            this.tail = tail;
+            this.removed = removed;
+            this.bankIds = bankIds;
+            this.bankSlots = bankSlots;
+            this.loadedAt = loadedAt;
+        }
+
+        // Число депозитов в снимке
+        public int size() {
+            return base.size() + tail.size() - removed.length;
+        }
+
+        // Номер банка (Columns.bank) → id банка. Массив общий для снимков, не изменять
+        public long[] bankIds() {
+            return bankIds;
+        }
+
+        // Номер банка в Columns.bank или -1, если у банка нет депозитов в снимке
+        public int bankSlot(long bankId) {
+            Integer slot = bankSlots.get(bankId);
+            return slot == null ? -1 : slot;
+        }
+
+        public Instant loadedAt() {
+            return loadedAt;
+        }
+
+        // Параллельный проход по всем депозитам снимка кусками по CHUNK_SIZE позиций на общем ForkJoinPool.
+        // scanner получает отрезки живых строк [from, to) одних колонок и копит результат в аккумуляторе
+        // своего куска; аккумуляторы кусков сворачиваются combiner. Внутренний цикл scanner — по примитивным
+        // массивам без проверок удаления, его JIT разворачивает и векторизует
+        public <A> A scan(Supplier<A> accumulator, RangeScanner<A> scanner, BinaryOperator<A> combiner) {
+            int total = base.size() + tail.size();
+            int chunks = (total + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            return IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> {
+                        A acc = accumulator.get();
+                        int from = chunk * CHUNK_SIZE;
+                        int to = Math.min(total, from + CHUNK_SIZE);
+                        if (from < base.size()) {
+                            scanLive(base, 0, from, Math.min(to, base.size()), scanner, acc);
+                        }
+                        if (to > base.size()) {
+                            scanLive(tail, base.size(), Math.max(from, base.size()), to, scanner, acc);
+                        }
+                        return acc;
+                    })
+                    .reduce(combiner)
+                    .orElseGet(accumulator);
+        }
+
+        // Позиции [from, to) колонок columns, которые начинаются с позиции offset, без удалённых
+        private <A> void scanLive(Columns columns, int offset, int from, int to, RangeScanner<A> scanner, A acc) {
+            int start = from;
+            for (int r = firstRemoved(from); r < removed.length && removed[r] < to; r++) {
+                if (removed[r] > start) {
+                    scanner.scan(columns, start - offset, removed[r] - offset, acc);
+                }
+                start = removed[r] + 1;
+            }
+            if (start < to) {
+                scanner.scan(columns, start - offset, to - offset, acc);
+            }
+        }
+
+        private int firstRemoved(int position) {
+            int i = Arrays.binarySearch(removed, position);
+            return i >= 0 ? i : -i - 1;
+        }
+
+        private int changes() {
+            return tail.size() + removed.length;
+        }
+
+        // Новый снимок с изменениями changes. Хвост дописывается в общие массивы за пределами tail.size():
+        // строки, видимые более ранним снимкам, не меняются
+        private Snapshot with(Changes changes) {
+            int[] nextRemoved = removed;
+            for (Long id : changes.removed()) {
+                nextRemoved = remove(nextRemoved, find(id, nextRemoved));
+            }
+            long[] nextBankIds = bankIds;
+            Map<Long, Integer> nextBankSlots = bankSlots;
+            Builder nextTail = new Builder(tail);
+            for (DepositBook.Row row : changes.saved()) {
+                int position = find(row.id(), nextRemoved);
+                if (position < 0) {
+                    // строка могла быть дописана в хвост этим же событием
+                    position = findInTail(row.id(), nextTail.size(), nextTail.id, nextRemoved);
+                }
+                nextRemoved = remove(nextRemoved, position);
+                Integer slot = nextBankSlots.get(row.bankId());
+                if (slot == null) {
+                    slot = nextBankIds.length;
+                    nextBankIds = Arrays.copyOf(nextBankIds, slot + 1);
+                    nextBankIds[slot] = row.bankId();
+                    nextBankSlots = new HashMap<>(nextBankSlots);
+                    nextBankSlots.put(row.bankId(), slot);
+                }
+                nextTail.add(row.id(), row.clientId(), slot, row.openingDate(), row.percentage(), row.termMonths());
+            }
+            return new Snapshot(base, nextTail.columns(), nextRemoved, nextBankIds, nextBankSlots, loadedAt);
+        }
+
+        // Позиция живой строки депозита id или -1
+        private int find(long id, int[] removedPositions) {
+            int i = Arrays.binarySearch(base.id(), 0, base.size(), id);
+            if (i >= 0 && Arrays.binarySearch(removedPositions, i) < 0) {
+                return i;
+            }
+            return findInTail(id, tail.size(), tail.id(), removedPositions);
+        }
+
+        // Хвост короче COMPACT_THRESHOLD, поиск перебором с конца: последняя версия строки — живая
+        private int findInTail(long id, int tailSize, long[] tailIds, int[] removedPositions) {
+            for (int t = tailSize - 1; t >= 0; t--) {
+                if (tailIds[t] == id && Arrays.binarySearch(removedPositions, base.size() + t) < 0) {
+                    return base.size() + t;
+                }
+            }
+            return -1;
+        }
+
+        private static int[] remove(int[] removedPositions, int position) {
+            if (position < 0) {
+                return removedPositions;
+            }
+            int i = -Arrays.binarySearch(removedPositions, position) - 1;
+            int[] next = new int[removedPositions.length + 1];
+            System.arraycopy(removedPositions, 0, next, 0, i);
+            next[i] = position;
+            System.arraycopy(removedPositions, i, next, i + 1, removedPositions.length - i);
+            return next;
+        }
+
+        // Основные колонки без удалённых строк, слитые с живыми строками хвоста по возрастанию id
+        private Snapshot compact() {
+            Builder changed = new Builder(tail.size());
+            scanLive(tail, base.size(), base.size(), base.size() + tail.size(),
+                    (columns, from, to, builder) -> {
+                        for (int i = from; i < to; i++) {
+                            builder.copy(columns, i);
+                        }
+                    }, changed);
+            Columns added = changed.sortedById();
+
+            Builder merged = new Builder(size());
+            int a = 0;
+            int start = 0;
+            for (int r = 0; r <= removed.length && start < base.size(); r++) {
+                int end = r < removed.length ? Math.min(removed[r], base.size()) : base.size();
+                for (int i = start; i < end; i++) {
+                    while (a < added.size() && added.id()[a] < base.id()[i]) {
+                        merged.copy(added, a++);
+                    }
+                    merged.copy(base, i);
+                }
+                start = end + 1;
+            }
+            while (a < added.size()) {
+                merged.copy(added, a++);
+            }
+            return new Snapshot(merged.columns(), Columns.EMPTY, new int[0], bankIds, bankSlots, loadedAt);
+        }
+    }
+
+    // Колонки одной длины (не меньше size); i-й элемент каждой колонки относится к одному депозиту
+    public record Columns(
+            int size,
+            long[] id,
+            long[] clientId,
+            int[] bank,            // номер банка, id — Snapshot.bankIds()[bank]
+            int[] openingDay,      // LocalDate.toEpochDay()
+            int[] openingMonth,    // год * 12 + (месяц - 1)
+            byte[] openingDom,     // день месяца
+            int[] maturityDay,     // openingDate.plusMonths(termMonths).toEpochDay()
+            short[] termMonths,
+            double[] percentage) {
+
+        static final Columns EMPTY = new Builder(0).columns();
+    }
+
+    // Отрезок [from, to) живых строк колонок; acc — аккумулятор куска, которому принадлежит отрезок
+    @FunctionalInterface
+    public interface RangeScanner<A> {
+        void scan(Columns columns, int from, int to, A acc);
+    }
+
+    // Строка депозита из БД
+    public record Row(long id, long clientId, long bankId, LocalDate openingDate, double percentage, int termMonths) {
+    }
+
+    // Перечитанные строки одного события: сохранённые (новые и изменённые) депозиты и id удалённых
+    private record Changes(List<Row> saved, List<Long> removed) {
+    }
+
+    // Номера банков в порядке первого появления: номер банка не меняется до следующей загрузки
+    private static final class BankDictionary {
+
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private long[] ids = new long[16];
+
+        int slot(long bankId) {
+            Integer slot = slots.get(bankId);
+            if (slot == null) {
+                slot = slots.size();
+                if (slot == ids.length) {
+                    ids = Arrays.copyOf(ids, slot * 2);
+                }
+                ids[slot] = bankId;
+                slots.put(bankId, slot);
+            }
+            return slot;
+        }
+
+        long[] ids() {
+            return Arrays.copyOf(ids, slots.size());
+        }
+    }
+
+    private static final class Builder {
+
+        private int size;
+        private boolean sorted = true;
+        private long[] id;
+        private long[] clientId;
+        private int[] bank;
+        private int[] openingDay;
+        private int[] openingMonth;
+        private byte[] openingDom;
+        private int[] maturityDay;
+        private short[] termMonths;
+        private double[] percentage;
+
+        Builder(int capacity) {
+            id = new long[capacity];
+            clientId = new long[capacity];
+            bank = new int[capacity];
+            openingDay = new int[capacity];
+            openingMonth = new int[capacity];
+            openingDom = new byte[capacity];
+            maturityDay = new int[capacity];
+            termMonths = new short[capacity];
+            percentage = new double[capacity];
+        }
+
+        // Продолжение колонок columns: пишет в те же массивы после columns.size()
+        Builder(Columns columns) {
+            size = columns.size();
+            id = columns.id();
+            clientId = columns.clientId();
+            bank = columns.bank();
+            openingDay = columns.openingDay();
+            openingMonth = columns.openingMonth();
+            openingDom = columns.openingDom();
+            maturityDay = columns.maturityDay();
+            termMonths = columns.termMonths();
+            percentage = columns.percentage();
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(long depositId, long client, int bankSlot, LocalDate openingDate, double rate, int term) {
+            ensureCapacity();
+            id[size] = depositId;
+            clientId[size] = client;
+            bank[size] = bankSlot;
+            openingDay[size] = (int) openingDate.toEpochDay();
+            openingMonth[size] = openingDate.getYear() * 12 + openingDate.getMonthValue() - 1;
+            openingDom[size] = (byte) openingDate.getDayOfMonth();
+            maturityDay[size] = (int) openingDate.plusMonths(term).toEpochDay();
+            termMonths[size] = (short) term;
+            percentage[size] = rate;
+            appended();
+        }
+
+        void copy(Columns from, int i) {
+            ensureCapacity();
+            id[size] = from.id()[i];
+            clientId[size] = from.clientId()[i];
+            bank[size] = from.bank()[i];
+            openingDay[size] = from.openingDay()[i];
+            openingMonth[size] = from.openingMonth()[i];
+            openingDom[size] = from.openingDom()[i];
+            maturityDay[size] = from.maturityDay()[i];
+            termMonths[size] = from.termMonths()[i];
+            percentage[size] = from.percentage()[i];
+            appended();
+        }
+
+        private void appended() {
+            if (size > 0 && id[size] <= id[size - 1]) {
+                sorted = false;
+            }
+            size++;
+        }
+
+        private void ensureCapacity() {
+            if (size == id.length) {
+                resize(Math.max(16, size + (size >> 1)));
+            }
+        }
+
+        private void resize(int capacity) {
+            id = Arrays.copyOf(id, capacity);
+            clientId = Arrays.copyOf(clientId, capacity);
+            bank = Arrays.copyOf(bank, capacity);
+            openingDay = Arrays.copyOf(openingDay, capacity);
+            openingMonth = Arrays.copyOf(openingMonth, capacity);
+            openingDom = Arrays.copyOf(openingDom, capacity);
+            maturityDay = Arrays.copyOf(maturityDay, capacity);
+            termMonths = Arrays.copyOf(termMonths, capacity);
+            percentage = Arrays.copyOf(percentage, capacity);
+        }
+
+        Columns columns() {
+            return new Columns(size, id, clientId, bank, openingDay, openingMonth, openingDom, maturityDay,
+                    termMonths, percentage);
+        }
+
+        // Колонки точной длины по возрастанию id. Таблица обычно читается почти в порядке id,
+        // но порядок не гарантирован: тогда строки переставляются по позиции id в отсортированной копии
+        Columns sortedById() {
+            if (size < id.length) {
+                // запас ёмкости не держим: оценка размера могла быть завышена
+                resize(size);
+            }
+            if (!sorted) {
+                long[] ids = Arrays.copyOf(id, size);
+                Arrays.parallelSort(ids);
+                int[] target = new int[size];
+                for (int i = 0; i < size; i++) {
+                    target[i] = Arrays.binarySearch(ids, id[i]);
+                }
+                Builder permuted = new Builder(size);
+                permuted.size = size;
+                for (int i = 0; i < size; i++) {
+                    int t = target[i];
+                    permuted.id[t] = id[i];
+                    permuted.clientId[t] = clientId[i];
+                    permuted.bank[t] = bank[i];
+                    permuted.openingDay[t] = openingDay[i];
+                    permuted.openingMonth[t] = openingMonth[i];
+                    permuted.openingDom[t] = openingDom[i];
+                    permuted.maturityDay[t] = maturityDay[i];
+                    permuted.termMonths[t] = termMonths[i];
+                    permuted.percentage[t] = percentage[i];
+                }
+                return permuted.columns();
+            }
+            return columns();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.BulkItemResult;
+import com.example.bank_backend.dto.BulkResult;
+import com.example.bank_backend.dto.DepositRequest;
+import com.example.bank_backend.repository.ClientRepository;
+import com.example.bank_backend.repository.DepositBulkRepository;
+import com.example.bank_backend.repository.DepositSummaryRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Массовое создание депозитов (POST /api/deposits/bulk).
+// Ошибочная запись не валит всю пачку: она получает текст ошибки в ответе, остальные вставляются.
+@Service
+public class DepositBulkService {
+
+    // Размер IN-списка при проверке клиентов (лимит параметров запроса у PostgreSQL — 32767)
+    static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final ClientRepository clientRepository;
+    private final BankDirectory bankDirectory;
+    private final DepositBulkRepository depositBulkRepository;
+    private final DepositSummaryRepository depositSummaryRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public DepositBulkService(ClientRepository clientRepository, BankDirectory bankDirectory,
+                              DepositBulkRepository depositBulkRepository,
+                              DepositSummaryRepository depositSummaryRepository, Validator validator,
+                              ApplicationEventPublisher eventPublisher) {
+        this.clientRepository = clientRepository;
+        this.bankDirectory = bankDirectory;
+        this.depositBulkRepository = depositBulkRepository;
+        this.depositSummaryRepository = depositSummaryRepository;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public BulkResult createDeposits(List<DepositRequest> requests) {
+        int n = requests.size();
+        String[] errors = new String[n];
+
+        // 1. Проверка полей каждой записи
+        for (int i = 0; i < n; i++) {
+            errors[i] = validate(requests.get(i));
+        }
+
+        // 2. Проверка ссылок на клиентов и банки — по одному запросу на набор id, а не на запись
+        Set<Long> clientIds = new LinkedHashSet<>();
+        Set<Long> bankIds = new LinkedHashSet<>();
+        for (int i = 0; i < n; i++) {
+            if (errors[i] == null) {
+                clientIds.add(requests.get(i).clientId());
+                bankIds.add(requests.get(i).bankId());
+            }
+        }
+        Set<Long> existingClients = findExistingClientIds(clientIds);
+        Set<Long> existingBanks = bankDirectory.findAllById(bankIds).keySet();
+
+        int valid = 0;
+        for (int i = 0; i < n; i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            DepositRequest request = requests.get(i);
+            if (!existingClients.contains(request.clientId())) {
+                errors[i] = "Клиент не найден с ID: " + request.clientId();
+            } else if (!existingBanks.contains(request.bankId())) {
+                errors[i] = "Банк не найден с ID: " + request.bankId();
+            } else {
+                valid++;
+            }
+        }
+
+        // 3. Вставка прошедших проверку записей пакетами
+        List<Long> ids = valid == 0 ? List.of() : depositBulkRepository.allocateIds(valid);
+        List<DepositBulkRepository.Row> rows = new ArrayList<>(valid);
+        List<BulkItemResult> items = new ArrayList<>(n);
+        LocalDate openingDate = LocalDate.now(); // как и при создании одного депозита
+        int next = 0;
+        for (int i = 0; i < n; i++) {
+            if (errors[i] != null) {
+                items.add(BulkItemResult.failed(i, errors[i]));
+                continue;
+            }
+            DepositRequest request = requests.get(i);
+            Long id = ids.get(next++);
+            rows.add(new DepositBulkRepository.Row(id, request.clientId(), request.bankId(),
+                    openingDate, request.percentage(), request.termMonths()));
+            items.add(BulkItemResult.created(i, id));
+        }
+        if (!rows.isEmpty()) {
+            depositBulkRepository.insertAll(rows);
+            // итоги по всей пачке — одним запросом
+            depositSummaryRepository.addAll(rows.stream()
+                    .map(row -> new DepositSummaryRepository.Entry(row.bankId(), row.termMonths(), row.percentage()))
+                    .toList());
+            // книга в памяти получит пачку после коммита
+            eventPublisher.publishEvent(new DepositChangedEvent(rows.stream()
+                    .map(DepositBulkRepository.Row::id)
+                    .toList()));
+        }
+
+        return new BulkResult(valid, n - valid, items);
+    }
+
+    private String validate(DepositRequest request) {
+        if (request == null) {
+            return "Пустая запись";
+        }
+        Set<ConstraintViolation<DepositRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        // тот же формат, что и у ошибки валидации одиночного запроса
+        return violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private Set<Long> findExistingClientIds(Set<Long> ids) {
+        Set<Long> existing = new HashSet<>(ids.size() * 2);
+        List<Long> chunk = new ArrayList<>(LOOKUP_CHUNK_SIZE);
+        for (Long id : ids) {
+            chunk.add(id);
+            if (chunk.size() == LOOKUP_CHUNK_SIZE) {
+                existing.addAll(clientRepository.findExistingIds(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            existing.addAll(clientRepository.findExistingIds(chunk));
+        }
+        return existing;
+    }
+}
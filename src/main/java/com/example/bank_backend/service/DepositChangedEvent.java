@@ -0,0 +1,12 @@
+package com.example.bank_backend.service;
+
+import java.util.List;
+
+// Изменения депозитов одной транзакции для книги в памяти (DepositBook): id добавленных, изменённых
+// и удалённых депозитов. Строк событие не несёт: после коммита книга перечитывает их из БД
+public record DepositChangedEvent(List<Long> ids) {
+
+    static DepositChangedEvent of(long id) {
+        return new DepositChangedEvent(List.of(id));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.DepositLoadReport;
+import com.example.bank_backend.repository.DepositCopyRepository;
+import com.example.bank_backend.repository.DepositSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Перенос исторических депозитов из CSV (clientName,bik,openingDate,percentage,termMonths) в deposits.
+// Файл целиком уходит COPY во временную таблицу, затем одним INSERT ... SELECT с разрешением
+// клиента по имени и банка по БИК. Строки без клиента, банка или с недопустимыми значениями
+// не загружаются и попадают в отчёт.
+// Загрузка идёт одной транзакцией; чтение и запись deposits другими транзакциями она не блокирует.
+// Повторный запуск на том же файле загрузит депозиты ещё раз.
+@Service
+public class DepositCopyService {
+
+    static final int MAX_MESSAGES = 100;
+
+    private final DepositCopyRepository depositCopyRepository;
+    private final DepositSummaryRepository depositSummaryRepository;
+
+    @Autowired
+    public DepositCopyService(DepositCopyRepository depositCopyRepository,
+                              DepositSummaryRepository depositSummaryRepository) {
+        this.depositCopyRepository = depositCopyRepository;
+        this.depositSummaryRepository = depositSummaryRepository;
+    }
+
+    @Transactional
+    public DepositLoadReport load(Path file) {
+        try (Reader csv = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать файл депозитов: " + file, e);
+        }
+    }
+
+    @Transactional
+    public DepositLoadReport load(Reader csv) {
+        depositCopyRepository.createStaging();
+        long read = depositCopyRepository.copyToStaging(csv);
+        if (read == 0) {
+            return new DepositLoadReport(0, 0, 0, List.of());
+        }
+
+        long inserted = depositCopyRepository.insertResolved(read);
+        // после вставки большого объёма итоги дешевле пересчитать одним проходом
+        depositSummaryRepository.rebuild();
+
+        List<String> messages = new ArrayList<>();
+        if (inserted < read) {
+            depositCopyRepository.findRejected(MAX_MESSAGES).forEach(row -> messages.add(describe(row)));
+        }
+        depositCopyRepository.analyze();
+        return new DepositLoadReport(read, inserted, read - inserted, messages);
+    }
+
+    // Номер строки файла: записи нумеруются с 1, первая строка файла — заголовок
+    private static String describe(DepositCopyRepository.RejectedRow row) {
+        String prefix = "Строка " + (row.line() + 1) + ": ";
+        if (!row.clientFound()) {
+            return prefix + "клиент '" + row.clientName() + "' не найден";
+        }
+        if (!row.bankFound()) {
+            return prefix + "банк с БИК " + row.bik() + " не найден";
+        }
+        return prefix + "недопустимые дата открытия, ставка или срок";
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.dto.ExportFormat;
+import com.example.bank_backend.repository.DepositRepository;
+import com.example.bank_backend.repository.DepositSpecifications;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Выгрузка депозитов (GET /api/deposits/export) с постоянным расходом памяти:
+// строки читаются курсором по EXPORT_FETCH_SIZE и сразу пишутся в ответ.
+// Читаются DTO-проекции, а не сущности, поэтому persistence context не растёт и очищать его не нужно.
+@Service
+public class DepositExportService {
+
+    static final int EXPORT_FETCH_SIZE = 1000;
+
+    static final String CSV_HEADER = "id,clientId,clientName,bankId,bankName,bankBik,openingDate,percentage,termMonths,maturityDate";
+
+    private final DepositRepository depositRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public DepositExportService(DepositRepository depositRepository, ObjectMapper objectMapper) {
+        this.depositRepository = depositRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Транзакция нужна курсору PostgreSQL (без неё драйвер вычитает весь результат в память)
+    @Transactional(readOnly = true)
+    public long exportDeposits(
+            Long clientId, Long bankId,
+            LocalDate openingDateFrom, LocalDate openingDateTo,
+            Double minPercentage, Double maxPercentage,
+            Integer minTerm, Integer maxTerm,
+            ExportFormat format, OutputStream out) throws IOException {
+
+        try (Stream<DepositView> rows = depositRepository.streamViews(
+                DepositSpecifications.filter(clientId, bankId, openingDateFrom, openingDateTo,
+                        minPercentage, maxPercentage, minTerm, maxTerm),
+                EXPORT_FETCH_SIZE)) {
+            return switch (format) {
+                case NDJSON -> writeNdjson(rows.iterator(), out);
+                case CSV -> writeCsv(rows.iterator(), out);
+            };
+        }
+    }
+
+    private long writeNdjson(Iterator<DepositView> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // поток ответа закрывает контейнер
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                objectMapper.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<DepositView> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            DepositView d = rows.next();
+            writer.write(String.valueOf(d.id()));
+            writer.write(',');
+            writer.write(String.valueOf(d.client().id()));
+            writer.write(',');
+            writer.write(csv(d.client().name()));
+            writer.write(',');
+            writer.write(String.valueOf(d.bank().id()));
+            writer.write(',');
+            writer.write(csv(d.bank().name()));
+            writer.write(',');
+            writer.write(d.bank().bik());
+            writer.write(',');
+            writer.write(d.openingDate().toString());
+            writer.write(',');
+            writer.write(String.valueOf(d.percentage()));
+            writer.write(',');
+            writer.write(String.valueOf(d.termMonths()));
+            writer.write(',');
+            writer.write(d.maturityDate().toString());
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // RFC 4180: поле в кавычках, если в нём есть разделитель, кавычка или перевод строки
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.exception.InvalidPageRequestException;
+import com.example.bank_backend.exception.NoDepositsFoundException;
+import com.example.bank_backend.repository.DepositReactiveRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+// Реактивное чтение депозитов (/api/reactive/deposits): те же фильтры, сортировка и ошибки, что у DepositService,
+// но результат — поток строк без постраничной разбивки; сколько строк читать, определяет подписчик
+@Service
+public class DepositReactiveService {
+
+    private final DepositReactiveRepository depositReactiveRepository;
+
+    @Autowired
+    public DepositReactiveService(DepositReactiveRepository depositReactiveRepository) {
+        this.depositReactiveRepository = depositReactiveRepository;
+    }
+
+    // Ошибки параметров — сразу, до подписки: контроллер отвечает 400, не начиная поток
+    public Flux<DepositView> findDeposits(
+            Long clientId, Long bankId,
+            LocalDate openingDateFrom, LocalDate openingDateTo,
+            Double minPercentage, Double maxPercentage,
+            Integer minTerm, Integer maxTerm,
+            String sortBy, String direction, Integer limit) {
+
+        KeysetPaging.checkSortField(sortBy, DepositService.SORT_FIELDS);
+        if (limit != null && limit < 1) {
+            throw new InvalidPageRequestException("Число строк должно быть больше 0");
+        }
+        return depositReactiveRepository.findViews(clientId, bankId, openingDateFrom, openingDateTo,
+                        minPercentage, maxPercentage, minTerm, maxTerm,
+                        sortBy, KeysetPaging.direction(direction), limit)
+                .switchIfEmpty(Flux.error(() -> new NoDepositsFoundException("Депозиты с указанными критериями не найдены")));
+    }
+
+    public Mono<DepositView> findDepositById(long id) {
+        return depositReactiveRepository.findViewById(id)
+                .switchIfEmpty(Mono.error(() -> new NoDepositsFoundException("Депозита с ID: " + id + " не существует.")));
+    }
+}
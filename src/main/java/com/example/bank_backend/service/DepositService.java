@@ -1,70 +1,119 @@
 package com.example.bank_backend.service;
 
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.dto.DepositRequest;
+import com.example.bank_backend.dto.DepositView;
 import com.example.bank_backend.exception.BankNotFoundException;
 import com.example.bank_backend.exception.ClientNotFoundException;
+import com.example.bank_backend.exception.InvalidPageRequestException;
 import com.example.bank_backend.exception.NoDepositsFoundException;
 import com.example.bank_backend.model.Bank;
 import com.example.bank_backend.model.Client;
 import com.example.bank_backend.model.Deposit;
-import com.example.bank_backend.repository.BankRepository;
-import com.example.bank_backend.repository.ClientRepository;
 import com.example.bank_backend.repository.DepositRepository;
+import com.example.bank_backend.repository.DepositSpecifications;
+import com.example.bank_backend.repository.DepositSummaryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class DepositService {
 
+    private static final String MATURITY_DATE = "maturityDate";
+
+    // Поля, по которым доступна сортировка (и keyset-пагинация) списка депозитов
+    static final Set<String> SORT_FIELDS = Set.of("id", "openingDate", "percentage", "termMonths", "maturityDate");
+
     private final DepositRepository depositRepository;
-    private final ClientRepository clientRepository;
-    private final BankRepository bankRepository;
+    private final ClientCache clientCache;
+    private final BankDirectory bankDirectory;
+    private final DepositSummaryRepository depositSummaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public DepositService(DepositRepository depositRepository, ClientRepository clientRepository, BankRepository bankRepository) {
+    public DepositService(DepositRepository depositRepository, ClientCache clientCache, BankDirectory bankDirectory,
+                          DepositSummaryRepository depositSummaryRepository, ApplicationEventPublisher eventPublisher) {
         this.depositRepository = depositRepository;
-        this.clientRepository = clientRepository;
-        this.bankRepository = bankRepository;
+        this.clientCache = clientCache;
+        this.bankDirectory = bankDirectory;
+        this.depositSummaryRepository = depositSummaryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<Deposit> findAllDeposits(
+    public CursorPage<DepositView> findAllDeposits(
             Long clientId, Long bankId,
             LocalDate openingDateFrom, LocalDate openingDateTo,
             Double minPercentage, Double maxPercentage,
             Integer minTerm, Integer maxTerm,
-            String sortBy, String direction) {
-
-        Sort sort = direction.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
-
-        List<Deposit> deposits = depositRepository.findAll(sort).stream()
-                .filter(d -> (clientId == null || d.getClient().getId().equals(clientId)))
-                .filter(d -> (bankId == null || d.getBank().getId().equals(bankId)))
-                .filter(d -> (openingDateFrom == null || !d.getOpeningDate().isBefore(openingDateFrom)))
-                .filter(d -> (openingDateTo == null || !d.getOpeningDate().isAfter(openingDateTo)))
-                .filter(d -> (minPercentage == null || d.getPercentage() >= minPercentage))
-                .filter(d -> (maxPercentage == null || d.getPercentage() <= maxPercentage))
-                .filter(d -> (minTerm == null || d.getTermMonths() >= minTerm))
-                .filter(d -> (maxTerm == null || d.getTermMonths() <= maxTerm))
-                .toList();
+            String sortBy, String direction,
+            String cursor, Integer size) {
+
+        KeysetPaging.checkSortField(sortBy, SORT_FIELDS);
+        Sort.Direction dir = KeysetPaging.direction(direction);
+        int pageSize = KeysetPaging.pageSize(size);
+
+        Specification<Deposit> spec = KeysetPaging.after(
+                DepositSpecifications.filter(clientId, bankId, openingDateFrom, openingDateTo,
+                        minPercentage, maxPercentage, minTerm, maxTerm),
+                cursor, sortBy, dir);
+
+        List<DepositView> deposits = depositRepository.findViews(spec, KeysetPaging.sort(sortBy, dir), pageSize + 1);
 
         if (deposits.isEmpty()) {
             throw new NoDepositsFoundException("Депозиты с указанными критериями не найдены");
         }
 
-        return deposits;
+        return KeysetPaging.page(deposits, pageSize, sortBy, dir, d -> sortValue(d, sortBy), DepositView::id);
+    }
+
+    // Депозиты с погашением в [from, to] по возрастанию (или убыванию) даты погашения;
+    // диапазон и страницы идут по индексу (maturity_date, id), сколько бы строк ни было в книге
+    public CursorPage<DepositView> findMaturingDeposits(
+            LocalDate from, LocalDate to,
+            Long clientId, Long bankId,
+            String direction, String cursor, Integer size) {
+
+        if (to.isBefore(from)) {
+            throw new InvalidPageRequestException("Конец периода погашения раньше начала");
+        }
+        Sort.Direction dir = KeysetPaging.direction(direction);
+        int pageSize = KeysetPaging.pageSize(size);
+
+        Specification<Deposit> spec = KeysetPaging.after(
+                Specification.where(DepositSpecifications.maturesFrom(from))
+                        .and(DepositSpecifications.maturesTo(to))
+                        .and(DepositSpecifications.hasClientId(clientId))
+                        .and(DepositSpecifications.hasBankId(bankId)),
+                cursor, MATURITY_DATE, dir);
+
+        List<DepositView> deposits = depositRepository.findViews(spec, KeysetPaging.sort(MATURITY_DATE, dir), pageSize + 1);
+
+        if (deposits.isEmpty()) {
+            throw new NoDepositsFoundException("Депозиты с погашением в указанном периоде не найдены");
+        }
+
+        return KeysetPaging.page(deposits, pageSize, MATURITY_DATE, dir, DepositView::maturityDate, DepositView::id);
     }
 
     public Deposit findDepositById(long id) {
         return depositRepository.findById(id)
-                .orElseThrow(() -> new ClientNotFoundException("Депозита с ID: " + id + " не существует."));
+                .orElseThrow(() -> new NoDepositsFoundException("Депозита с ID: " + id + " не существует."));
     }
 
+    // Изменения депозитов и итоги deposit_summary меняются в одной транзакции;
+    // книга в памяти (DepositBook) получает изменения событием после коммита.
+    // Изменяемый или удаляемый депозит читается с блокировкой строки: параллельные PUT и DELETE
+    // одного депозита выполняются по очереди, и каждый вычитает из итогов то, что действительно было в строке
+
+    @Transactional
     public Deposit createDeposit(DepositRequest depositRequest) {
         Client client = findClientById(depositRequest.clientId());
         Bank bank = findBankById(depositRequest.bankId());
@@ -77,15 +126,21 @@ public class DepositService {
         deposit.setPercentage(depositRequest.percentage());
         deposit.setTermMonths(depositRequest.termMonths());
 
-        return depositRepository.save(deposit);
+        Deposit saved = depositRepository.save(deposit);
+        depositSummaryRepository.add(bank.getId(), saved.getTermMonths(), saved.getPercentage());
+        eventPublisher.publishEvent(DepositChangedEvent.of(saved.getId()));
+        return saved;
     }
 
+    @Transactional
     public Deposit updateDeposit(Long id, DepositRequest depositRequest) {
 
         Client client = findClientById(depositRequest.clientId());
         Bank bank = findBankById(depositRequest.bankId());
 
-        Deposit deposit = findDepositById(id);
+        Deposit deposit = lockDepositById(id);
+        DepositSummaryRepository.Entry old = new DepositSummaryRepository.Entry(
+                deposit.getBank().getId(), deposit.getTermMonths(), deposit.getPercentage());
 
         deposit.setClient(client);
         deposit.setBank(bank);
@@ -93,24 +148,53 @@ public class DepositService {
         deposit.setPercentage(depositRequest.percentage());
         deposit.setTermMonths(depositRequest.termMonths());
 
-        return depositRepository.save(deposit);
+        // flush до remove: пересчёт границ группы не должен видеть старую ставку
+        Deposit saved = depositRepository.save(deposit);
+        depositRepository.flush();
+        DepositSummaryRepository.Entry updated = new DepositSummaryRepository.Entry(
+                bank.getId(), saved.getTermMonths(), saved.getPercentage());
+        if (!old.equals(updated)) {
+            depositSummaryRepository.move(old, updated);
+        }
+        eventPublisher.publishEvent(DepositChangedEvent.of(saved.getId()));
+        return saved;
     }
 
+    @Transactional
     public void deleteDeposit(Long id) {
-        Deposit deposit = findDepositById(id);
+        Deposit deposit = lockDepositById(id);
         depositRepository.delete(deposit);
+        depositRepository.flush();
+        depositSummaryRepository.remove(deposit.getBank().getId(), deposit.getTermMonths(), deposit.getPercentage());
+        eventPublisher.publishEvent(DepositChangedEvent.of(deposit.getId()));
     }
 
 
+    private static Object sortValue(DepositView deposit, String sortBy) {
+        return switch (sortBy) {
+            case "openingDate" -> deposit.openingDate();
+            case "percentage" -> deposit.percentage();
+            case "termMonths" -> deposit.termMonths();
+            case MATURITY_DATE -> deposit.maturityDate();
+            default -> deposit.id();
+        };
+    }
+
+    private Deposit lockDepositById(long id) {
+        return depositRepository.findForUpdateById(id)
+                .orElseThrow(() -> new NoDepositsFoundException("Депозита с ID: " + id + " не существует."));
+    }
+
     // методы получения ID банка и клиента
 
     private Client findClientById(Long clientId) {
-        return clientRepository.findById(clientId)
+        return clientCache.findById(clientId)
                 .orElseThrow(() -> new ClientNotFoundException("Клиент не найден с ID: " + clientId));
     }
 
+    // Банк берётся из справочника в памяти, без запроса к БД
     private Bank findBankById(Long bankId) {
-        return bankRepository.findById(bankId)
+        return bankDirectory.findById(bankId)
                 .orElseThrow(() -> new BankNotFoundException("Банк не найден с ID: " + bankId));
     }
 }
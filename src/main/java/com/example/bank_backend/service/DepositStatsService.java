@@ -0,0 +1,85 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.BankDepositStats;
+import com.example.bank_backend.dto.ClientDepositStats;
+import com.example.bank_backend.dto.SummaryRebuildReport;
+import com.example.bank_backend.dto.TermDepositStats;
+import com.example.bank_backend.exception.NoDepositsFoundException;
+import com.example.bank_backend.repository.DepositRepository;
+import com.example.bank_backend.repository.DepositSpecifications;
+import com.example.bank_backend.repository.DepositSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Сводные показатели по депозитам для дашбордов. Фильтры — как у списка депозитов;
+// считает БД одним GROUP BY, клиенту уходят только итоговые строки.
+// Итоги по банкам без фильтров (или только по bankId) берутся из поддерживаемой таблицы deposit_summary
+@Service
+public class DepositStatsService {
+
+    private final DepositRepository depositRepository;
+    private final DepositSummaryRepository depositSummaryRepository;
+
+    @Autowired
+    public DepositStatsService(DepositRepository depositRepository, DepositSummaryRepository depositSummaryRepository) {
+        this.depositRepository = depositRepository;
+        this.depositSummaryRepository = depositSummaryRepository;
+    }
+
+    public List<BankDepositStats> findBankStats(
+            Long clientId, Long bankId,
+            LocalDate openingDateFrom, LocalDate openingDateTo,
+            Double minPercentage, Double maxPercentage,
+            Integer minTerm, Integer maxTerm) {
+
+        if (clientId == null && openingDateFrom == null && openingDateTo == null
+                && minPercentage == null && maxPercentage == null && minTerm == null && maxTerm == null) {
+            // O(число банков), независимо от размера книги
+            return nonEmpty(depositSummaryRepository.findBankStats(bankId));
+        }
+        return nonEmpty(depositRepository.findBankStats(DepositSpecifications.filter(clientId, bankId,
+                openingDateFrom, openingDateTo, minPercentage, maxPercentage, minTerm, maxTerm)));
+    }
+
+    // Клиентов может быть миллионы, поэтому отдаются только первые size по числу депозитов
+    public List<ClientDepositStats> findTopClientStats(
+            Long clientId, Long bankId,
+            LocalDate openingDateFrom, LocalDate openingDateTo,
+            Double minPercentage, Double maxPercentage,
+            Integer minTerm, Integer maxTerm,
+            Integer size) {
+
+        int limit = KeysetPaging.pageSize(size);
+        return nonEmpty(depositRepository.findTopClientStats(DepositSpecifications.filter(clientId, bankId,
+                openingDateFrom, openingDateTo, minPercentage, maxPercentage, minTerm, maxTerm), limit));
+    }
+
+    public List<TermDepositStats> findTermStats(
+            Long clientId, Long bankId,
+            LocalDate openingDateFrom, LocalDate openingDateTo,
+            Double minPercentage, Double maxPercentage,
+            Integer minTerm, Integer maxTerm) {
+
+        return nonEmpty(depositRepository.findTermStats(DepositSpecifications.filter(clientId, bankId,
+                openingDateFrom, openingDateTo, minPercentage, maxPercentage, minTerm, maxTerm)));
+    }
+
+    // Пересчёт deposit_summary с нуля по таблице deposits — для починки расхождений
+    @Transactional
+    public SummaryRebuildReport rebuildSummary() {
+        long started = System.nanoTime();
+        int rows = depositSummaryRepository.rebuild();
+        return new SummaryRebuildReport(rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static <T> List<T> nonEmpty(List<T> stats) {
+        if (stats.isEmpty()) {
+            throw new NoDepositsFoundException("Депозиты с указанными критериями не найдены");
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.AccrualConvention;
+import com.example.bank_backend.dto.AccrualSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+// Начисление процентов по всей книге депозитов на дату: параллельный проход по колонкам DepositBook
+// (DepositBook.Snapshot.scan).
+// Даты считаются целочисленной арифметикой по дням эпохи, без LocalDate на каждый депозит;
+// число полных месяцев — как у ChronoUnit.MONTHS.between (по дню месяца).
+@Service
+public class InterestAccrualService {
+
+    private final DepositBook depositBook;
+
+    @Autowired
+    public InterestAccrualService(DepositBook depositBook) {
+        this.depositBook = depositBook;
+    }
+
+    public AccrualSummary accrue(LocalDate asOf, AccrualConvention convention) {
+        DepositBook.Snapshot book = depositBook.snapshot();
+        long started = System.nanoTime();
+
+        int asOfDay = (int) asOf.toEpochDay();
+        int asOfMonth = asOf.getYear() * 12 + asOf.getMonthValue() - 1;
+        int asOfDom = asOf.getDayOfMonth();
+        Totals totals = book.scan(Totals::new, (columns, from, to, acc) -> {
+            if (convention == AccrualConvention.SIMPLE) {
+                simple(columns, from, to, asOfDay, acc);
+            } else {
+                monthly(columns, from, to, asOfDay, asOfMonth, asOfDom, acc);
+            }
+        }, Totals::plus);
+
+        return new AccrualSummary(asOf, convention, totals.deposits, totals.matured,
+                totals.accrued, totals.maturityValue,
+                totals.deposits == 0 ? 0 : totals.effectiveYield / totals.deposits * 100,
+                book.loadedAt(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Простые проценты ACT/365 от открытия до min(asOf, дата погашения)
+    private static void simple(DepositBook.Columns book, int from, int to, int asOfDay, Totals totals) {
+        int[] openingDay = book.openingDay();
+        int[] maturityDay = book.maturityDay();
+        double[] percentage = book.percentage();
+        for (int i = from; i < to; i++) {
+            int opened = openingDay[i];
+            if (opened > asOfDay) {
+                continue;
+            }
+            int matures = maturityDay[i];
+            double rate = percentage[i] / 100;
+            int termDays = matures - opened;
+            double maturityValue = 1 + rate * termDays / 365;
+            totals.deposits++;
+            if (asOfDay >= matures) {
+                totals.matured++;
+            }
+            totals.accrued += rate * (Math.min(asOfDay, matures) - opened) / 365;
+            totals.maturityValue += maturityValue;
+            totals.effectiveYield += Math.pow(maturityValue, 365.0 / termDays) - 1;
+        }
+    }
+
+    // Капитализация в каждую месячную годовщину открытия, между годовщинами — простые проценты ACT/365
+    private static void monthly(DepositBook.Columns book, int from, int to,
+                                int asOfDay, int asOfMonth, int asOfDom, Totals totals) {
+        int[] openingDay = book.openingDay();
+        int[] openingMonth = book.openingMonth();
+        byte[] openingDom = book.openingDom();
+        int[] maturityDay = book.maturityDay();
+        short[] termMonths = book.termMonths();
+        double[] percentage = book.percentage();
+        for (int i = from; i < to; i++) {
+            if (openingDay[i] > asOfDay) {
+                continue;
+            }
+            double rate = percentage[i] / 100;
+            double monthlyFactor = 1 + rate / 12;
+            double maturityValue = power(monthlyFactor, termMonths[i]);
+            totals.deposits++;
+            if (asOfDay >= maturityDay[i]) {
+                totals.matured++;
+                totals.accrued += maturityValue - 1;
+            } else {
+                int dom = openingDom[i];
+                int months = asOfMonth - openingMonth[i] - (asOfDom < dom ? 1 : 0);
+                int anniversary = anniversaryDay(openingMonth[i] + months, dom);
+                totals.accrued += power(monthlyFactor, months) * (1 + rate * (asOfDay - anniversary) / 365) - 1;
+            }
+            totals.maturityValue += maturityValue;
+            totals.effectiveYield += power(monthlyFactor, 12) - 1;
+        }
+    }
+
+    // Целая степень возведением в квадрат: для сроков до 600 месяцев — не больше 10 умножений,
+    // заметно дешевле Math.pow на десятках миллионов депозитов
+    static double power(double base, int exponent) {
+        double result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result *= base;
+            }
+            base *= base;
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    // День эпохи для месяца month (год * 12 + месяц - 1) и дня dom, урезанного до длины месяца, как у plusMonths
+    static int anniversaryDay(int month, int dom) {
+        int year = Math.floorDiv(month, 12);
+        int monthOfYear = Math.floorMod(month, 12) + 1;
+        return epochDay(year, monthOfYear, Math.min(dom, lengthOfMonth(year, monthOfYear)));
+    }
+
+    // Число дней от 1970-01-01 по пролептическому григорианскому календарю (алгоритм days_from_civil)
+    static int epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // Частичные суммы одного куска: копятся по его отрезкам и складываются при свёртке
+    private static final class Totals {
+        long deposits;
+        long matured;
+        double accrued;
+        double maturityValue;
+        double effectiveYield;
+
+        Totals plus(Totals other) {
+            Totals sum = new Totals();
+            sum.deposits = deposits + other.deposits;
+            sum.matured = matured + other.matured;
+            sum.accrued = accrued + other.accrued;
+            sum.maturityValue = maturityValue + other.maturityValue;
+            sum.effectiveYield = effectiveYield + other.effectiveYield;
+            return sum;
+        }
+    }
+}
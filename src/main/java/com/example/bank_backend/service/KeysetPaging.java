@@ -0,0 +1,72 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.CursorPage;
+import com.example.bank_backend.dto.PageCursor;
+import com.example.bank_backend.exception.InvalidPageRequestException;
+import com.example.bank_backend.repository.KeysetSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+// Общие правила keyset-пагинации для списков банков, клиентов и депозитов
+final class KeysetPaging {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    private KeysetPaging() {
+    }
+
+    static Sort.Direction direction(String direction) {
+        return direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    // Размер страницы ограничивается на сервере, независимо от запроса
+    static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new InvalidPageRequestException("Размер страницы должен быть больше 0");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // Поля сортировки ограничены NOT NULL-колонками: NULL ломает сравнение с курсором
+    static void checkSortField(String sortBy, Set<String> allowed) {
+        if (!allowed.contains(sortBy)) {
+            throw new InvalidPageRequestException("Сортировка по полю '" + sortBy + "' не поддерживается. Допустимые значения: " + allowed);
+        }
+    }
+
+    static Sort sort(String sortBy, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, sortBy);
+        return "id".equals(sortBy) ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    static <T> Specification<T> after(Specification<T> spec, String cursor, String sortBy, Sort.Direction direction) {
+        if (cursor == null) {
+            return spec;
+        }
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        if (!pageCursor.sortBy().equals(sortBy) || pageCursor.direction() != direction) {
+            throw new InvalidPageRequestException("Курсор получен для другой сортировки");
+        }
+        return spec.and(KeysetSpecifications.after(pageCursor));
+    }
+
+    // rows выбраны с limit = size + 1: лишняя строка означает, что есть следующая страница
+    static <T> CursorPage<T> page(List<T> rows, int size, String sortBy, Sort.Direction direction,
+                                  Function<T, Object> sortValue, Function<T, Long> id) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = List.copyOf(rows.subList(0, size));
+        T last = content.get(size - 1);
+        String next = new PageCursor(sortBy, direction, String.valueOf(sortValue.apply(last)), id.apply(last)).encode();
+        return new CursorPage<>(content, next);
+    }
+}
@@ -0,0 +1,30 @@
+-- Исходная схема, ранее создававшаяся Hibernate (ddl-auto)
+
+CREATE TABLE banks (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    bik  VARCHAR(9)   NOT NULL,
+    CONSTRAINT uk_banks_name UNIQUE (name),
+    CONSTRAINT uk_banks_bik UNIQUE (bik)
+);
+
+CREATE TABLE clients (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    short_name VARCHAR(100),
+    address    TEXT,
+    legal_form VARCHAR(10)  NOT NULL,
+    CONSTRAINT uk_clients_name UNIQUE (name),
+    CONSTRAINT ck_clients_legal_form CHECK (legal_form IN ('OOO', 'AO', 'PT', 'KT', 'PK', 'IP', 'PAO', 'GUP', 'MUP'))
+);
+
+CREATE TABLE deposits (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    client_id    BIGINT           NOT NULL,
+    bank_id      BIGINT           NOT NULL,
+    opening_date DATE             NOT NULL,
+    percentage   DOUBLE PRECISION NOT NULL,
+    term_months  INTEGER          NOT NULL,
+    CONSTRAINT fk_deposits_client FOREIGN KEY (client_id) REFERENCES clients (id),
+    CONSTRAINT fk_deposits_bank FOREIGN KEY (bank_id) REFERENCES banks (id)
+);
@@ -0,0 +1,23 @@
+-- Postgres не создаёт индексы на внешние ключи сам.
+-- Все индексы оканчиваются на id: это тай-брейкер keyset-пагинации (sortBy, id).
+
+-- existsByClientId / existsByBankId при удалении клиента и банка, фильтры clientId / bankId.
+-- INCLUDE покрывает остальные колонки депозита для index-only scan по одному клиенту или банку.
+CREATE INDEX idx_deposits_client_id ON deposits (client_id, id)
+    INCLUDE (bank_id, opening_date, percentage, term_months);
+CREATE INDEX idx_deposits_bank_id ON deposits (bank_id, id)
+    INCLUDE (client_id, opening_date, percentage, term_months);
+
+-- Сортировки и диапазонные фильтры по всей книге депозитов
+CREATE INDEX idx_deposits_opening_date ON deposits (opening_date, id);
+CREATE INDEX idx_deposits_percentage ON deposits (percentage, id);
+CREATE INDEX idx_deposits_term_months ON deposits (term_months, id);
+
+-- Фильтр по клиенту или банку вместе с диапазоном/сортировкой по дате, ставке или сроку
+CREATE INDEX idx_deposits_client_opening_date ON deposits (client_id, opening_date, id);
+CREATE INDEX idx_deposits_bank_opening_date ON deposits (bank_id, opening_date, id);
+CREATE INDEX idx_deposits_bank_percentage ON deposits (bank_id, percentage, id);
+CREATE INDEX idx_deposits_bank_term_months ON deposits (bank_id, term_months, id);
+
+-- Сортировка клиентов по правовой форме (name и банки покрыты уникальными индексами)
+CREATE INDEX idx_clients_legal_form ON clients (legal_form, id);
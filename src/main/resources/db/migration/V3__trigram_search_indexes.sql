@@ -0,0 +1,9 @@
+-- Поиск подстроки без учёта регистра (ILIKE '%...%') по клиентам и банкам.
+-- B-tree такие условия не обслуживает, GIN по триграммам — да (для шаблонов от 3 символов).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_clients_name_trgm ON clients USING gin (name gin_trgm_ops);
+CREATE INDEX idx_clients_short_name_trgm ON clients USING gin (short_name gin_trgm_ops);
+CREATE INDEX idx_clients_address_trgm ON clients USING gin (address gin_trgm_ops);
+CREATE INDEX idx_banks_name_trgm ON banks USING gin (name gin_trgm_ops);
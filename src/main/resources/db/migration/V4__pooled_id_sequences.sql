@@ -0,0 +1,20 @@
+-- Переход с IDENTITY на последовательности с шагом 50 (pooled-оптимизатор Hibernate).
+-- С IDENTITY каждая вставка сразу идёт в БД за ключом, и Hibernate не может пакетировать INSERT;
+-- с последовательностью один nextval выдаёт приложению блок из 50 id.
+-- Шаг должен совпадать с allocationSize в @SequenceGenerator сущностей.
+-- Стартовое значение — max(id) + 50: pooled трактует значение nextval как верхнюю границу блока.
+
+ALTER TABLE banks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE banks_seq INCREMENT BY 50 OWNED BY banks.id;
+SELECT setval('banks_seq', COALESCE((SELECT max(id) FROM banks), 0) + 50, false);
+ALTER TABLE banks ALTER COLUMN id SET DEFAULT nextval('banks_seq');
+
+ALTER TABLE clients ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE clients_seq INCREMENT BY 50 OWNED BY clients.id;
+SELECT setval('clients_seq', COALESCE((SELECT max(id) FROM clients), 0) + 50, false);
+ALTER TABLE clients ALTER COLUMN id SET DEFAULT nextval('clients_seq');
+
+ALTER TABLE deposits ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE deposits_seq INCREMENT BY 50 OWNED BY deposits.id;
+SELECT setval('deposits_seq', COALESCE((SELECT max(id) FROM deposits), 0) + 50, false);
+ALTER TABLE deposits ALTER COLUMN id SET DEFAULT nextval('deposits_seq');
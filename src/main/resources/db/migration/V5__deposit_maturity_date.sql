@@ -0,0 +1,12 @@
+-- Дата погашения хранится в таблице: opening_date + term_months месяцев.
+-- Генерируемая колонка считается самой БД при любой вставке и обновлении — через Hibernate,
+-- пакетный JDBC и COPY, — поэтому разойтись с opening_date/term_months она не может.
+-- Прибавление месяцев урезает день до конца месяца так же, как LocalDate.plusMonths (31.01 + 1 мес. = 28/29.02).
+-- ADD COLUMN ... STORED переписывает таблицу под эксклюзивной блокировкой: на большой книге — в окно обслуживания.
+
+ALTER TABLE deposits ADD COLUMN maturity_date DATE
+    GENERATED ALWAYS AS ((opening_date + term_months * INTERVAL '1 month')::date) STORED;
+
+-- Диапазон и keyset-пагинация по (maturity_date, id), в том числе внутри одного банка
+CREATE INDEX idx_deposits_maturity_date ON deposits (maturity_date, id);
+CREATE INDEX idx_deposits_bank_maturity_date ON deposits (bank_id, maturity_date, id);
@@ -0,0 +1,28 @@
+-- Итоги по депозитам в разрезе банка и группы сроков, поддерживаются приложением при каждом изменении
+-- депозита (DepositSummaryRepository). Итоги по банку — сумма его строк, поэтому чтение сводки
+-- стоит O(число банков) независимо от размера книги.
+-- term_bucket: 0 — 1-3 мес., 1 — 4-6, 2 — 7-12, 3 — 13-24, 4 — больше 24.
+-- Суммы в NUMERIC: прибавление и вычитание одной и той же ставки не накапливает ошибку округления.
+CREATE TABLE deposit_summary (
+    bank_id             BIGINT           NOT NULL,
+    term_bucket         SMALLINT         NOT NULL,
+    deposits            BIGINT           NOT NULL,
+    percentage_sum      NUMERIC          NOT NULL,
+    percentage_term_sum NUMERIC          NOT NULL,
+    term_sum            BIGINT           NOT NULL,
+    min_percentage      DOUBLE PRECISION NOT NULL,
+    max_percentage      DOUBLE PRECISION NOT NULL,
+    CONSTRAINT pk_deposit_summary PRIMARY KEY (bank_id, term_bucket),
+    CONSTRAINT fk_deposit_summary_bank FOREIGN KEY (bank_id) REFERENCES banks (id) ON DELETE CASCADE
+);
+
+-- Начальное заполнение по уже существующим депозитам
+INSERT INTO deposit_summary (bank_id, term_bucket, deposits, percentage_sum, percentage_term_sum, term_sum,
+                             min_percentage, max_percentage)
+SELECT bank_id,
+       CASE WHEN term_months <= 3 THEN 0 WHEN term_months <= 6 THEN 1 WHEN term_months <= 12 THEN 2
+            WHEN term_months <= 24 THEN 3 ELSE 4 END AS term_bucket,
+       count(*), sum(percentage::numeric), sum(percentage::numeric * term_months), sum(term_months),
+       min(percentage), max(percentage)
+FROM deposits
+GROUP BY 1, 2;
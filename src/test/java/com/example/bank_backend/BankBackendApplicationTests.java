@@ -1,13 +1,30 @@
 package com.example.bank_backend;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 class BankBackendApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
 	}
 
+	// JPA работает через DataSource, реактивное чтение — через DatabaseClient: в приложении нужны оба
+	@Test
+	void context_ShouldHaveJdbcAndR2dbcClients() {
+		assertThat(context.getBeansOfType(DataSource.class)).hasSize(1);
+		assertThat(context.getBeansOfType(DatabaseClient.class)).hasSize(1);
+	}
+
 }
@@ -0,0 +1,185 @@
+package com.example.bank_backend;
+
+import com.example.bank_backend.service.DatasetGenerator;
+import com.example.bank_backend.service.DatasetLoadService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// Пропускная способность и задержки API на платформенных потоках и на виртуальных (профиль virtual).
+// Приложение поднимается дважды на одной и той же засеянной БД и получает одинаковую нагрузку:
+// CONCURRENCY клиентов, каждый шлёт следующий запрос сразу после ответа на предыдущий (закрытая модель),
+// отдельно на список депозитов и на создание депозита.
+// Режимы: платформенные потоки с пулом соединений по умолчанию (PLATFORM_POOL), платформенные и виртуальные
+// с одним и тем же пулом VIRTUAL_POOL (как в application-virtual.properties) — разница между двумя последними
+// только в потоках, а не в числе соединений.
+// Виртуальные потоки требуют Java 21+: на более старой JVM режим virtual пропускается с сообщением в выводе.
+// Запуск: mvn test -Pbenchmark
+@Tag("benchmark")
+@Testcontainers
+class RequestThreadingBenchmarkTest {
+
+    // Больше, чем потоков Tomcat (200): при платформенных потоках лишние запросы ждут в очереди соединений
+    private static final int CONCURRENCY = 400;
+    // maximum-pool-size Hikari из application.properties и application-virtual.properties
+    private static final int PLATFORM_POOL = 10;
+    private static final int VIRTUAL_POOL = 40;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASURE = Duration.ofSeconds(20);
+    private static final DatasetGenerator.Settings DATASET =
+            DatasetGenerator.Settings.defaults().withScale(50, 5_000, 200_000);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine")
+            .withCommand("postgres", "-c", "max_connections=200");
+
+    @BeforeAll
+    static void seed() {
+        try (ConfigurableApplicationContext context = start(false, PLATFORM_POOL)) {
+            context.getBean(DatasetLoadService.class).load(new DatasetGenerator(DATASET));
+        }
+    }
+
+    @Test
+    void platformVersusVirtualThreads() {
+        measure(false, PLATFORM_POOL);
+        measure(false, VIRTUAL_POOL);
+        if (Runtime.version().feature() >= 21) {
+            measure(true, VIRTUAL_POOL);
+        } else {
+            System.out.printf("request-threading mode=virtual poolSize=%d skipped java=%d%n",
+                    VIRTUAL_POOL, Runtime.version().feature());
+        }
+    }
+
+    private void measure(boolean virtual, int poolSize) {
+        try (ConfigurableApplicationContext context = start(virtual, poolSize)) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            Function<SplittableRandom, HttpRequest> list = random -> HttpRequest.newBuilder(
+                    URI.create(base + "/api/deposits?size=50&bankId=" + (1 + random.nextInt(DATASET.banks()))))
+                    .GET().build();
+            Function<SplittableRandom, HttpRequest> create = random -> HttpRequest.newBuilder(
+                    URI.create(base + "/api/deposits"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"clientId": %d, "bankId": %d, "openingDate": "2025-01-01", "percentage": 7.5, "termMonths": 12}"""
+                            .formatted(1 + random.nextInt(DATASET.clients()), 1 + random.nextInt(DATASET.banks()))))
+                    .build();
+
+            for (Scenario scenario : List.of(new Scenario("GET /api/deposits", list),
+                    new Scenario("POST /api/deposits", create))) {
+                drive(http, scenario, WARMUP);
+                report(virtual ? "virtual" : "platform", poolSize, scenario.endpoint(), drive(http, scenario, MEASURE));
+            }
+        }
+    }
+
+    // Настройки передаются аргументами командной строки: они старше application*.properties,
+    // в том числе размера пула из профиля virtual
+    private static ConfigurableApplicationContext start(boolean virtual, int poolSize) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BankBackendApplication.class);
+        if (virtual) {
+            builder.profiles("virtual");
+        }
+        return builder.run(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.r2dbc.url=r2dbc:postgresql://" + postgres.getHost() + ":"
+                        + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+    }
+
+    private static Latencies drive(HttpClient http, Scenario scenario, Duration duration) {
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        Latencies latencies = new Latencies();
+        CompletableFuture<?>[] users = new CompletableFuture<?>[CONCURRENCY];
+        for (int user = 0; user < CONCURRENCY; user++) {
+            users[user] = loop(http, scenario, new SplittableRandom(user), deadline, latencies);
+        }
+        CompletableFuture.allOf(users).join();
+        latencies.elapsedNanos = System.nanoTime() - started;
+        return latencies;
+    }
+
+    // Запросы одного клиента друг за другом, пока не выйдет время
+    private static CompletableFuture<Void> loop(HttpClient http, Scenario scenario, SplittableRandom random,
+                                                long deadline, Latencies latencies) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return http.sendAsync(scenario.request().apply(random), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    latencies.record(System.nanoTime() - sent, error == null && response.statusCode() < 400);
+                    return null;
+                })
+                .thenCompose(ignored -> loop(http, scenario, random, deadline, latencies));
+    }
+
+    private static void report(String mode, int poolSize, String endpoint, Latencies latencies) {
+        long[] sorted = latencies.sorted();
+        System.out.printf("request-threading mode=%s poolSize=%d endpoint=\"%s\" concurrency=%d requests=%d errors=%d"
+                        + " rps=%.0f p50Ms=%.1f p99Ms=%.1f maxMs=%.1f%n",
+                mode, poolSize, endpoint, CONCURRENCY, sorted.length, latencies.errors,
+                sorted.length * 1e9 / latencies.elapsedNanos,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int i = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, i)] / 1e6;
+    }
+
+    private record Scenario(String endpoint, Function<SplittableRandom, HttpRequest> request) {
+    }
+
+    // Задержки всех запросов замера; пишут потоки HttpClient
+    private static final class Latencies {
+        private long[] nanos = new long[1 << 16];
+        private int size;
+        private long errors;
+        private long elapsedNanos;
+
+        synchronized void record(long latency, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
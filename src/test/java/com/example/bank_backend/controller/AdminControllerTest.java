@@ -0,0 +1,73 @@
+package com.example.bank_backend.controller;
+
+import com.example.bank_backend.dto.BankLoadReport;
+import com.example.bank_backend.dto.CacheStatsView;
+import com.example.bank_backend.dto.SummaryRebuildReport;
+import com.example.bank_backend.service.BikDirectoryLoader;
+import com.example.bank_backend.service.ClientCache;
+import com.example.bank_backend.service.DepositStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminController.class)
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ClientCache clientCache;
+
+    @MockBean
+    private BikDirectoryLoader bikDirectoryLoader;
+
+    @MockBean
+    private DepositStatsService depositStatsService;
+
+    @Test
+    void getClientCacheStats_ShouldReturnCounters() throws Exception {
+        when(clientCache.stats()).thenReturn(new CacheStatsView(90, 10, 0.9, 0, 3, 1200, 7, 2800));
+
+        mockMvc.perform(get("/api/admin/cache/clients"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").value(90))
+                .andExpect(jsonPath("$.missCount").value(10))
+                .andExpect(jsonPath("$.hitRate").value(0.9))
+                .andExpect(jsonPath("$.evictionCount").value(3))
+                .andExpect(jsonPath("$.weightedSize").value(2800));
+    }
+
+    @Test
+    void loadBikDirectory_ShouldReturnReport() throws Exception {
+        when(bikDirectoryLoader.load()).thenReturn(
+                new BankLoadReport(120, 3, 40000, 1, List.of("Некорректный БИК: 12345")));
+
+        mockMvc.perform(post("/api/admin/banks/bik-directory"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(120))
+                .andExpect(jsonPath("$.updated").value(3))
+                .andExpect(jsonPath("$.unchanged").value(40000))
+                .andExpect(jsonPath("$.skipped").value(1))
+                .andExpect(jsonPath("$.messages[0]").value("Некорректный БИК: 12345"));
+    }
+
+    @Test
+    void rebuildDepositSummary_ShouldReturnReport() throws Exception {
+        when(depositStatsService.rebuildSummary()).thenReturn(new SummaryRebuildReport(1500, 420));
+
+        mockMvc.perform(post("/api/admin/deposit-summary/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(1500))
+                .andExpect(jsonPath("$.computeMillis").value(420));
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.bank_backend.controller;
 
+import com.example.bank_backend.dto.BankView;
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.exception.BankAlreadyExistsException;
 import com.example.bank_backend.exception.BankNotFoundException;
 import com.example.bank_backend.exception.NoBanksFoundException;
@@ -135,14 +137,14 @@ class BankControllerTest {
         Bank bank2 = new Bank("Банк2", "555555555");
         bank2.setId(2L);
 
-        when(bankService.findAllBanks(isNull(), isNull(), anyString(), anyString()))
-                .thenReturn(List.of(bank1, bank2));
+        when(bankService.findAllBanks(isNull(), isNull(), anyString(), anyString(), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(BankView.from(bank1), BankView.from(bank2)), null));
 
         mockMvc.perform(get("/api/banks"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].name").value("Банк1"))
-                .andExpect(jsonPath("$[1].name").value("Банк2"));
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Банк1"))
+                .andExpect(jsonPath("$.content[1].name").value("Банк2"));
     }
 
     @Test
@@ -150,20 +152,20 @@ class BankControllerTest {
         Bank bank = new Bank("Сбербанк", "044525225");
         bank.setId(1L);
 
-        when(bankService.findAllBanks(eq("Сбер"), eq("044525"), anyString(), anyString()))
-                .thenReturn(List.of(bank));
+        when(bankService.findAllBanks(eq("Сбер"), eq("044525"), anyString(), anyString(), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(BankView.from(bank)), null));
 
         mockMvc.perform(get("/api/banks")
                         .param("name", "Сбер")
                         .param("bik", "044525"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].name").value("Сбербанк"));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Сбербанк"));
     }
 
     @Test
     void getAllBanks_ShouldReturnEmptyList() throws Exception {
-        when(bankService.findAllBanks(isNull(), isNull(), anyString(), anyString()))
+        when(bankService.findAllBanks(isNull(), isNull(), anyString(), anyString(), isNull(), isNull()))
                 .thenThrow(new NoBanksFoundException("Список банков пуст."));
 
         mockMvc.perform(get("/api/banks"))
@@ -260,13 +262,13 @@ class BankControllerTest {
         Bank bank1 = new Bank("Альфа", "111111111");
         Bank bank2 = new Bank("Бета", "222222222");
 
-        when(bankService.findAllBanks(isNull(), isNull(), eq("name"), eq("desc")))
-                .thenReturn(List.of(bank2, bank1));
+        when(bankService.findAllBanks(isNull(), isNull(), eq("name"), eq("desc"), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(BankView.from(bank2), BankView.from(bank1)), null));
 
         mockMvc.perform(get("/api/banks")
                         .param("sortBy", "name")
                         .param("direction", "desc"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.content.length()").value(2));
     }
 }
\ No newline at end of file
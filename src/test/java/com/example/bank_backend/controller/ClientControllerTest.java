@@ -1,10 +1,13 @@
 package com.example.bank_backend.controller;
 
+import com.example.bank_backend.dto.ClientView;
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.exception.ClientAlreadyExistsException;
 import com.example.bank_backend.exception.ClientNotFoundException;
 import com.example.bank_backend.exception.NoClientsFoundException;
 import com.example.bank_backend.model.Client;
 import com.example.bank_backend.model.LegalForm;
+import com.example.bank_backend.service.ClientImportService;
 import com.example.bank_backend.service.ClientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -15,9 +18,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -33,6 +41,9 @@ class ClientControllerTest {
     @MockBean
     private ClientService clientService;
 
+    @MockBean
+    private ClientImportService clientImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -148,19 +159,19 @@ class ClientControllerTest {
         Client client2 = new Client("Нэйм2", "Н", "Адрес 2", LegalForm.AO);
         client2.setId(2L);
 
-        when(clientService.findAllClients(isNull(), isNull(), isNull(), isNull(), anyString(), anyString()))
-                .thenReturn(List.of(client1, client2));
+        when(clientService.findAllClients(isNull(), isNull(), isNull(), isNull(), anyString(), anyString(), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(ClientView.from(client1), ClientView.from(client2)), null));
 
         mockMvc.perform(get("/api/clients"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].name").value("Нэйм"))
-                .andExpect(jsonPath("$[1].name").value("Нэйм2"));
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Нэйм"))
+                .andExpect(jsonPath("$.content[1].name").value("Нэйм2"));
     }
 
     @Test
     void getAllClients_ShouldReturnNotFoundWhenEmpty() throws Exception {
-        when(clientService.findAllClients(isNull(), isNull(), isNull(), isNull(), anyString(), anyString()))
+        when(clientService.findAllClients(isNull(), isNull(), isNull(), isNull(), anyString(), anyString(), isNull(), isNull()))
                 .thenThrow(new NoClientsFoundException("Список клиентов пуст."));
 
         mockMvc.perform(get("/api/clients"))
@@ -172,14 +183,14 @@ class ClientControllerTest {
         Client client = new Client("Иван", "Ив", "Москва", LegalForm.OOO);
         client.setId(1L);
 
-        when(clientService.findAllClients(eq("Иван"), isNull(), isNull(), isNull(), anyString(), anyString()))
-                .thenReturn(List.of(client));
+        when(clientService.findAllClients(eq("Иван"), isNull(), isNull(), isNull(), anyString(), anyString(), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(ClientView.from(client)), null));
 
         mockMvc.perform(get("/api/clients")
                         .param("name", "Иван"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].name").value("Иван"));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Иван"));
     }
 
     @Test
@@ -187,14 +198,14 @@ class ClientControllerTest {
         Client client = new Client("Иван Иванов", "Ив", "Москва", LegalForm.OOO);
         client.setId(1L);
 
-        when(clientService.findAllClients(isNull(), eq("Ив"), isNull(), isNull(), anyString(), anyString()))
-                .thenReturn(List.of(client));
+        when(clientService.findAllClients(isNull(), eq("Ив"), isNull(), isNull(), anyString(), anyString(), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(ClientView.from(client)), null));
 
         mockMvc.perform(get("/api/clients")
                         .param("shortName", "Ив"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].shortName").value("Ив"));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].shortName").value("Ив"));
     }
 
     @Test
@@ -202,14 +213,14 @@ class ClientControllerTest {
         Client client = new Client("Иван Иванов", "Ив", "Москва", LegalForm.OOO);
         client.setId(1L);
 
-        when(clientService.findAllClients(isNull(), isNull(), eq("Москва"), isNull(), anyString(), anyString()))
-                .thenReturn(List.of(client));
+        when(clientService.findAllClients(isNull(), isNull(), eq("Москва"), isNull(), anyString(), anyString(), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(ClientView.from(client)), null));
 
         mockMvc.perform(get("/api/clients")
                         .param("address", "Москва"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].address").value("Москва"));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].address").value("Москва"));
     }
 
     @Test
@@ -217,14 +228,14 @@ class ClientControllerTest {
         Client client = new Client("Иван Иванов", "Ив", "Москва", LegalForm.OOO);
         client.setId(1L);
 
-        when(clientService.findAllClients(isNull(), isNull(), isNull(), eq(LegalForm.OOO), anyString(), anyString()))
-                .thenReturn(List.of(client));
+        when(clientService.findAllClients(isNull(), isNull(), isNull(), eq(LegalForm.OOO), anyString(), anyString(), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(ClientView.from(client)), null));
 
         mockMvc.perform(get("/api/clients")
                         .param("legalForm", "ООО"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].legalForm").value("ООО"));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].legalForm").value("ООО"));
     }
 
     @Test
@@ -232,8 +243,8 @@ class ClientControllerTest {
         Client client = new Client("Иван Иванов", "Ив", "Москва", LegalForm.OOO);
         client.setId(1L);
 
-        when(clientService.findAllClients(eq("Иван"), eq("Ив"), eq("Москва"), eq(LegalForm.OOO), anyString(), anyString()))
-                .thenReturn(List.of(client));
+        when(clientService.findAllClients(eq("Иван"), eq("Ив"), eq("Москва"), eq(LegalForm.OOO), anyString(), anyString(), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(ClientView.from(client)), null));
 
         mockMvc.perform(get("/api/clients")
                         .param("name", "Иван")
@@ -241,8 +252,8 @@ class ClientControllerTest {
                         .param("address", "Москва")
                         .param("legalForm", "ООО"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].name").value("Иван Иванов"));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Иван Иванов"));
     }
 
     @Test
@@ -342,15 +353,37 @@ class ClientControllerTest {
         Client client1 = new Client("Альфа", "А", "Адрес 1", LegalForm.OOO);
         Client client2 = new Client("Бета", "Б", "Адрес 2", LegalForm.IP);
 
-        when(clientService.findAllClients(isNull(), isNull(), isNull(), isNull(), eq("name"), eq("desc")))
-                .thenReturn(List.of(client2, client1));
+        when(clientService.findAllClients(isNull(), isNull(), isNull(), isNull(), eq("name"), eq("desc"), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(ClientView.from(client2), ClientView.from(client1)), null));
 
         mockMvc.perform(get("/api/clients")
                         .param("sortBy", "name")
                         .param("direction", "desc"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].name").value("Бета"))
-                .andExpect(jsonPath("$[1].name").value("Альфа"));
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Бета"))
+                .andExpect(jsonPath("$.content[1].name").value("Альфа"));
+    }
+
+    @Test
+    void importClients_ShouldStreamReport() throws Exception {
+        doAnswer(inv -> {
+            InputStream in = inv.getArgument(0);
+            OutputStream out = inv.getArgument(1);
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).startsWith("name,legalForm");
+            out.write("{\"index\":2,\"id\":1,\"error\":null}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(clientImportService).importClients(any(InputStream.class), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(post("/api/clients/import")
+                        .contentType("text/csv")
+                        .content("name,legalForm\nООО Ромашка,ООО\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string("{\"index\":2,\"id\":1,\"error\":null}\n"));
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,30 @@
 package com.example.bank_backend.controller;
 
+import com.example.bank_backend.dto.AccrualConvention;
+import com.example.bank_backend.dto.AccrualSummary;
+import com.example.bank_backend.dto.BankConcentration;
+import com.example.bank_backend.dto.BankDepositStats;
+import com.example.bank_backend.dto.BulkItemResult;
+import com.example.bank_backend.dto.BulkResult;
+import com.example.bank_backend.dto.ClientDepositStats;
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.dto.DepositRequest;
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.dto.ExportFormat;
+import com.example.bank_backend.dto.MaturityLadder;
+import com.example.bank_backend.exception.InvalidLadderMonthsException;
+import com.example.bank_backend.exception.InvalidPageRequestException;
 import com.example.bank_backend.exception.NoDepositsFoundException;
 import com.example.bank_backend.model.Bank;
 import com.example.bank_backend.model.Client;
 import com.example.bank_backend.model.Deposit;
 import com.example.bank_backend.model.LegalForm;
+import com.example.bank_backend.service.DepositAnalyticsService;
+import com.example.bank_backend.service.DepositBulkService;
+import com.example.bank_backend.service.DepositExportService;
 import com.example.bank_backend.service.DepositService;
+import com.example.bank_backend.service.DepositStatsService;
+import com.example.bank_backend.service.InterestAccrualService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,8 +34,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -35,6 +58,21 @@ class DepositControllerTest {
     @MockBean
     private DepositService depositService;
 
+    @MockBean
+    private DepositBulkService depositBulkService;
+
+    @MockBean
+    private DepositExportService depositExportService;
+
+    @MockBean
+    private InterestAccrualService interestAccrualService;
+
+    @MockBean
+    private DepositStatsService depositStatsService;
+
+    @MockBean
+    private DepositAnalyticsService depositAnalyticsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -120,14 +158,14 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 isNull(), isNull(), isNull(), isNull(),
                 isNull(), isNull(), isNull(), isNull(),
-                anyString(), anyString()
-        )).thenReturn(List.of(deposit1, deposit2));
+                anyString(), anyString(), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit1), DepositView.from(deposit2)), null));
 
         mockMvc.perform(get("/api/deposits"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].percentage").value(5.5))
-                .andExpect(jsonPath("$[1].percentage").value(7.0));
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].percentage").value(5.5))
+                .andExpect(jsonPath("$.content[1].percentage").value(7.0));
     }
 
     @Test
@@ -135,7 +173,7 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 isNull(), isNull(), isNull(), isNull(),
                 isNull(), isNull(), isNull(), isNull(),
-                anyString(), anyString()
+                anyString(), anyString(), isNull(), isNull()
         )).thenThrow(new NoDepositsFoundException("Депозиты с указанными критериями не найдены"));
 
         mockMvc.perform(get("/api/deposits"))
@@ -149,14 +187,14 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 eq(1L), isNull(), isNull(), isNull(),
                 isNull(), isNull(), isNull(), isNull(),
-                anyString(), anyString()
-        )).thenReturn(List.of(deposit));
+                anyString(), anyString(), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit)), null));
 
         mockMvc.perform(get("/api/deposits")
                         .param("clientId", "1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].client.id").value(1));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].client.id").value(1));
     }
 
     @Test
@@ -166,14 +204,14 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 isNull(), eq(1L), isNull(), isNull(),
                 isNull(), isNull(), isNull(), isNull(),
-                anyString(), anyString()
-        )).thenReturn(List.of(deposit));
+                anyString(), anyString(), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit)), null));
 
         mockMvc.perform(get("/api/deposits")
                         .param("bankId", "1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].bank.id").value(1));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].bank.id").value(1));
     }
 
     @Test
@@ -184,14 +222,14 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 isNull(), isNull(), isNull(), isNull(),
                 eq(5.0), isNull(), isNull(), isNull(),
-                anyString(), anyString()
-        )).thenReturn(List.of(deposit));
+                anyString(), anyString(), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit)), null));
 
         mockMvc.perform(get("/api/deposits")
                         .param("minPercentage", "5.0"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].percentage").value(8.5));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].percentage").value(8.5));
     }
 
     @Test
@@ -202,14 +240,14 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 isNull(), isNull(), isNull(), isNull(),
                 isNull(), eq(5.0), isNull(), isNull(),
-                anyString(), anyString()
-        )).thenReturn(List.of(deposit));
+                anyString(), anyString(), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit)), null));
 
         mockMvc.perform(get("/api/deposits")
                         .param("maxPercentage", "5.0"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].percentage").value(4.5));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].percentage").value(4.5));
     }
 
     @Test
@@ -220,14 +258,14 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 isNull(), isNull(), isNull(), isNull(),
                 isNull(), isNull(), eq(12), isNull(),
-                anyString(), anyString()
-        )).thenReturn(List.of(deposit));
+                anyString(), anyString(), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit)), null));
 
         mockMvc.perform(get("/api/deposits")
                         .param("minTerm", "12"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].termMonths").value(24));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].termMonths").value(24));
     }
 
     @Test
@@ -238,14 +276,14 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 isNull(), isNull(), isNull(), isNull(),
                 isNull(), isNull(), isNull(), eq(12),
-                anyString(), anyString()
-        )).thenReturn(List.of(deposit));
+                anyString(), anyString(), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit)), null));
 
         mockMvc.perform(get("/api/deposits")
                         .param("maxTerm", "12"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].termMonths").value(6));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].termMonths").value(6));
     }
 
     @Test
@@ -256,14 +294,14 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 isNull(), isNull(), eq(testDate), isNull(),
                 isNull(), isNull(), isNull(), isNull(),
-                anyString(), anyString()
-        )).thenReturn(List.of(deposit));
+                anyString(), anyString(), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit)), null));
 
         mockMvc.perform(get("/api/deposits")
                         .param("openingDateFrom", testDate.toString()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].percentage").value(5.5));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].percentage").value(5.5));
     }
 
     @Test
@@ -274,13 +312,13 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 isNull(), isNull(), isNull(), eq(testDate),
                 isNull(), isNull(), isNull(), isNull(),
-                anyString(), anyString()
-        )).thenReturn(List.of(deposit));
+                anyString(), anyString(), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit)), null));
 
         mockMvc.perform(get("/api/deposits")
                         .param("openingDateTo", testDate.toString()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
+                .andExpect(jsonPath("$.content.length()").value(1));
     }
 
     @Test
@@ -379,16 +417,16 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 isNull(), isNull(), isNull(), isNull(),
                 isNull(), isNull(), isNull(), isNull(),
-                eq("percentage"), eq("desc")
-        )).thenReturn(List.of(deposit1, deposit2));
+                eq("percentage"), eq("desc"), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit1), DepositView.from(deposit2)), null));
 
         mockMvc.perform(get("/api/deposits")
                         .param("sortBy", "percentage")
                         .param("direction", "desc"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].percentage").value(5.5))
-                .andExpect(jsonPath("$[1].percentage").value(3.5));
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].percentage").value(5.5))
+                .andExpect(jsonPath("$.content[1].percentage").value(3.5));
     }
 
     @Test
@@ -399,8 +437,8 @@ class DepositControllerTest {
         when(depositService.findAllDeposits(
                 eq(1L), eq(1L), eq(testDate), isNull(),
                 eq(5.0), eq(10.0), eq(6), eq(24),
-                anyString(), anyString()
-        )).thenReturn(List.of(deposit));
+                anyString(), anyString(), isNull(), isNull()
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit)), null));
 
         mockMvc.perform(get("/api/deposits")
                         .param("clientId", "1")
@@ -411,7 +449,218 @@ class DepositControllerTest {
                         .param("minTerm", "6")
                         .param("maxTerm", "24"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].percentage").value(5.5));
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].percentage").value(5.5));
+    }
+
+    @Test
+    void getAllDeposits_WithCursor_ShouldReturnNextPage() throws Exception {
+        Deposit deposit = createTestDeposit();
+
+        when(depositService.findAllDeposits(
+                isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), isNull(), isNull(),
+                anyString(), anyString(), eq("abc"), eq(1)
+        )).thenReturn(new CursorPage<>(List.of(DepositView.from(deposit)), "def"));
+
+        mockMvc.perform(get("/api/deposits")
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    void getAllDeposits_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        when(depositService.findAllDeposits(
+                isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), isNull(), isNull(),
+                anyString(), anyString(), eq("broken"), isNull()
+        )).thenThrow(new InvalidPageRequestException("Некорректный курсор страницы"));
+
+        mockMvc.perform(get("/api/deposits")
+                        .param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createDeposits_ShouldReturnPerItemResults() throws Exception {
+        when(depositBulkService.createDeposits(anyList())).thenReturn(new BulkResult(1, 1, List.of(
+                BulkItemResult.created(0, 10L),
+                BulkItemResult.failed(1, "Клиент не найден с ID: 999"))));
+
+        List<DepositRequest> requests = List.of(
+                createTestDepositRequest(),
+                new DepositRequest(999L, 1L, LocalDate.now(), 5.5, 12));
+
+        mockMvc.perform(post("/api/deposits/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(10))
+                .andExpect(jsonPath("$.items[1].error").value("Клиент не найден с ID: 999"));
+    }
+
+    @Test
+    void exportDeposits_AsCsv_ShouldStreamRows() throws Exception {
+        doAnswer(inv -> {
+            OutputStream out = inv.getArgument(9);
+            out.write("id,clientId\n1,1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(depositExportService).exportDeposits(
+                isNull(), eq(1L), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(ExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/deposits/export")
+                        .param("bankId", "1")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=deposits.csv"))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,clientId\n1,1\n"));
+    }
+
+    @Test
+    void exportDeposits_WithUnknownFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/deposits/export")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Неподдерживаемый формат выгрузки 'xml'. Допустимые значения: ndjson, csv"));
+
+        verifyNoInteractions(depositExportService);
+    }
+
+    @Test
+    void getAccrual_ShouldReturnPortfolioTotals() throws Exception {
+        LocalDate asOf = LocalDate.of(2025, 3, 15);
+        when(interestAccrualService.accrue(asOf, AccrualConvention.MONTHLY)).thenReturn(new AccrualSummary(
+                asOf, AccrualConvention.MONTHLY, 10, 2, 0.75, 11.2, 12.68, Instant.parse("2025-03-15T09:00:00Z"), 3));
+
+        mockMvc.perform(get("/api/deposits/accrual")
+                        .param("asOf", "2025-03-15")
+                        .param("convention", "monthly"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deposits").value(10))
+                .andExpect(jsonPath("$.matured").value(2))
+                .andExpect(jsonPath("$.accruedInterest").value(0.75))
+                .andExpect(jsonPath("$.convention").value("MONTHLY"));
+    }
+
+    @Test
+    void getAccrual_WithUnknownConvention_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/deposits/accrual")
+                        .param("convention", "daily"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Неподдерживаемый способ начисления 'daily'. Допустимые значения: simple, monthly"));
+
+        verifyNoInteractions(interestAccrualService);
+    }
+
+    @Test
+    void getMaturityLadder_ShouldPassMonthsAndBank() throws Exception {
+        LocalDate asOf = LocalDate.of(2025, 3, 15);
+        when(depositAnalyticsService.maturityLadder(asOf, 2, 3L)).thenReturn(new MaturityLadder(asOf, 3L, 5,
+                List.of(new MaturityLadder.Bucket(YearMonth.of(2025, 3), 1, 7.0),
+                        new MaturityLadder.Bucket(YearMonth.of(2025, 4), 0, 0)),
+                new MaturityLadder.Bucket(null, 4, 8.5), Instant.parse("2025-03-15T09:00:00Z"), 1));
+
+        mockMvc.perform(get("/api/deposits/maturity-ladder")
+                        .param("asOf", "2025-03-15")
+                        .param("months", "2")
+                        .param("bankId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deposits").value(5))
+                .andExpect(jsonPath("$.buckets[0].month").value("2025-03"))
+                .andExpect(jsonPath("$.buckets[1].deposits").value(0))
+                .andExpect(jsonPath("$.later.deposits").value(4));
+    }
+
+    @Test
+    void getMaturityLadder_WithTooManyMonths_ShouldReturnBadRequest() throws Exception {
+        when(depositAnalyticsService.maturityLadder(any(), eq(121), isNull()))
+                .thenThrow(new InvalidLadderMonthsException("Число месяцев лестницы должно быть от 1 до 120: 121"));
+
+        mockMvc.perform(get("/api/deposits/maturity-ladder")
+                        .param("months", "121"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Число месяцев лестницы должно быть от 1 до 120: 121"));
+    }
+
+    @Test
+    void getConcentration_ShouldReturnTopBanks() throws Exception {
+        LocalDate asOf = LocalDate.of(2025, 3, 15);
+        when(depositAnalyticsService.concentration(asOf, 1)).thenReturn(new BankConcentration(asOf, 4, 2, 6250,
+                List.of(new BankConcentration.BankShare(1L, "ПАО Сбербанк", "044525225", 3, 75, 7.5)),
+                Instant.parse("2025-03-15T09:00:00Z"), 1));
+
+        mockMvc.perform(get("/api/deposits/concentration")
+                        .param("asOf", "2025-03-15")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hhi").value(6250.0))
+                .andExpect(jsonPath("$.top[0].bankId").value(1))
+                .andExpect(jsonPath("$.top[0].share").value(75.0));
+    }
+
+    @Test
+    void getMaturingDeposits_ShouldPassPeriodOfDaysFromStart() throws Exception {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        DepositView view = new DepositView(7L, 1L, "Клиент", 2L, "Банк", "044525225",
+                LocalDate.of(2024, 3, 10), 7.5, 12, LocalDate.of(2025, 3, 10));
+        when(depositService.findMaturingDeposits(from, from.plusDays(14), null, 2L, "asc", null, null))
+                .thenReturn(new CursorPage<>(List.of(view), null));
+
+        mockMvc.perform(get("/api/deposits/maturities")
+                        .param("from", "2025-03-01")
+                        .param("days", "14")
+                        .param("bankId", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(7))
+                .andExpect(jsonPath("$.content[0].maturityDate").value("2025-03-10"));
+    }
+
+    @Test
+    void getBankStats_ShouldPassFiltersAndReturnAggregates() throws Exception {
+        when(depositStatsService.findBankStats(null, null, LocalDate.of(2024, 1, 1), null, null, null, 6, null))
+                .thenReturn(List.of(new BankDepositStats(2L, "ПАО Сбербанк", "044525225", 2L, 7.5, 6.0, 9.0, 7.5,
+                        126.0, 15L, 1L, 0L, 1L, 0L, 0L)));
+
+        mockMvc.perform(get("/api/deposits/stats/banks")
+                        .param("openingDateFrom", "2024-01-01")
+                        .param("minTerm", "6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bik").value("044525225"))
+                .andExpect(jsonPath("$[0].deposits").value(2))
+                .andExpect(jsonPath("$[0].weightedPercentage").value(8.4))
+                .andExpect(jsonPath("$[0].terms.months7To12").value(1));
+    }
+
+    @Test
+    void getClientStats_ShouldPassSize() throws Exception {
+        when(depositStatsService.findTopClientStats(null, 2L, null, null, null, null, null, null, 10))
+                .thenReturn(List.of(new ClientDepositStats(1L, "Иван Иванов", 5L, 1L, 6.5)));
+
+        mockMvc.perform(get("/api/deposits/stats/clients")
+                        .param("bankId", "2")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].clientId").value(1))
+                .andExpect(jsonPath("$[0].deposits").value(5));
+    }
+
+    @Test
+    void getTermStats_WhenNoDepositsFound_ShouldReturnNotFound() throws Exception {
+        when(depositStatsService.findTermStats(null, null, null, null, null, null, null, null))
+                .thenThrow(new NoDepositsFoundException("Депозиты с указанными критериями не найдены"));
+
+        mockMvc.perform(get("/api/deposits/stats/terms"))
+                .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.example.bank_backend.controller;
+
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.exception.InvalidPageRequestException;
+import com.example.bank_backend.exception.NoDepositsFoundException;
+import com.example.bank_backend.service.DepositReactiveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveDepositController.class)
+class ReactiveDepositControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DepositReactiveService depositReactiveService;
+
+    @Test
+    void getAllDeposits_ShouldStreamNdjson() throws Exception {
+        when(depositReactiveService.findDeposits(isNull(), eq(1L), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), eq("percentage"), eq("desc"), eq(2)))
+                .thenReturn(Flux.just(view(2L, 9.0), view(1L, 7.5)));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/deposits")
+                        .param("bankId", "1")
+                        .param("sortBy", "percentage")
+                        .param("direction", "desc")
+                        .param("limit", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(matchesPattern("(?s)\\{[^\\n]*\"id\":2[^\\n]*}\\n\\{[^\\n]*\"id\":1[^\\n]*}\\n")));
+    }
+
+    @Test
+    void getAllDeposits_WhenNothingFound_ShouldReturnNotFound() throws Exception {
+        when(depositReactiveService.findDeposits(any(), any(), any(), any(), any(), any(), any(), any(),
+                eq("id"), eq("asc"), isNull()))
+                .thenReturn(Flux.error(new NoDepositsFoundException("Депозиты с указанными критериями не найдены")));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/deposits").param("clientId", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAllDeposits_WithInvalidSortField_ShouldReturnBadRequest() throws Exception {
+        when(depositReactiveService.findDeposits(any(), any(), any(), any(), any(), any(), any(), any(),
+                eq("client"), any(), any()))
+                .thenThrow(new InvalidPageRequestException("Сортировка по полю client не поддерживается"));
+
+        mockMvc.perform(get("/api/reactive/deposits").param("sortBy", "client"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getDepositById_ShouldReturnDeposit() throws Exception {
+        when(depositReactiveService.findDepositById(1L)).thenReturn(Mono.just(view(1L, 7.5)));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/deposits/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.bank.bik").value("044525225"))
+                .andExpect(jsonPath("$.maturityDate").value("2026-01-15"));
+    }
+
+    @Test
+    void getDepositById_WhenMissing_ShouldReturnNotFound() throws Exception {
+        when(depositReactiveService.findDepositById(99L))
+                .thenReturn(Mono.error(new NoDepositsFoundException("Депозита с ID: 99 не существует.")));
+
+        MvcResult result = mockMvc.perform(get("/api/reactive/deposits/99"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    private static DepositView view(Long id, double percentage) {
+        return new DepositView(id, 1L, "Клиент", 1L, "Сбербанк", "044525225",
+                LocalDate.of(2025, 1, 15), percentage, 12, LocalDate.of(2026, 1, 15));
+    }
+}
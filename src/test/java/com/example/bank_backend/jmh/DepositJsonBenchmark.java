@@ -0,0 +1,67 @@
+package com.example.bank_backend.jmh;
+
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.Deposit;
+import com.example.bank_backend.model.LegalForm;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Сериализация ответов в JSON с настройками Jackson, как у приложения (даты строками ISO):
+// депозит-сущность с вложенными клиентом и банком (GET/POST/PUT /api/deposits/{id})
+// и строки списка DepositView с краткими клиентом и банком (GET /api/deposits)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(time = 1)
+@Measurement(time = 1)
+public class DepositJsonBenchmark {
+
+    // Число депозитов в ответе
+    @Param({"1", "50", "500"})
+    private int deposits;
+
+    private ObjectWriter writer;
+    private List<Deposit> entities;
+    private List<DepositView> views;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+        entities = new ArrayList<>(deposits);
+        for (long id = 1; id <= deposits; id++) {
+            Client client = new Client("ООО «Клиент " + id + "»", "Клиент " + id,
+                    "г. Москва, ул. Тверская, д. " + id, LegalForm.values()[(int) (id % LegalForm.values().length)]);
+            client.setId(id);
+            Bank bank = new Bank("Банк " + id % 300, String.format("%09d", id % 300));
+            bank.setId(id % 300);
+            Deposit deposit = new Deposit(client, bank, LocalDate.of(2024, 1, 1).plusDays(id % 365),
+                    1 + (id % 40) * 0.25, 1 + (int) (id % 36));
+            deposit.setId(id);
+            entities.add(deposit);
+        }
+        views = entities.stream().map(DepositView::from).toList();
+    }
+
+    @Benchmark
+    public byte[] depositEntities() throws JsonProcessingException {
+        return writer.writeValueAsBytes(deposits == 1 ? entities.get(0) : entities);
+    }
+
+    @Benchmark
+    public byte[] depositViews() throws JsonProcessingException {
+        return writer.writeValueAsBytes(deposits == 1 ? views.get(0) : views);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.bank_backend.jmh;
+
+import com.example.bank_backend.config.StringToLegalFormConverter;
+import com.example.bank_backend.model.LegalForm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Разбор правовой формы из параметра запроса и тела: LegalForm.fromString перебирает значения по порядку,
+// поэтому время зависит от позиции формы (ООО — первая, МУП — последняя) и от написания (русское / код)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(time = 1)
+@Measurement(time = 1)
+public class LegalFormBenchmark {
+
+    @Param({"ООО", "OOO", "МУП", "mup"})
+    private String value;
+
+    private final StringToLegalFormConverter converter = new StringToLegalFormConverter();
+
+    @Benchmark
+    public LegalForm fromString() {
+        return LegalForm.fromString(value);
+    }
+
+    @Benchmark
+    public LegalForm converter() {
+        return converter.convert(value);
+    }
+
+    // Неизвестное значение проходит весь перебор и заканчивается исключением (ответ 400)
+    @Benchmark
+    public Object converterInvalid() {
+        try {
+            return converter.convert("ЗАО");
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
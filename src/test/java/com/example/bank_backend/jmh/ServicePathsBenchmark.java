@@ -0,0 +1,85 @@
+package com.example.bank_backend.jmh;
+
+import com.example.bank_backend.dto.ClientView;
+import com.example.bank_backend.dto.CursorPage;
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.model.LegalForm;
+import com.example.bank_backend.repository.ClientRepository;
+import com.example.bank_backend.repository.DepositRepository;
+import com.example.bank_backend.service.ClientService;
+import com.example.bank_backend.service.DepositService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Путь списка депозитов и клиентов в JVM без БД: проверка параметров, сборка Specification из фильтров,
+// разбор курсора, отбор страницы из size + 1 строк и кодирование следующего курсора.
+// Репозиторий подменён заглушкой, которая сразу отдаёт заранее построенные строки.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(time = 1)
+@Measurement(time = 1)
+public class ServicePathsBenchmark {
+
+    // Размер страницы (size); репозиторий возвращает на строку больше
+    @Param({"10", "50", "500"})
+    private int size;
+
+    private DepositService depositService;
+    private ClientService clientService;
+    private String depositCursor;
+
+    @Setup
+    public void setUp() {
+        List<DepositView> deposits = new ArrayList<>();
+        List<ClientView> clients = new ArrayList<>();
+        for (long id = 1; id <= size + 1; id++) {
+            LocalDate openingDate = LocalDate.of(2024, 1, 1).plusDays(id % 365);
+            int term = 1 + (int) (id % 36);
+            deposits.add(new DepositView(id, id % 1000, "Клиент " + id % 1000, id % 300, "Банк " + id % 300,
+                    String.format("%09d", id % 300), openingDate, 1 + (id % 40) * 0.25, term, openingDate.plusMonths(term)));
+            clients.add(new ClientView(id, "Клиент " + id, "К" + id, "г. Москва, ул. Тверская, д. " + id,
+                    LegalForm.values()[(int) (id % LegalForm.values().length)]));
+        }
+        // в сервисы передаются только репозитории: остальные зависимости на пути списка не используются
+        depositService = new DepositService(stub(DepositRepository.class, deposits), null, null, null, null);
+        clientService = new ClientService(stub(ClientRepository.class, clients), null, null);
+        depositCursor = depositService.findAllDeposits(null, 7L, LocalDate.of(2024, 1, 1), null, 2.0, null,
+                null, 24, "percentage", "desc", null, size).nextCursor();
+    }
+
+    @Benchmark
+    public CursorPage<DepositView> depositsFirstPage() {
+        return depositService.findAllDeposits(null, 7L, LocalDate.of(2024, 1, 1), null, 2.0, null,
+                null, 24, "percentage", "desc", null, size);
+    }
+
+    @Benchmark
+    public CursorPage<DepositView> depositsNextPage() {
+        return depositService.findAllDeposits(null, 7L, LocalDate.of(2024, 1, 1), null, 2.0, null,
+                null, 24, "percentage", "desc", depositCursor, size);
+    }
+
+    @Benchmark
+    public CursorPage<ClientView> clientsFirstPage() {
+        return clientService.findAllClients("клиент", null, "москва", LegalForm.OOO, "name", "asc", null, size);
+    }
+
+    // Заглушка репозитория: findViews отдаёт первые limit строк, остальные методы не вызываются
+    @SuppressWarnings("unchecked")
+    private static <R> R stub(Class<R> repository, List<?> rows) {
+        return (R) Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findViews")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    int limit = (Integer) args[2];
+                    return rows.subList(0, Math.min(limit, rows.size()));
+                });
+    }
+}
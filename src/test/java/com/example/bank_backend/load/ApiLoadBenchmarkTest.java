@@ -0,0 +1,114 @@
+package com.example.bank_backend.load;
+
+import com.example.bank_backend.BankBackendApplication;
+import com.example.bank_backend.service.DatasetGenerator;
+import com.example.bank_backend.service.DatasetLoadService;
+import com.example.bank_backend.service.DepositBook;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Нагрузочный прогон API для планирования мощности: приложение на засеянной БД получает смесь
+// GET/POST/PUT/DELETE по банкам, клиентам и депозитам (ApiTraffic) с заданной частотой по открытой модели
+// (LoadHarness). Итоги по endpoint — в выводе и в target/load: report.json и гистограммы .hgrm.
+// Прогон, в котором генератор не отправил часть приходов (dropped), падает: его перцентили занижены.
+// БД — PostgreSQL в Testcontainers либо своя (-Dload.jdbcUrl, -Dload.username, -Dload.password):
+// пустая своя БД засевается, непустая считается засеянной с теми же -Dload.scale.
+// Параметры: -Dload.rate (запросов в секунду, 300), -Dload.warmup и -Dload.duration (секунды, 10 и 30),
+// -Dload.scale (банки,клиенты,депозиты; 50,5000,200000), -Dload.mix ("GET /api/deposits=50,POST /api/deposits=10"),
+// -Dload.profiles (профили приложения, например virtual), -Dload.output (target/load).
+// Запуск: mvn test -Pbenchmark -Dtest=ApiLoadBenchmarkTest
+@Tag("benchmark")
+class ApiLoadBenchmarkTest {
+
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    private static PostgreSQLContainer<?> postgres;
+    private static ConfigurableApplicationContext context;
+    private static DatasetGenerator.Settings dataset;
+
+    @BeforeAll
+    static void start() {
+        String jdbcUrl = System.getProperty("load.jdbcUrl");
+        String username = System.getProperty("load.username", "postgres");
+        String password = System.getProperty("load.password", "postgres");
+        if (jdbcUrl == null) {
+            postgres = new PostgreSQLContainer<>("postgres:17-alpine").withCommand("postgres", "-c", "max_connections=200");
+            postgres.start();
+            jdbcUrl = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+        String[] scale = System.getProperty("load.scale", "50,5000,200000").split(",");
+        dataset = DatasetGenerator.Settings.defaults().withScale(
+                Integer.parseInt(scale[0].trim()), Integer.parseInt(scale[1].trim()), Long.parseLong(scale[2].trim()));
+
+        // Настройки — аргументами командной строки: они старше application*.properties
+        context = new SpringApplicationBuilder(BankBackendApplication.class)
+                .profiles(Arrays.stream(System.getProperty("load.profiles", "").split(","))
+                        .map(String::trim).filter(profile -> !profile.isEmpty()).toArray(String[]::new))
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        // r2dbc:postgresql://host:port/db из jdbc:postgresql://host:port/db
+                        "--spring.r2dbc.url=r2dbc:" + jdbcUrl.substring("jdbc:".length()).replaceFirst("\\?.*$", ""),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        Boolean seeded = context.getBean(JdbcTemplate.class)
+                .queryForObject("SELECT EXISTS (SELECT 1 FROM banks)", Boolean.class);
+        if (!Boolean.TRUE.equals(seeded)) {
+            context.getBean(DatasetLoadService.class).load(new DatasetGenerator(dataset));
+            // книга депозитов загрузилась при старте из пустой БД
+            context.getBean(DepositBook.class).refresh();
+        }
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    void apiMix() throws Exception {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "300"));
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+        URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        LoadHarness harness = new LoadHarness(http, MAX_IN_FLIGHT);
+        List<LoadHarness.Operation> mix = new ApiTraffic(base, dataset)
+                .operations(ApiTraffic.parseMix(System.getProperty("load.mix")));
+
+        harness.run(mix, rate, warmup, 1);
+        LoadHarness.Report report = harness.run(mix, rate, duration, 2);
+
+        report.print(System.out, "api-load");
+        report.write(Path.of(System.getProperty("load.output", "target/load")));
+        assertThat(report.dropped())
+                .as("приходов, не отправленных сверх %d одновременных запросов: задержки прогона занижены", MAX_IN_FLIGHT)
+                .isZero();
+    }
+}
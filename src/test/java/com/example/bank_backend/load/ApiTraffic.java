@@ -0,0 +1,258 @@
+package com.example.bank_backend.load;
+
+import com.example.bank_backend.model.LegalForm;
+import com.example.bank_backend.service.DatasetGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Запросы ко всем endpoint /api/banks, /api/clients и /api/deposits по набору, засеянному DatasetGenerator (id с 1).
+// Чтение и PUT идут по засеянным строкам: PUT банка и клиента пишет те же значения, что дал генератор,
+// поэтому уникальность имён и БИК не нарушается. DELETE удаляет только созданное в этом прогоне через POST
+// (банки и клиенты без депозитов), засеянные строки не удаляются.
+final class ApiTraffic {
+
+    // Доли запросов по умолчанию, в сумме 100
+    static final Map<String, Integer> DEFAULT_MIX = defaultMix();
+
+    // Дата для отчётов «на дату»: внутри периода набора по умолчанию (2012–2025)
+    private static final LocalDate AS_OF = LocalDate.of(2024, 6, 30);
+    private static final int BULK_SIZE = 20;
+    private static final int IMPORT_SIZE = 20;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final URI base;
+    private final DatasetGenerator generator;
+    private final DatasetGenerator.Settings dataset;
+    // Метка прогона в именах созданных банков и клиентов: повторный прогон на той же БД не даёт конфликтов
+    private final String run = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong created = new AtomicLong();
+    private final long bikBase;
+    private final Queue<Long> createdBanks = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> createdClients = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> createdDeposits = new ConcurrentLinkedQueue<>();
+    private final Map<String, Operation> all = new LinkedHashMap<>();
+
+    ApiTraffic(URI base, DatasetGenerator.Settings dataset) {
+        this.base = base;
+        this.dataset = dataset;
+        this.generator = new DatasetGenerator(dataset);
+        // засеянные БИК начинаются с 04, созданные — с 9
+        this.bikBase = 900_000_000L + new SplittableRandom().nextLong(50_000_000);
+        register();
+    }
+
+    private void register() {
+        all.put("GET /api/banks", new Operation(random -> get("/api/banks?size=50&sortBy=name"), null));
+        all.put("GET /api/banks/{id}", new Operation(random -> get("/api/banks/" + bankId(random)), null));
+        all.put("POST /api/banks", new Operation(random -> send("POST", "/api/banks", newBank()), created(createdBanks)));
+        all.put("PUT /api/banks/{id}", new Operation(random -> {
+            int id = bankId(random);
+            return send("PUT", "/api/banks/" + id, Map.of("name", generator.bankName(id), "bik", generator.bik(id)));
+        }, null));
+        all.put("DELETE /api/banks/{id}", new Operation(random -> delete("/api/banks/", createdBanks), null));
+
+        all.put("GET /api/clients", new Operation(random -> get("/api/clients?size=50&legalForm="
+                + LegalForm.values()[random.nextInt(LegalForm.values().length)].name()), null));
+        all.put("GET /api/clients/{id}", new Operation(random -> get("/api/clients/" + clientId(random)), null));
+        all.put("POST /api/clients", new Operation(random -> send("POST", "/api/clients", newClient()),
+                created(createdClients)));
+        all.put("POST /api/clients/import", new Operation(random -> importClients(), null));
+        all.put("PUT /api/clients/{id}", new Operation(random -> {
+            long id = clientId(random);
+            DatasetGenerator.ClientRow row = generator.client(id);
+            return send("PUT", "/api/clients/" + id,
+                    client(row.name(), row.shortName(), row.address(), row.legalForm()));
+        }, null));
+        all.put("DELETE /api/clients/{id}", new Operation(random -> delete("/api/clients/", createdClients), null));
+
+        all.put("GET /api/deposits", new Operation(random -> get("/api/deposits?size=50&bankId=" + bankId(random)), null));
+        all.put("GET /api/deposits/export", new Operation(random -> get("/api/deposits/export?bankId=" + bankId(random)), null));
+        all.put("GET /api/deposits/maturities", new Operation(random -> get("/api/deposits/maturities?from="
+                + AS_OF.minusDays(random.nextInt(365)) + "&days=30"), null));
+        all.put("GET /api/deposits/stats/banks", new Operation(random -> get("/api/deposits/stats/banks?bankId="
+                + bankId(random)), null));
+        all.put("GET /api/deposits/stats/clients", new Operation(random -> get("/api/deposits/stats/clients?bankId="
+                + bankId(random)), null));
+        all.put("GET /api/deposits/stats/terms", new Operation(random -> get("/api/deposits/stats/terms?bankId="
+                + bankId(random)), null));
+        all.put("GET /api/deposits/accrual", new Operation(random -> get("/api/deposits/accrual?asOf=" + AS_OF), null));
+        all.put("GET /api/deposits/maturity-ladder", new Operation(random -> get("/api/deposits/maturity-ladder?asOf="
+                + AS_OF), null));
+        all.put("GET /api/deposits/concentration", new Operation(random -> get("/api/deposits/concentration?asOf="
+                + AS_OF), null));
+        all.put("GET /api/deposits/{id}", new Operation(random -> get("/api/deposits/" + depositId(random)), null));
+        all.put("POST /api/deposits", new Operation(random -> send("POST", "/api/deposits", deposit(random)),
+                created(createdDeposits)));
+        all.put("POST /api/deposits/bulk", new Operation(random -> {
+            List<Map<String, Object>> deposits = new ArrayList<>(BULK_SIZE);
+            for (int i = 0; i < BULK_SIZE; i++) {
+                deposits.add(deposit(random));
+            }
+            return send("POST", "/api/deposits/bulk", deposits);
+        }, null));
+        all.put("PUT /api/deposits/{id}", new Operation(random -> send("PUT", "/api/deposits/" + depositId(random),
+                deposit(random)), null));
+        all.put("DELETE /api/deposits/{id}", new Operation(random -> delete("/api/deposits/", createdDeposits), null));
+    }
+
+    // Все endpoint в порядке регистрации: создание идёт раньше удаления
+    Set<String> endpoints() {
+        return all.keySet();
+    }
+
+    // mix — доли по endpoint; endpoint с долей 0 или без доли не запрашиваются
+    List<LoadHarness.Operation> operations(Map<String, Integer> mix) {
+        List<LoadHarness.Operation> operations = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            Operation operation = all.get(endpoint);
+            if (operation == null) {
+                throw new IllegalArgumentException("Неизвестный endpoint смеси: " + endpoint + ". Допустимые: " + all.keySet());
+            }
+            if (weight > 0) {
+                operations.add(new LoadHarness.Operation(endpoint, weight, operation.request(), operation.onSuccess()));
+            }
+        });
+        return operations;
+    }
+
+    // Формат "GET /api/deposits=50,POST /api/deposits=10"; пустая строка — смесь по умолчанию
+    static Map<String, Integer> parseMix(String mix) {
+        if (mix == null || mix.isBlank()) {
+            return DEFAULT_MIX;
+        }
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Ожидается endpoint=доля: " + entry);
+            }
+            weights.put(entry.substring(0, eq).trim(), Integer.parseInt(entry.substring(eq + 1).trim()));
+        }
+        return weights;
+    }
+
+    private static Map<String, Integer> defaultMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        mix.put("GET /api/banks", 5);
+        mix.put("GET /api/banks/{id}", 5);
+        mix.put("POST /api/banks", 1);
+        mix.put("PUT /api/banks/{id}", 1);
+        mix.put("DELETE /api/banks/{id}", 1);
+        mix.put("GET /api/clients", 8);
+        mix.put("GET /api/clients/{id}", 10);
+        mix.put("POST /api/clients", 3);
+        mix.put("PUT /api/clients/{id}", 2);
+        mix.put("DELETE /api/clients/{id}", 2);
+        mix.put("GET /api/deposits", 20);
+        mix.put("GET /api/deposits/{id}", 20);
+        mix.put("POST /api/deposits", 10);
+        mix.put("PUT /api/deposits/{id}", 7);
+        mix.put("DELETE /api/deposits/{id}", 5);
+        return Collections.unmodifiableMap(mix);
+    }
+
+    private int bankId(SplittableRandom random) {
+        return 1 + random.nextInt(dataset.banks());
+    }
+
+    private long clientId(SplittableRandom random) {
+        return 1 + random.nextInt(dataset.clients());
+    }
+
+    private long depositId(SplittableRandom random) {
+        return 1 + random.nextLong(dataset.deposits());
+    }
+
+    private Map<String, Object> newBank() {
+        long n = created.incrementAndGet();
+        return Map.of("name", "Нагрузка " + run + "-" + n, "bik", String.valueOf(bikBase + n));
+    }
+
+    private Map<String, Object> newClient() {
+        long n = created.incrementAndGet();
+        return client("ООО «Нагрузка " + run + "-" + n + "»", "Нагрузка " + run + "-" + n, "г. Москва", LegalForm.OOO);
+    }
+
+    private static Map<String, Object> client(String name, String shortName, String address, LegalForm legalForm) {
+        Map<String, Object> client = new LinkedHashMap<>();
+        client.put("name", name);
+        client.put("shortName", shortName);
+        client.put("address", address);
+        client.put("legalForm", legalForm);
+        return client;
+    }
+
+    private Map<String, Object> deposit(SplittableRandom random) {
+        int term = 1 + random.nextInt(60);
+        return Map.of("clientId", clientId(random), "bankId", bankId(random),
+                "openingDate", LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)).toString(),
+                "percentage", 1 + random.nextInt(1500) / 100.0, "termMonths", term);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET().build();
+    }
+
+    private HttpRequest importClients() {
+        StringBuilder csv = new StringBuilder("name,shortName,address,legalForm\n");
+        for (int i = 0; i < IMPORT_SIZE; i++) {
+            long n = created.incrementAndGet();
+            csv.append("ООО «Импорт ").append(run).append('-').append(n).append("»,Импорт ").append(run).append('-').append(n)
+                    .append(",г. Москва,ООО\n");
+        }
+        return HttpRequest.newBuilder(base.resolve("/api/clients/import"))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(base.resolve(path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest delete(String path, Queue<Long> created) {
+        Long id = created.poll();
+        return id == null ? null : HttpRequest.newBuilder(base.resolve(path + id)).DELETE().build();
+    }
+
+    // id созданной строки из ответа POST — для последующего DELETE
+    private static Consumer<HttpResponse<String>> created(Queue<Long> ids) {
+        return response -> {
+            try {
+                ids.add(JSON.readTree(response.body()).path("id").asLong());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private record Operation(Function<SplittableRandom, HttpRequest> request,
+                             Consumer<HttpResponse<String>> onSuccess) {
+    }
+}
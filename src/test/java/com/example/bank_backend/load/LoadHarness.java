@@ -0,0 +1,281 @@
+package com.example.bank_backend.load;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Генератор нагрузки. Основной режим — открытая модель: запросы приходят пуассоновским потоком с заданной
+// средней частотой, независимо от того, ответил ли сервер на предыдущие. Задержка считается от запланированного
+// момента отправки: если сервер или сам генератор отстают, ожидание входит в задержку (без coordinated omission).
+// Задержки копятся по каждому endpoint в HDR-гистограммах (микросекунды, 3 значащие цифры), отдельно
+// для успешных ответов и для ошибок: быстрые отказы не должны улучшать перцентили успешных запросов.
+// Приход, не отправленный из-за предела одновременных запросов (dropped), в задержки не попадает,
+// поэтому прогон с dropped > 0 занижает перцентили — его итоги нельзя принимать (Report.dropped).
+final class LoadHarness {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final int maxInFlight;
+
+    LoadHarness(HttpClient http, int maxInFlight) {
+        this.http = http;
+        this.maxInFlight = maxInFlight;
+    }
+
+    // Один вид запроса смеси. request возвращает null, если запрос сейчас не из чего построить
+    // (например, удалять ещё нечего) — такой приход считается пропущенным
+    record Operation(String endpoint, int weight, Function<SplittableRandom, HttpRequest> request,
+                     Consumer<HttpResponse<String>> onSuccess) {
+
+        Operation {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Вес не может быть отрицательным: " + endpoint);
+            }
+        }
+    }
+
+    Report run(List<Operation> mix, double rate, Duration duration, long seed) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Частота должна быть больше 0: " + rate);
+        }
+        Mix picker = new Mix(mix);
+        SplittableRandom random = new SplittableRandom(seed);
+        AtomicInteger inFlight = new AtomicInteger();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        long intended = started;
+        while (true) {
+            // экспоненциальные интервалы между приходами — пуассоновский поток
+            intended += (long) (-Math.log(1 - random.nextDouble()) / rate * 1e9);
+            if (intended >= deadline) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = picker.pick(random);
+            Stats endpoint = picker.stats(operation);
+            if (inFlight.get() >= maxInFlight) {
+                endpoint.dropped.increment();
+                continue;
+            }
+            HttpRequest request = operation.request().apply(random);
+            if (request == null) {
+                endpoint.skipped.increment();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            send(operation, endpoint, request, intended).whenComplete((ignored, error) -> inFlight.decrementAndGet());
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(1_000_000);
+        }
+        return picker.report(String.format(Locale.ROOT, "rate=%.0f/s", rate), duration, started, inFlight.get());
+    }
+
+    // Закрытая модель: users клиентов, каждый шлёт следующий запрос сразу после ответа на предыдущий.
+    // Даёт предельную пропускную способность при заданной параллельности; задержка — от фактической отправки.
+    // Клиент, которому нечего отправить (request вернул null), заканчивает работу
+    Report runClosed(List<Operation> mix, int users, Duration duration, long seed) {
+        Mix picker = new Mix(mix);
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        CompletableFuture<?>[] loops = new CompletableFuture<?>[users];
+        for (int user = 0; user < users; user++) {
+            loops[user] = loop(picker, new SplittableRandom(seed + user), deadline);
+        }
+        int unfinished = 0;
+        try {
+            CompletableFuture.allOf(loops).get(duration.plus(DRAIN_TIMEOUT).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            unfinished = (int) Arrays.stream(loops).filter(loop -> !loop.isDone()).count();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return picker.report("users=" + users, duration, started, unfinished);
+    }
+
+    private CompletableFuture<Void> loop(Mix picker, SplittableRandom random, long deadline) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Operation operation = picker.pick(random);
+        Stats endpoint = picker.stats(operation);
+        HttpRequest request = operation.request().apply(random);
+        if (request == null) {
+            endpoint.skipped.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+        return send(operation, endpoint, request, System.nanoTime())
+                .thenCompose(ignored -> loop(picker, random, deadline));
+    }
+
+    private CompletableFuture<Void> send(Operation operation, Stats endpoint, HttpRequest request, long scheduled) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).handle((response, error) -> {
+            long micros = Math.max(1, (System.nanoTime() - scheduled) / 1000);
+            if (error == null && response.statusCode() < 400) {
+                endpoint.latencies.recordValue(micros);
+                if (operation.onSuccess() != null) {
+                    operation.onSuccess().accept(response);
+                }
+            } else {
+                endpoint.errorLatencies.recordValue(micros);
+            }
+            return null;
+        });
+    }
+
+    // Выбор запроса по долям и счётчики по endpoint одного прогона
+    private static final class Mix {
+        final List<Operation> operations;
+        final int[] cumulative;
+        final int total;
+        final Map<String, Stats> stats = new LinkedHashMap<>();
+
+        Mix(List<Operation> operations) {
+            this.operations = operations;
+            this.cumulative = new int[operations.size()];
+            int sum = 0;
+            for (int i = 0; i < operations.size(); i++) {
+                sum += operations.get(i).weight();
+                cumulative[i] = sum;
+                stats.put(operations.get(i).endpoint(), new Stats());
+            }
+            if (sum == 0) {
+                throw new IllegalArgumentException("Нужен хотя бы один endpoint с долей больше 0");
+            }
+            this.total = sum;
+        }
+
+        Operation pick(SplittableRandom random) {
+            int pick = random.nextInt(total);
+            int i = 0;
+            while (cumulative[i] <= pick) {
+                i++;
+            }
+            return operations.get(i);
+        }
+
+        Stats stats(Operation operation) {
+            return stats.get(operation.endpoint());
+        }
+
+        Report report(String load, Duration duration, long started, int unfinished) {
+            long elapsed = System.nanoTime() - started;
+            List<EndpointReport> endpoints = new ArrayList<>();
+            stats.forEach((name, endpoint) -> endpoints.add(endpoint.report(name, elapsed)));
+            return new Report(load, duration.toSeconds(), elapsed / 1e9, unfinished, endpoints);
+        }
+    }
+
+    // Итоги прогона. load — частота (открытая модель) или число клиентов (закрытая);
+    // unfinished — запросы (клиенты) без ответа к концу ожидания, в задержки не попали
+    record Report(String load, long durationSeconds, double elapsedSeconds, int unfinished,
+                  List<EndpointReport> endpoints) {
+
+        void print(PrintStream out, String prefix) {
+            for (EndpointReport endpoint : endpoints) {
+                out.printf("%s endpoint=\"%s\" requests=%d errors=%d skipped=%d dropped=%d rps=%.1f"
+                                + " p50Ms=%.2f p90Ms=%.2f p99Ms=%.2f p999Ms=%.2f maxMs=%.2f"
+                                + " errorP50Ms=%.2f errorP99Ms=%.2f errorMaxMs=%.2f%n",
+                        prefix, endpoint.endpoint(), endpoint.requests(), endpoint.errors(), endpoint.skipped(),
+                        endpoint.dropped(), endpoint.rps(), endpoint.p50Ms(), endpoint.p90Ms(), endpoint.p99Ms(),
+                        endpoint.p999Ms(), endpoint.maxMs(), endpoint.errorP50Ms(), endpoint.errorP99Ms(),
+                        endpoint.errorMaxMs());
+            }
+            out.printf("%s total %s requests=%d dropped=%d unfinished=%d elapsedSeconds=%.1f%n", prefix, load,
+                    endpoints.stream().mapToLong(EndpointReport::requests).sum(), dropped(), unfinished, elapsedSeconds);
+        }
+
+        // Приходы, не отправленные ни по одному endpoint из-за предела одновременных запросов
+        long dropped() {
+            return endpoints.stream().mapToLong(EndpointReport::dropped).sum();
+        }
+
+        // report.json — итоги по endpoint; <endpoint>.hgrm — полное распределение задержек успешных ответов,
+        // <endpoint>.errors.hgrm — ошибок, если они были (формат HdrHistogram)
+        void write(Path dir) throws IOException {
+            Files.createDirectories(dir);
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(dir.resolve("report.json").toFile(), this);
+            for (EndpointReport endpoint : endpoints) {
+                String file = endpoint.endpoint().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+                writeHistogram(dir.resolve(file + ".hgrm"), endpoint.histogram());
+                if (endpoint.errors() > 0) {
+                    writeHistogram(dir.resolve(file + ".errors.hgrm"), endpoint.errorHistogram());
+                }
+            }
+        }
+
+        private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    // Задержки в миллисекундах: p*Ms и maxMs — успешных ответов, error*Ms — ошибок (статус 4xx/5xx или сбой
+    // соединения). requests — все ответы, включая ошибки; rps — ответы в секунду за весь прогон
+    record EndpointReport(String endpoint, long requests, long errors, long skipped, long dropped, double rps,
+                          double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs,
+                          double errorP50Ms, double errorP99Ms, double errorMaxMs,
+                          @JsonIgnore Histogram histogram, @JsonIgnore Histogram errorHistogram) {
+    }
+
+    private static final class Stats {
+        final Recorder latencies = new Recorder(3);
+        final Recorder errorLatencies = new Recorder(3);
+        final LongAdder skipped = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        EndpointReport report(String endpoint, long elapsedNanos) {
+            Histogram histogram = latencies.getIntervalHistogram();
+            Histogram errorHistogram = errorLatencies.getIntervalHistogram();
+            long errors = errorHistogram.getTotalCount();
+            long requests = histogram.getTotalCount() + errors;
+            return new EndpointReport(endpoint, requests, errors, skipped.sum(), dropped.sum(),
+                    requests * 1e9 / elapsedNanos,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0,
+                    millis(errorHistogram, 50), millis(errorHistogram, 99), errorHistogram.getMaxValue() / 1000.0,
+                    histogram, errorHistogram);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.bank_backend.load;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Эталонные показатели endpoint для порога регрессий (src/test/resources/perf/baseline.json) и сверка с ними.
+// Число SQL-операторов и строк deposits, прочитанных последовательным сканированием, на запрос от машины
+// не зависят (набор и план запросов те же), поэтому они есть в эталоне у каждого endpoint; сверяются
+// с небольшим абсолютным запасом сверху: N+1 или полный проход по таблице дают кратный рост.
+// p99, пропускная способность и выделение памяти записываются в эталон прогоном на машине порога; если их в эталоне
+// нет, это нарушение, кроме первого прогона на новой машине (bootstrap), когда сверяются только операторы и сканирование.
+// Допуски у них относительные: p99 и память — не больше эталона на долю допуска, пропускная способность — не меньше.
+record PerformanceBaseline(Tolerance tolerance, Map<String, EndpointResult> endpoints) {
+
+    static final double QUERIES_SLACK = 0.5;
+    static final double ROWS_SCANNED_SLACK = 100;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    record Tolerance(double p99, double throughput, double allocation, double queries, double rowsScanned) {
+    }
+
+    // Показатели одного endpoint на фиксированном наборе при фиксированной параллельности;
+    // null — показатель, зависящий от машины, ещё не записан в эталон
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record EndpointResult(long requests, long errors, Double rps, Double p99Ms,
+                          double queriesPerRequest, Double allocatedKbPerRequest, double depositRowsScannedPerRequest) {
+    }
+
+    static PerformanceBaseline read(Path file) throws IOException {
+        return JSON.readValue(file.toFile(), PerformanceBaseline.class);
+    }
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        JSON.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), new PerformanceBaseline(tolerance, new TreeMap<>(endpoints)));
+    }
+
+    // Нарушения допусков; endpoint без эталона или без показателей машины — тоже нарушение: их нужно записать в эталон.
+    // bootstrap — показатели машины ещё не записаны, и их отсутствие нарушением не считается
+    List<String> regressions(Map<String, EndpointResult> measured, boolean bootstrap) {
+        List<String> regressions = new ArrayList<>();
+        measured.forEach((endpoint, actual) -> {
+            EndpointResult expected = endpoints.get(endpoint);
+            if (actual.errors() > 0) {
+                regressions.add(endpoint + ": ошибок " + actual.errors() + " из " + actual.requests());
+            }
+            if (expected == null) {
+                regressions.add(endpoint + ": нет эталона");
+                return;
+            }
+            if (expected.p99Ms() == null || expected.rps() == null || expected.allocatedKbPerRequest() == null) {
+                if (!bootstrap) {
+                    regressions.add(endpoint + ": в эталоне нет p99, пропускной способности или памяти");
+                }
+            } else {
+                machineRegressions(endpoint, expected, actual, regressions);
+            }
+            if (actual.queriesPerRequest() > expected.queriesPerRequest() * (1 + tolerance.queries()) + QUERIES_SLACK) {
+                regressions.add(format(endpoint, "SQL-операторов на запрос", expected.queriesPerRequest(),
+                        actual.queriesPerRequest()));
+            }
+            if (actual.depositRowsScannedPerRequest()
+                    > expected.depositRowsScannedPerRequest() * (1 + tolerance.rowsScanned()) + ROWS_SCANNED_SLACK) {
+                regressions.add(format(endpoint, "строк deposits при последовательном сканировании на запрос",
+                        expected.depositRowsScannedPerRequest(), actual.depositRowsScannedPerRequest()));
+            }
+        });
+        return regressions;
+    }
+
+    private void machineRegressions(String endpoint, EndpointResult expected, EndpointResult actual, List<String> regressions) {
+        if (actual.p99Ms() > expected.p99Ms() * (1 + tolerance.p99())) {
+            regressions.add(format(endpoint, "p99, мс", expected.p99Ms(), actual.p99Ms()));
+        }
+        if (actual.rps() < expected.rps() * (1 - tolerance.throughput())) {
+            regressions.add(format(endpoint, "запросов в секунду", expected.rps(), actual.rps()));
+        }
+        if (actual.allocatedKbPerRequest() > expected.allocatedKbPerRequest() * (1 + tolerance.allocation())) {
+            regressions.add(format(endpoint, "КБ памяти на запрос", expected.allocatedKbPerRequest(),
+                    actual.allocatedKbPerRequest()));
+        }
+    }
+
+    PerformanceBaseline withEndpoints(Map<String, EndpointResult> measured) {
+        return new PerformanceBaseline(tolerance, measured);
+    }
+
+    private static String format(String endpoint, String metric, double expected, double actual) {
+        return String.format(Locale.ROOT, "%s: %s %.2f, эталон %.2f", endpoint, metric, actual, expected);
+    }
+}
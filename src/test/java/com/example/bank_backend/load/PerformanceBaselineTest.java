@@ -0,0 +1,97 @@
+package com.example.bank_backend.load;
+
+import com.example.bank_backend.service.DatasetGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerformanceBaselineTest {
+
+    private static final PerformanceBaseline BASELINE = new PerformanceBaseline(
+            new PerformanceBaseline.Tolerance(0.3, 0.2, 0.25, 0.0, 0.1),
+            Map.of("GET /api/deposits", result(0, 1000, 20.0, 2.0, 40.0, 0)));
+
+    @Test
+    void regressions_WithinTolerance_ShouldBeEmpty() {
+        Map<String, PerformanceBaseline.EndpointResult> measured =
+                Map.of("GET /api/deposits", result(0, 820, 25.9, 2.4, 49.0, 90));
+
+        assertThat(BASELINE.regressions(measured, false)).isEmpty();
+    }
+
+    @Test
+    void regressions_ShouldReportEachMetricBeyondTolerance() {
+        Map<String, PerformanceBaseline.EndpointResult> measured =
+                Map.of("GET /api/deposits", result(0, 700, 30.0, 2.0, 40.0, 0));
+
+        assertThat(BASELINE.regressions(measured, false)).hasSize(2)
+                .anySatisfy(regression -> assertThat(regression).contains("p99"))
+                .anySatisfy(regression -> assertThat(regression).contains("запросов в секунду"));
+    }
+
+    @Test
+    void regressions_WithNPlusOneOrFullScan_ShouldFail() {
+        Map<String, PerformanceBaseline.EndpointResult> measured =
+                Map.of("GET /api/deposits", result(0, 1000, 20.0, 52.0, 40.0, 200_000));
+
+        assertThat(BASELINE.regressions(measured, false)).hasSize(2)
+                .anySatisfy(regression -> assertThat(regression).contains("SQL-операторов"))
+                .anySatisfy(regression -> assertThat(regression).contains("последовательном сканировании"));
+    }
+
+    @Test
+    void regressions_WithErrorsOrWithoutBaseline_ShouldReportBoth() {
+        Map<String, PerformanceBaseline.EndpointResult> measured =
+                Map.of("DELETE /api/banks/{id}", result(3, 10, 100.0, 1.0, 1.0, 0));
+
+        assertThat(BASELINE.regressions(measured, false)).containsExactly(
+                "DELETE /api/banks/{id}: ошибок 3 из 10000", "DELETE /api/banks/{id}: нет эталона");
+    }
+
+    @Test
+    void regressions_WithoutMachineMetricsInBaseline_ShouldFail() {
+        PerformanceBaseline baseline = new PerformanceBaseline(BASELINE.tolerance(), Map.of("GET /api/deposits",
+                new PerformanceBaseline.EndpointResult(0, 0, null, null, 1.0, null, 0)));
+
+        assertThat(baseline.regressions(Map.of("GET /api/deposits", result(0, 1000, 20.0, 1.0, 40.0, 0)), false))
+                .containsExactly("GET /api/deposits: в эталоне нет p99, пропускной способности или памяти");
+    }
+
+    @Test
+    void regressions_WithBootstrap_ShouldCheckOnlyQueriesAndScans() {
+        PerformanceBaseline baseline = new PerformanceBaseline(BASELINE.tolerance(), Map.of("GET /api/deposits",
+                new PerformanceBaseline.EndpointResult(0, 0, null, null, 1.0, null, 0)));
+
+        assertThat(baseline.regressions(Map.of("GET /api/deposits", result(0, 1, 5_000.0, 1.0, 900.0, 0)), true)).isEmpty();
+        assertThat(baseline.regressions(Map.of("GET /api/deposits", result(0, 1000, 20.0, 2.0, 40.0, 200_000)), true))
+                .hasSize(2);
+    }
+
+    @Test
+    void write_ShouldRoundTrip(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("perf/baseline.json");
+
+        BASELINE.write(file);
+
+        assertThat(PerformanceBaseline.read(file)).isEqualTo(BASELINE);
+    }
+
+    @Test
+    void read_CommittedBaseline_ShouldCoverEveryEndpoint() throws Exception {
+        PerformanceBaseline committed = PerformanceBaseline.read(Path.of("src/test/resources/perf/baseline.json"));
+
+        assertThat(committed.endpoints().keySet())
+                .containsExactlyInAnyOrderElementsOf(new ApiTraffic(URI.create("http://localhost"),
+                        DatasetGenerator.Settings.defaults()).endpoints());
+    }
+
+    private static PerformanceBaseline.EndpointResult result(long errors, double rps, double p99Ms,
+                                                             double queries, double allocatedKb, double rowsScanned) {
+        return new PerformanceBaseline.EndpointResult(10_000, errors, rps, p99Ms, queries, allocatedKb, rowsScanned);
+    }
+}
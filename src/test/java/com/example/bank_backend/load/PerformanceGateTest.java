@@ -0,0 +1,166 @@
+package com.example.bank_backend.load;
+
+import com.example.bank_backend.BankBackendApplication;
+import com.example.bank_backend.service.DatasetGenerator;
+import com.example.bank_backend.service.DatasetLoadService;
+import com.example.bank_backend.service.DepositBook;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Порог регрессий производительности: все endpoint BankController, ClientController и DepositController
+// по очереди нагружаются на одном и том же засеянном наборе (DATASET) фиксированным числом клиентов
+// (закрытая модель), и показатели сверяются с эталоном src/test/resources/perf/baseline.json.
+// Кроме p99 и пропускной способности на запрос считаются: SQL-операторы (QueryCounter), память, выделенная
+// потоками обработки запросов, и строки deposits, прочитанные последовательным сканированием (pg_stat_user_tables).
+// Операторы и сканирование от машины не зависят; p99, пропускная способность и память записываются прогоном
+// с -Dperf.updateBaseline=true на той машине, где работает порог (CI). Эталон без них порог не проходит;
+// -Dperf.bootstrap=true сверяет только операторы и сканирование — для первого прогона на новой машине.
+// Результаты — в target/perf-gate/results.json.
+// Запуск: mvn test -Pperf-gate
+@Tag("perf-gate")
+class PerformanceGateTest {
+
+    private static final DatasetGenerator.Settings DATASET =
+            DatasetGenerator.Settings.defaults().withScale(50, 5_000, 200_000);
+    private static final Path BASELINE = Path.of("src/test/resources/perf/baseline.json");
+    private static final Path RESULTS = Path.of("target/perf-gate/results.json");
+    // Счётчики pg_stat обновляются процессами БД с задержкой до секунды после транзакции
+    private static final Duration STATS_DELAY = Duration.ofSeconds(2);
+
+    private static PostgreSQLContainer<?> postgres;
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() {
+        postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+        postgres.start();
+        // Настройки — аргументами командной строки: они старше application.properties
+        context = new SpringApplicationBuilder(BankBackendApplication.class, QueryCounter.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.r2dbc.url=r2dbc:postgresql://" + postgres.getHost() + ":"
+                                + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName(),
+                        "--spring.jpa.show-sql=false",
+                        // книга перечитывается один раз после засева; плановое перечитывание — проход по deposits
+                        // посреди замера какого-нибудь endpoint
+                        "--deposit-book.refresh-interval=PT24H",
+                        "--logging.level.root=WARN");
+        context.getBean(DatasetLoadService.class).load(new DatasetGenerator(DATASET));
+        context.getBean(DepositBook.class).refresh();
+        // карта видимости заполнена, как у давно живущей таблицы: планы (index-only scan) не зависят от того,
+        // успел ли autovacuum пройти по свежезагруженной таблице
+        context.getBean(JdbcTemplate.class).execute("VACUUM ANALYZE");
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Test
+    void endpointsWithinBaseline() throws Exception {
+        int users = Integer.getInteger("perf.users", 16);
+        Duration warmup = Duration.ofSeconds(Long.getLong("perf.warmup", 3));
+        Duration duration = Duration.ofSeconds(Long.getLong("perf.duration", 10));
+        URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        LoadHarness harness = new LoadHarness(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), users);
+        ApiTraffic traffic = new ApiTraffic(base, DATASET);
+        Map<String, PerformanceBaseline.EndpointResult> measured = new LinkedHashMap<>();
+        for (String endpoint : traffic.endpoints()) {
+            List<LoadHarness.Operation> only = traffic.operations(Map.of(endpoint, 1));
+            harness.runClosed(only, users, warmup, 1);
+
+            long rowsScanned = depositRowsScanned(jdbcTemplate);
+            long statements = QueryCounter.statements();
+            Map<Long, Long> allocatedBefore = serverAllocatedBytes();
+            LoadHarness.EndpointReport report = harness.runClosed(only, users, duration, 2).endpoints().get(0);
+            statements = QueryCounter.statements() - statements;
+            long allocated = allocatedSince(allocatedBefore, serverAllocatedBytes());
+            rowsScanned = depositRowsScanned(jdbcTemplate) - rowsScanned;
+
+            long requests = Math.max(1, report.requests());
+            PerformanceBaseline.EndpointResult result = new PerformanceBaseline.EndpointResult(
+                    report.requests(), report.errors(), report.rps(), report.p99Ms(),
+                    (double) statements / requests, allocated / 1024.0 / requests, (double) rowsScanned / requests);
+            measured.put(endpoint, result);
+            System.out.printf("perf-gate endpoint=\"%s\" users=%d requests=%d errors=%d rps=%.1f p99Ms=%.2f"
+                            + " queriesPerRequest=%.2f allocatedKbPerRequest=%.1f depositRowsScannedPerRequest=%.1f%n",
+                    endpoint, users, result.requests(), result.errors(), result.rps(), result.p99Ms(),
+                    result.queriesPerRequest(), result.allocatedKbPerRequest(), result.depositRowsScannedPerRequest());
+        }
+
+        PerformanceBaseline baseline = PerformanceBaseline.read(BASELINE);
+        baseline.withEndpoints(measured).write(RESULTS);
+        if (Boolean.getBoolean("perf.updateBaseline")) {
+            baseline.withEndpoints(measured).write(BASELINE);
+            return;
+        }
+        assertThat(baseline.regressions(measured, Boolean.getBoolean("perf.bootstrap"))).as("регрессии относительно %s", BASELINE).isEmpty();
+    }
+
+    // Память, выделенная к этому моменту каждым потоком Tomcat и асинхронной обработки MVC (по id потока);
+    // потоки HTTP-клиента нагрузки не входят
+    private static Map<Long, Long> serverAllocatedBytes() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<Long, Long> allocated = new HashMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            String name = thread.getName();
+            if ((name.startsWith("http-nio-") && name.contains("-exec-")) || name.startsWith("task-")) {
+                long bytes = threads.getThreadAllocatedBytes(thread.getId());
+                if (bytes >= 0) {
+                    allocated.put(thread.getId(), bytes);
+                }
+            }
+        }
+        return allocated;
+    }
+
+    // Сумма приростов по потокам, живым в оба момента: счётчик завершившегося потока пропадает вместе с ним,
+    // и разность сумм по всем потокам ушла бы в минус на весь его объём
+    private static long allocatedSince(Map<Long, Long> before, Map<Long, Long> after) {
+        long total = 0;
+        for (Map.Entry<Long, Long> thread : after.entrySet()) {
+            Long start = before.get(thread.getKey());
+            if (start != null) {
+                total += thread.getValue() - start;
+            }
+        }
+        return total;
+    }
+
+    private static long depositRowsScanned(JdbcTemplate jdbcTemplate) throws InterruptedException {
+        Thread.sleep(STATS_DELAY.toMillis());
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT seq_tup_read FROM pg_stat_user_tables WHERE relname = 'deposits'", Long.class);
+        return rows == null ? 0 : rows;
+    }
+}
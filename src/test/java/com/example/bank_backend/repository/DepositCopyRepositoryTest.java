@@ -0,0 +1,93 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.config.JpaConfig;
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.LegalForm;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Загрузка COPY на реальном PostgreSQL: разрешение ссылок по имени/БИК, id из deposits_seq, внешние ключи на месте
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, DepositCopyRepository.class})
+@Testcontainers
+class DepositCopyRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private DepositCopyRepository depositCopyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(new Client("ООО Ромашка", null, null, LegalForm.OOO));
+        entityManager.persist(new Bank("ПАО Сбербанк", "044525225"));
+        entityManager.flush();
+    }
+
+    @Test
+    void copyAndInsert_ShouldResolveReferencesAndRejectTheRest() {
+        StringBuilder csv = new StringBuilder("clientName,bik,openingDate,percentage,termMonths\n");
+        int valid = DepositBulkRepository.ID_BLOCK_SIZE + 7; // больше одного блока id
+        for (int i = 0; i < valid; i++) {
+            csv.append("ООО Ромашка,044525225,2015-03-01,7.5,12\n");
+        }
+        csv.append("ООО Неизвестный,044525225,2015-03-01,7.5,12\n");
+        csv.append("ООО Ромашка,000000000,2015-03-01,7.5,12\n");
+        csv.append("ООО Ромашка,044525225,2015-03-01,7.5,0\n");
+
+        depositCopyRepository.createStaging();
+        long read = depositCopyRepository.copyToStaging(new StringReader(csv.toString()));
+        long inserted = depositCopyRepository.insertResolved(read);
+
+        assertThat(read).isEqualTo(valid + 3);
+        assertThat(inserted).isEqualTo(valid);
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM deposits", Long.class);
+        assertThat(new HashSet<>(ids)).hasSize(valid);
+
+        assertThat(depositCopyRepository.findRejected(10))
+                .extracting(DepositCopyRepository.RejectedRow::line)
+                .containsExactly((long) valid + 1, valid + 2L, valid + 3L);
+        assertThat(depositCopyRepository.findRejected(10).get(0).clientFound()).isFalse();
+        assertThat(depositCopyRepository.findRejected(10).get(1).bankFound()).isFalse();
+
+        // загрузка не снимает и не пересоздаёт ограничения deposits
+        Integer validated = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM pg_constraint
+                WHERE conrelid = 'deposits'::regclass AND contype = 'f' AND convalidated""", Integer.class);
+        assertThat(validated).isEqualTo(2);
+    }
+}
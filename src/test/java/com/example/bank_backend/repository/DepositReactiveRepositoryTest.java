@@ -0,0 +1,131 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.config.JpaConfig;
+import com.example.bank_backend.config.R2dbcConfig;
+import com.example.bank_backend.dto.DepositView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Реактивное чтение должно отдавать те же строки и в том же порядке, что и DepositRepository.findViews.
+// Строки вставляются вне тестовой транзакции: соединение R2DBC не видит незакоммиченные данные JDBC
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, R2dbcConfig.class, DepositReactiveRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+class DepositReactiveRepositoryTest {
+
+    private static final int DEPOSITS = 300;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName());
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private DepositReactiveRepository depositReactiveRepository;
+
+    @Autowired
+    private DepositRepository depositRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE deposits, clients, banks CASCADE");
+        jdbcTemplate.update("""
+                INSERT INTO banks (id, name, bik)
+                SELECT i, 'Банк ' || i, lpad(i::text, 9, '0') FROM generate_series(1, 5) i""");
+        jdbcTemplate.update("""
+                INSERT INTO clients (id, name, legal_form)
+                SELECT i, 'Клиент ' || i, 'OOO' FROM generate_series(1, 10) i""");
+        jdbcTemplate.update("""
+                INSERT INTO deposits (id, client_id, bank_id, opening_date, percentage, term_months)
+                SELECT i, 1 + i % 10, 1 + i % 5, DATE '2024-01-01' + i % 365, 1 + (i % 20) * 0.5, 1 + i % 36
+                FROM generate_series(1, ?) i""", DEPOSITS);
+    }
+
+    @Test
+    void findViews_WithoutFilters_ShouldMatchJpaInIdOrder() {
+        List<DepositView> reactive = depositReactiveRepository.findViews(null, null, null, null, null, null, null, null,
+                "id", Sort.Direction.ASC, null).collectList().block();
+
+        assertThat(reactive).hasSize(DEPOSITS).isEqualTo(jpa(null, null, null, null, null, null, null, null,
+                "id", Sort.Direction.ASC, DEPOSITS));
+    }
+
+    @Test
+    void findViews_WithFiltersSortAndLimit_ShouldMatchJpa() {
+        // под фильтр попадают 16 депозитов: предел 10 обрезает выборку
+        List<DepositView> reactive = depositReactiveRepository.findViews(null, 2L, null, null, 3.0, null, null, 12,
+                "percentage", Sort.Direction.DESC, 10).collectList().block();
+
+        assertThat(reactive).hasSize(10).isEqualTo(jpa(null, 2L, null, null, 3.0, null, null, 12,
+                "percentage", Sort.Direction.DESC, 10));
+    }
+
+    @Test
+    void findViews_WithDateRangeAndClient_ShouldMatchJpaByMaturity() {
+        LocalDate from = LocalDate.of(2024, 2, 1);
+        LocalDate to = LocalDate.of(2024, 6, 30);
+        List<DepositView> reactive = depositReactiveRepository.findViews(3L, null, from, to, null, 8.0, 6, null,
+                "maturityDate", Sort.Direction.ASC, null).collectList().block();
+
+        assertThat(reactive).isNotEmpty().isEqualTo(jpa(3L, null, from, to, null, 8.0, 6, null,
+                "maturityDate", Sort.Direction.ASC, DEPOSITS));
+    }
+
+    @Test
+    void findViews_WhenSubscriberCancels_ShouldStopEarly() {
+        List<DepositView> first = depositReactiveRepository.findViews(null, null, null, null, null, null, null, null,
+                "id", Sort.Direction.ASC, null).take(5).collectList().block();
+
+        assertThat(first).extracting(DepositView::id).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void findViewById_ShouldReturnViewOrEmpty() {
+        DepositView view = depositReactiveRepository.findViewById(7).block();
+
+        assertThat(view).isEqualTo(new DepositView(7L, 8L, "Клиент 8", 3L, "Банк 3", "000000003",
+                LocalDate.of(2024, 1, 8), 4.5, 8, LocalDate.of(2024, 9, 8)));
+        assertThat(depositReactiveRepository.findViewById(DEPOSITS + 1).blockOptional()).isEmpty();
+    }
+
+    private List<DepositView> jpa(Long clientId, Long bankId, LocalDate openingDateFrom, LocalDate openingDateTo,
+                                  Double minPercentage, Double maxPercentage, Integer minTerm, Integer maxTerm,
+                                  String sortBy, Sort.Direction direction, int limit) {
+        Sort sort = Sort.by(direction, sortBy);
+        return depositRepository.findViews(DepositSpecifications.filter(clientId, bankId, openingDateFrom, openingDateTo,
+                        minPercentage, maxPercentage, minTerm, maxTerm),
+                "id".equals(sortBy) ? sort : sort.and(Sort.by(direction, "id")), limit);
+    }
+}
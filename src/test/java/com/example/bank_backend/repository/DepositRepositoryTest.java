@@ -0,0 +1,340 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.config.JpaConfig;
+import com.example.bank_backend.dto.BankDepositStats;
+import com.example.bank_backend.dto.ClientDepositStats;
+import com.example.bank_backend.dto.TermDepositStats;
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.dto.PageCursor;
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.Deposit;
+import com.example.bank_backend.model.LegalForm;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Проверка числа SQL-запросов: чтение без N+1 (не зависит от числа строк), вставка — пакетами;
+// keyset-пагинация по курсору и условия DepositSpecifications на реальных данных
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+@Testcontainers
+class DepositRepositoryTest {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private DepositRepository depositRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Client> clients = new ArrayList<>();
+        List<Bank> banks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Client client = new Client("Клиент " + i, "К" + i, "Адрес " + i, LegalForm.values()[i % LegalForm.values().length]);
+            entityManager.persist(client);
+            clients.add(client);
+
+            Bank bank = new Bank("Банк " + i, String.format("%09d", i));
+            entityManager.persist(bank);
+            banks.add(bank);
+        }
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            entityManager.persist(new Deposit(clients.get(i % clients.size()), banks.get(i % banks.size()),
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365), 1.0 + i % 10, 1 + i % 36));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_PageOf1000_ShouldIssueSingleStatement() {
+        List<Deposit> deposits = depositRepository.findAll(Specification.where(null), Sort.by("id"), PAGE_SIZE);
+
+        deposits.forEach(d -> {
+            d.getClient().getName();
+            d.getBank().getName();
+        });
+
+        assertThat(deposits).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findAll_FilteredPage_ShouldIssueSingleStatement() {
+        List<Deposit> deposits = depositRepository.findAll(
+                DepositSpecifications.filter(null, null, null, null, 5.0, null, null, null),
+                Sort.by("percentage").and(Sort.by("id")), PAGE_SIZE);
+
+        deposits.forEach(d -> {
+            d.getClient().getName();
+            d.getBank().getName();
+        });
+
+        assertThat(deposits).isNotEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findViews_PageOf1000_ShouldIssueSingleStatementWithoutManagedEntities() {
+        List<DepositView> views = depositRepository.findViews(Specification.where(null), Sort.by("id"), PAGE_SIZE);
+
+        assertThat(views).hasSize(PAGE_SIZE);
+        assertThat(views.get(0).client().name()).isNotNull();
+        assertThat(views.get(0).bank().bik()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findById_ShouldLoadClientAndBankInSameStatement() {
+        Long id = depositRepository.findAll(Sort.by("id")).get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        Deposit deposit = depositRepository.findById(id).orElseThrow();
+        deposit.getClient().getName();
+        deposit.getBank().getName();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void streamViews_ShouldReadAllRowsInIdOrderWithoutManagedEntities() {
+        try (Stream<DepositView> rows = depositRepository.streamViews(Specification.where(null), 100)) {
+            List<Long> ids = rows.map(DepositView::id).toList();
+
+            assertThat(ids).hasSize(PAGE_SIZE).isSorted();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // У 1000 депозитов по 10 ставок, 36 сроков и 365 дат открытия: страницы по 37 строк рвут группы одинаковых
+    // значений в разных местах. Страницы, склеенные по курсору последней строки, должны дать тот же порядок,
+    // что и один запрос без курсора: без пропусков и повторов на границах групп, в обоих направлениях
+    @Test
+    void after_PagingOverDuplicateSortValues_ShouldVisitEveryRowOnce() {
+        Map<String, Function<DepositView, Object>> fields = new LinkedHashMap<>();
+        fields.put("percentage", DepositView::percentage);
+        fields.put("termMonths", DepositView::termMonths);
+        fields.put("openingDate", DepositView::openingDate);
+        fields.put("maturityDate", DepositView::maturityDate);
+
+        fields.forEach((sortBy, sortValue) -> {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                Sort sort = Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+                List<Long> expected = depositRepository.findViews(Specification.where(null), sort, PAGE_SIZE + 1)
+                        .stream().map(DepositView::id).toList();
+
+                List<Long> paged = new ArrayList<>();
+                Specification<Deposit> spec = Specification.where(null);
+                List<DepositView> page;
+                // повторы на границах страниц раздули бы список, и цикл закончится, даже если курсор не продвигается
+                while (paged.size() <= PAGE_SIZE && !(page = depositRepository.findViews(spec, sort, 37)).isEmpty()) {
+                    page.forEach(view -> paged.add(view.id()));
+                    DepositView last = page.get(page.size() - 1);
+                    spec = KeysetSpecifications.after(
+                            new PageCursor(sortBy, direction, String.valueOf(sortValue.apply(last)), last.id()));
+                }
+
+                assertThat(paged).as("%s %s", sortBy, direction)
+                        .hasSize(PAGE_SIZE)
+                        .doesNotHaveDuplicates()
+                        .containsExactlyElementsOf(expected);
+            }
+        });
+    }
+
+    // Каждое условие фильтра отбирает ровно те строки, что проходят ту же проверку в памяти (границы включаются)
+    @Test
+    void specifications_EachCondition_ShouldSelectMatchingRowsOnly() {
+        List<DepositView> all = depositRepository.findViews(Specification.where(null), Sort.by("id"), PAGE_SIZE + 1);
+        Long clientId = all.get(123).client().id();
+        Long bankId = all.get(123).bank().id();
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 5, 31);
+
+        assertSelects(DepositSpecifications.hasClientId(clientId), all, view -> view.client().id().equals(clientId));
+        assertSelects(DepositSpecifications.hasBankId(bankId), all, view -> view.bank().id().equals(bankId));
+        assertSelects(DepositSpecifications.openedFrom(from), all, view -> !view.openingDate().isBefore(from));
+        assertSelects(DepositSpecifications.openedTo(to), all, view -> !view.openingDate().isAfter(to));
+        assertSelects(DepositSpecifications.percentageFrom(4.0), all, view -> view.percentage() >= 4.0);
+        assertSelects(DepositSpecifications.percentageTo(4.0), all, view -> view.percentage() <= 4.0);
+        assertSelects(DepositSpecifications.termFrom(12), all, view -> view.termMonths() >= 12);
+        assertSelects(DepositSpecifications.termTo(12), all, view -> view.termMonths() <= 12);
+        assertSelects(DepositSpecifications.maturesFrom(from), all, view -> !view.maturityDate().isBefore(from));
+        assertSelects(DepositSpecifications.maturesTo(to), all, view -> !view.maturityDate().isAfter(to));
+    }
+
+    @Test
+    void specifications_WithNullParameters_ShouldAddNoCondition() {
+        List<Long> all = ids(Specification.where(null));
+
+        assertThat(all).hasSize(PAGE_SIZE);
+        assertThat(ids(DepositSpecifications.hasClientId(null))).isEqualTo(all);
+        assertThat(ids(DepositSpecifications.hasBankId(null))).isEqualTo(all);
+        assertThat(ids(DepositSpecifications.openedFrom(null))).isEqualTo(all);
+        assertThat(ids(DepositSpecifications.openedTo(null))).isEqualTo(all);
+        assertThat(ids(DepositSpecifications.percentageFrom(null))).isEqualTo(all);
+        assertThat(ids(DepositSpecifications.percentageTo(null))).isEqualTo(all);
+        assertThat(ids(DepositSpecifications.termFrom(null))).isEqualTo(all);
+        assertThat(ids(DepositSpecifications.termTo(null))).isEqualTo(all);
+        assertThat(ids(DepositSpecifications.maturesFrom(null))).isEqualTo(all);
+        assertThat(ids(DepositSpecifications.maturesTo(null))).isEqualTo(all);
+        assertThat(ids(DepositSpecifications.filter(null, null, null, null, null, null, null, null))).isEqualTo(all);
+    }
+
+    @Test
+    void filter_ShouldCombineConditionsWithAnd() {
+        List<DepositView> all = depositRepository.findViews(Specification.where(null), Sort.by("id"), PAGE_SIZE + 1);
+        Long bankId = all.get(123).bank().id();
+        LocalDate from = LocalDate.of(2024, 2, 1);
+        LocalDate to = LocalDate.of(2024, 10, 31);
+
+        assertSelects(DepositSpecifications.filter(null, bankId, from, to, 3.0, 5.0, 6, 30), all,
+                view -> view.bank().id().equals(bankId)
+                        && !view.openingDate().isBefore(from) && !view.openingDate().isAfter(to)
+                        && view.percentage() >= 3.0 && view.percentage() <= 5.0
+                        && view.termMonths() >= 6 && view.termMonths() <= 30);
+    }
+
+    @Test
+    void saveAll_ShouldBatchInsertsWithPooledIds() {
+        Client client = entityManager.createQuery("select c from Client c", Client.class).setMaxResults(1).getSingleResult();
+        Bank bank = entityManager.createQuery("select b from Bank b", Bank.class).setMaxResults(1).getSingleResult();
+        statistics.clear();
+
+        List<Deposit> deposits = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            deposits.add(new Deposit(client, bank, LocalDate.of(2024, 6, 1), 6.5, 12));
+        }
+        depositRepository.saveAll(deposits);
+        entityManager.flush();
+
+        // 500 строк: ~10 nextval (блоки по 50) и ~10 пакетных INSERT вместо 500 отдельных запросов
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(500);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(25);
+        assertThat(deposits).extracting(Deposit::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void maturityDate_ShouldBeGeneratedByDatabaseLikePlusMonths() {
+        Client client = entityManager.createQuery("select c from Client c", Client.class).setMaxResults(1).getSingleResult();
+        Bank bank = entityManager.createQuery("select b from Bank b", Bank.class).setMaxResults(1).getSingleResult();
+        Deposit deposit = new Deposit(client, bank, LocalDate.of(2024, 1, 31), 6.5, 1);
+        depositRepository.save(deposit);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(deposit.getMaturityDate()).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(depositRepository.findById(deposit.getId()).orElseThrow().getMaturityDate())
+                .isEqualTo(LocalDate.of(2024, 2, 29));
+
+        List<DepositView> maturing = depositRepository.findViews(
+                DepositSpecifications.maturesFrom(LocalDate.of(2024, 2, 29))
+                        .and(DepositSpecifications.maturesTo(LocalDate.of(2024, 2, 29))),
+                Sort.by("maturityDate", "id"), 10);
+        assertThat(maturing).extracting(DepositView::id).contains(deposit.getId());
+        assertThat(maturing).allSatisfy(view -> assertThat(view.maturityDate()).isEqualTo(LocalDate.of(2024, 2, 29)));
+    }
+
+    @Test
+    void findBankStats_ShouldAggregateInSingleStatementWithoutManagedEntities() {
+        // 1000 депозитов на 50 банков: у банка i — депозиты j ≡ i (mod 50), ставка 1 + j % 10, срок 1 + j % 36
+        List<BankDepositStats> stats = depositRepository.findBankStats(
+                DepositSpecifications.filter(null, null, null, null, null, null, null, null));
+
+        assertThat(stats).hasSize(50);
+        assertThat(stats).extracting(BankDepositStats::deposits).containsOnly(20L);
+        assertThat(stats).extracting(BankDepositStats::bankId).isSorted();
+        BankDepositStats first = stats.get(0);
+        assertThat(first.terms().months1To3() + first.terms().months4To6() + first.terms().months7To12()
+                + first.terms().months13To24() + first.terms().over24()).isEqualTo(20L);
+        assertThat(first.weightedPercentage()).isBetween(first.minPercentage(), first.maxPercentage());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findTopClientStats_ShouldApplyFiltersAndLimit() {
+        List<ClientDepositStats> stats = depositRepository.findTopClientStats(
+                DepositSpecifications.filter(null, null, null, null, 5.0, 5.0, null, null), 3);
+
+        // ставка 5 — у депозитов j ≡ 4 (mod 10), это клиенты 4, 14, 24, 34, 44 по 20 депозитов
+        assertThat(stats).hasSize(3);
+        assertThat(stats).extracting(ClientDepositStats::deposits).containsOnly(20L);
+        assertThat(stats).extracting(ClientDepositStats::averagePercentage).containsOnly(5.0);
+        assertThat(stats).extracting(ClientDepositStats::clientId).isSorted();
+    }
+
+    @Test
+    void findTermStats_ShouldReturnRowPerTerm() {
+        List<TermDepositStats> stats = depositRepository.findTermStats(
+                DepositSpecifications.filter(null, null, null, null, null, null, 1, 12));
+
+        assertThat(stats).extracting(TermDepositStats::termMonths).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12);
+        assertThat(stats.stream().mapToLong(TermDepositStats::deposits).sum())
+                .isEqualTo(IntStream.range(0, PAGE_SIZE).filter(i -> 1 + i % 36 <= 12).count());
+    }
+
+    private List<Long> ids(Specification<Deposit> spec) {
+        return depositRepository.findViews(spec, Sort.by("id"), PAGE_SIZE + 1).stream().map(DepositView::id).toList();
+    }
+
+    // Условие должно действительно отсекать часть строк, иначе сравнение ничего не доказывает
+    private void assertSelects(Specification<Deposit> spec, List<DepositView> all, Predicate<DepositView> expected) {
+        List<Long> matching = all.stream().filter(expected).map(DepositView::id).toList();
+
+        assertThat(matching).isNotEmpty().hasSizeLessThan(all.size());
+        assertThat(ids(spec)).containsExactlyElementsOf(matching);
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.config.JpaConfig;
+import com.example.bank_backend.dto.BankDepositStats;
+import com.example.bank_backend.dto.DepositRequest;
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.Deposit;
+import com.example.bank_backend.model.LegalForm;
+import com.example.bank_backend.service.BankDirectory;
+import com.example.bank_backend.service.ClientCache;
+import com.example.bank_backend.service.DepositService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// Инкрементальные итоги deposit_summary должны совпадать с GROUP BY по самой таблице deposits
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, DepositSummaryRepository.class, DepositService.class, ClientCache.class, BankDirectory.class})
+@Testcontainers
+class DepositSummaryRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private DepositSummaryRepository depositSummaryRepository;
+
+    @Autowired
+    private DepositRepository depositRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DepositService depositService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Bank first;
+
+    private final List<Deposit> deposits = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Client client = new Client("ООО Ромашка", null, null, LegalForm.OOO);
+        entityManager.persist(client);
+        first = new Bank("ПАО Сбербанк", "044525225");
+        Bank second = new Bank("АО Альфа-Банк", "044525593");
+        entityManager.persist(first);
+        entityManager.persist(second);
+
+        List<DepositSummaryRepository.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Bank bank = i % 3 == 0 ? second : first;
+            Deposit deposit = new Deposit(client, bank, LocalDate.of(2024, 1, 1), 4.0 + (i % 17) * 0.35, 1 + i % 40);
+            entityManager.persist(deposit);
+            deposits.add(deposit);
+            entries.add(new DepositSummaryRepository.Entry(bank.getId(), deposit.getTermMonths(), deposit.getPercentage()));
+        }
+        entityManager.flush();
+        depositSummaryRepository.addAll(entries);
+    }
+
+    @Test
+    void addAll_ShouldMatchGroupByOverDeposits() {
+        assertMatchesDeposits();
+    }
+
+    @Test
+    void remove_OfBoundaryRate_ShouldRecomputeMinAndMax() {
+        // все депозиты первого банка со сроком 1-3 месяца, начиная с самой низкой ставки
+        List<Deposit> group = deposits.stream()
+                .filter(d -> d.getBank() == first && d.getTermMonths() <= 3)
+                .sorted((a, b) -> Double.compare(a.getPercentage(), b.getPercentage()))
+                .toList();
+        for (Deposit deposit : group.subList(0, group.size() - 1)) {
+            entityManager.remove(deposit);
+            entityManager.flush();
+            depositSummaryRepository.remove(first.getId(), deposit.getTermMonths(), deposit.getPercentage());
+            assertMatchesDeposits();
+        }
+
+        Deposit last = group.get(group.size() - 1);
+        entityManager.remove(last);
+        entityManager.flush();
+        depositSummaryRepository.remove(first.getId(), last.getTermMonths(), last.getPercentage());
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM deposit_summary WHERE bank_id = ? AND term_bucket = 0", Integer.class, first.getId());
+        assertThat(rows).isZero();
+        assertMatchesDeposits();
+    }
+
+    @Test
+    void rebuild_ShouldRestoreSummaryAfterDrift() {
+        jdbcTemplate.update("UPDATE deposit_summary SET deposits = deposits + 100, min_percentage = 0");
+
+        int rows = depositSummaryRepository.rebuild();
+
+        assertThat(rows).isEqualTo(10); // 2 банка × 5 групп сроков
+        assertMatchesDeposits();
+    }
+
+    // Параллельные PUT одних и тех же депозитов, переносящие их между двумя банками навстречу друг другу.
+    // Без блокировки строки депозита две транзакции вычитают из итогов одни и те же старые значения
+    // и итоги расходятся; без порядка ключей встречные переносы взаимоблокируются.
+    // Данные для потоков коммитятся отдельно от транзакции теста и удаляются в конце
+    @Test
+    void updateDeposit_ConcurrentMovesBetweenBanks_ShouldKeepSummaryInSync() throws Exception {
+        TransactionTemplate committed = new TransactionTemplate(transactionManager);
+        committed.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Long> ids = committed.execute(status -> {
+            Client client = new Client("ООО Василёк", null, null, LegalForm.OOO);
+            Bank left = new Bank("АО Левый берег", "044525001");
+            Bank right = new Bank("АО Правый берег", "044525002");
+            entityManager.persist(client);
+            entityManager.persist(left);
+            entityManager.persist(right);
+            List<Long> created = new ArrayList<>(List.of(client.getId(), left.getId(), right.getId()));
+            List<DepositSummaryRepository.Entry> entries = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Bank bank = i % 2 == 0 ? left : right;
+                Deposit deposit = new Deposit(client, bank, LocalDate.of(2024, 1, 1), 5.0 + i, 6 + 12 * i);
+                entityManager.persist(deposit);
+                created.add(deposit.getId());
+                entries.add(new DepositSummaryRepository.Entry(bank.getId(), deposit.getTermMonths(), deposit.getPercentage()));
+            }
+            entityManager.flush();
+            depositSummaryRepository.addAll(entries);
+            return created;
+        });
+        long clientId = ids.get(0);
+        long[] bankIds = {ids.get(1), ids.get(2)};
+        List<Long> depositIds = ids.subList(3, ids.size());
+
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                workers.add(pool.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(thread);
+                    for (int i = 0; i < 50; i++) {
+                        long depositId = depositIds.get(random.nextInt(depositIds.size()));
+                        depositService.updateDeposit(depositId, new DepositRequest(clientId, bankIds[(thread + i) % 2],
+                                LocalDate.of(2024, 1, 1), 3.0 + random.nextInt(40) * 0.25, 1 + random.nextInt(36)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES); // взаимоблокировка в PostgreSQL пришла бы сюда исключением
+            }
+
+            assertMatchesDeposits();
+        } finally {
+            pool.shutdownNow();
+            committed.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM deposit_summary WHERE bank_id IN (?, ?)", bankIds[0], bankIds[1]);
+                jdbcTemplate.update("DELETE FROM deposits WHERE client_id = ?", clientId);
+                jdbcTemplate.update("DELETE FROM banks WHERE id IN (?, ?)", bankIds[0], bankIds[1]);
+                jdbcTemplate.update("DELETE FROM clients WHERE id = ?", clientId);
+            });
+        }
+    }
+
+    @Test
+    void termBucket_ShouldMatchBankStatsBuckets() {
+        assertThat(List.of(1, 3, 4, 6, 7, 12, 13, 24, 25, 600))
+                .extracting(DepositSummaryRepository::termBucket)
+                .containsExactly(0, 0, 1, 1, 2, 2, 3, 3, 4, 4);
+    }
+
+    private void assertMatchesDeposits() {
+        List<BankDepositStats> expected = depositRepository.findBankStats(
+                DepositSpecifications.filter(null, null, null, null, null, null, null, null));
+        List<BankDepositStats> actual = depositSummaryRepository.findBankStats(null);
+
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            BankDepositStats e = expected.get(i);
+            BankDepositStats a = actual.get(i);
+            assertThat(a.bankId()).isEqualTo(e.bankId());
+            assertThat(a.deposits()).isEqualTo(e.deposits());
+            assertThat(a.terms()).isEqualTo(e.terms());
+            assertThat(a.minPercentage()).isEqualTo(e.minPercentage());
+            assertThat(a.maxPercentage()).isEqualTo(e.maxPercentage());
+            assertThat(a.averagePercentage()).isCloseTo(e.averagePercentage(), within(1e-9));
+            assertThat(a.weightedPercentage()).isCloseTo(e.weightedPercentage(), within(1e-9));
+            assertThat(a.averageTermMonths()).isCloseTo(e.averageTermMonths(), within(1e-9));
+        }
+        assertThat(depositSummaryRepository.findBankStats(first.getId()))
+                .extracting(BankDepositStats::bankId).containsExactly(first.getId());
+    }
+}
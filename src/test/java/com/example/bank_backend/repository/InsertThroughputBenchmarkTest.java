@@ -0,0 +1,191 @@
+package com.example.bank_backend.repository;
+
+import com.example.bank_backend.config.JpaConfig;
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.Deposit;
+import com.example.bank_backend.model.LegalForm;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Пропускная способность вставки депозитов: построчный INSERT ... RETURNING id (так работает IDENTITY)
+// против id из последовательности блоками (пакетный INSERT в Hibernate и DepositBulkRepository).
+// Запуск: mvn test -Pbenchmark
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, DepositBulkRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+class InsertThroughputBenchmarkTest {
+
+    private static final int BULK_ROWS = 20_000;
+    private static final int SINGLE_ROWS = 2_000;
+    private static final int WARMUP_ROWS = 500;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl()
+                + (postgres.getJdbcUrl().contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private DepositRepository depositRepository;
+
+    @Autowired
+    private DepositBulkRepository depositBulkRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Client client;
+    private Bank bank;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        // Та же таблица, что deposits (столбцы, генерируемый maturity_date, индексы, внешние ключи);
+        // отличается только способ выдачи id: IDENTITY вместо последовательности блоками
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_identity_deposits");
+        jdbcTemplate.execute("CREATE TABLE bench_identity_deposits (LIKE deposits INCLUDING ALL)");
+        jdbcTemplate.execute("""
+                ALTER TABLE bench_identity_deposits
+                    ALTER COLUMN id DROP DEFAULT,
+                    ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY,
+                    ADD CONSTRAINT fk_bench_identity_deposits_client FOREIGN KEY (client_id) REFERENCES clients (id),
+                    ADD CONSTRAINT fk_bench_identity_deposits_bank FOREIGN KEY (bank_id) REFERENCES banks (id)""");
+        tx.executeWithoutResult(status -> {
+            client = new Client("Бенчмарк Клиент " + System.nanoTime(), null, null, LegalForm.OOO);
+            bank = new Bank("Бенчмарк Банк " + System.nanoTime(), String.format("%09d", System.nanoTime() % 1_000_000_000));
+            entityManager.persist(client);
+            entityManager.persist(bank);
+        });
+    }
+
+    @Test
+    void bulkInsertThroughput() {
+        identityRowByRow(WARMUP_ROWS);
+        hibernateBatched(WARMUP_ROWS);
+        jdbcBatched(WARMUP_ROWS);
+
+        report("bulk", "identity-row-by-row", BULK_ROWS, time(() -> identityRowByRow(BULK_ROWS)));
+        report("bulk", "sequence-hibernate-batch", BULK_ROWS, time(() -> hibernateBatched(BULK_ROWS)));
+        report("bulk", "sequence-jdbc-rewritten-batch", BULK_ROWS, time(() -> jdbcBatched(BULK_ROWS)));
+    }
+
+    @Test
+    void singleRowInsertThroughput() {
+        identitySingleTransactions(WARMUP_ROWS);
+        sequenceSingleTransactions(WARMUP_ROWS);
+
+        report("single", "identity", SINGLE_ROWS, time(() -> identitySingleTransactions(SINGLE_ROWS)));
+        report("single", "sequence-pooled", SINGLE_ROWS, time(() -> sequenceSingleTransactions(SINGLE_ROWS)));
+    }
+
+    // Так Hibernate вставляет сущности с IDENTITY: каждая строка — отдельный запрос за ключом
+    private void identityRowByRow(int rows) {
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < rows; i++) {
+                insertIdentity(i);
+            }
+        });
+    }
+
+    private void identitySingleTransactions(int rows) {
+        for (int i = 0; i < rows; i++) {
+            int n = i;
+            tx.executeWithoutResult(status -> insertIdentity(n));
+        }
+    }
+
+    private void insertIdentity(int i) {
+        jdbcTemplate.queryForObject("""
+                INSERT INTO bench_identity_deposits (client_id, bank_id, opening_date, percentage, term_months)
+                VALUES (?, ?, ?, ?, ?) RETURNING id""", Long.class,
+                client.getId(), bank.getId(), Date.valueOf(openingDate(i)), 5.0 + i % 5, 1 + i % 36);
+    }
+
+    private void hibernateBatched(int rows) {
+        tx.executeWithoutResult(status -> {
+            Client clientRef = entityManager.getReference(Client.class, client.getId());
+            Bank bankRef = entityManager.getReference(Bank.class, bank.getId());
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(new Deposit(clientRef, bankRef, openingDate(i), 5.0 + i % 5, 1 + i % 36));
+                if ((i + 1) % 1000 == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    private void sequenceSingleTransactions(int rows) {
+        for (int i = 0; i < rows; i++) {
+            int n = i;
+            tx.executeWithoutResult(status -> depositRepository.save(new Deposit(
+                    entityManager.getReference(Client.class, client.getId()),
+                    entityManager.getReference(Bank.class, bank.getId()),
+                    openingDate(n), 5.0 + n % 5, 1 + n % 36)));
+        }
+    }
+
+    private void jdbcBatched(int rows) {
+        tx.executeWithoutResult(status -> {
+            List<Long> ids = depositBulkRepository.allocateIds(rows);
+            List<DepositBulkRepository.Row> batch = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                batch.add(new DepositBulkRepository.Row(ids.get(i), client.getId(), bank.getId(),
+                        openingDate(i), 5.0 + i % 5, 1 + i % 36));
+            }
+            depositBulkRepository.insertAll(batch);
+        });
+    }
+
+    private static LocalDate openingDate(int i) {
+        return LocalDate.of(2024, 1, 1).plusDays(i % 365);
+    }
+
+    private static long time(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String group, String scenario, int rows, long nanos) {
+        System.out.printf("insert-throughput group=%s scenario=%s rows=%d ms=%d rowsPerSec=%.0f%n",
+                group, scenario, rows, nanos / 1_000_000, rows * 1e9 / nanos);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.repository.BankRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BankDirectoryTest {
+
+    @Mock
+    private BankRepository bankRepository;
+
+    @InjectMocks
+    private BankDirectory bankDirectory;
+
+    @Test
+    void refresh_ShouldIndexBanksByIdBikAndName() {
+        given(bankRepository.findAll()).willReturn(List.of(
+                createTestBank(1L, "Альфа Банк", "111111111"),
+                createTestBank(2L, "Бета  Банк", "222222222")));
+
+        bankDirectory.refresh();
+
+        assertThat(bankDirectory.size()).isEqualTo(2);
+        assertThat(bankDirectory.findById(1L)).map(Bank::getBik).contains("111111111");
+        assertThat(bankDirectory.findByBik("222222222")).map(Bank::getId).contains(2L);
+        assertThat(bankDirectory.findByName("  бета банк ")).map(Bank::getId).contains(2L);
+        verify(bankRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void findById_WithMiss_ShouldLoadFromRepositoryOnce() {
+        Bank bank = createTestBank(3L, "Гамма Банк", "333333333");
+        given(bankRepository.findById(3L)).willReturn(Optional.of(bank));
+
+        assertThat(bankDirectory.findById(3L)).contains(bank);
+        assertThat(bankDirectory.findById(3L)).contains(bank);
+
+        verify(bankRepository, times(1)).findById(3L);
+        assertThat(bankDirectory.findByBik("333333333")).contains(bank);
+    }
+
+    @Test
+    void findById_WithNonExistingId_ShouldReturnEmpty() {
+        given(bankRepository.findById(999L)).willReturn(Optional.empty());
+
+        assertThat(bankDirectory.findById(999L)).isEmpty();
+        assertThat(bankDirectory.size()).isZero();
+    }
+
+    @Test
+    void put_ShouldReplaceOldBikAndNameIndexes() {
+        bankDirectory.put(createTestBank(1L, "Старый Банк", "111111111"));
+
+        bankDirectory.put(createTestBank(1L, "Новый Банк", "999999999"));
+
+        assertThat(bankDirectory.size()).isEqualTo(1);
+        assertThat(bankDirectory.findByBik("111111111")).isEmpty();
+        assertThat(bankDirectory.findByName("Старый Банк")).isEmpty();
+        assertThat(bankDirectory.findByBik("999999999")).map(Bank::getName).contains("Новый Банк");
+    }
+
+    @Test
+    void remove_ShouldDropBankFromAllIndexes() {
+        bankDirectory.put(createTestBank(1L, "Банк", "111111111"));
+        given(bankRepository.findById(1L)).willReturn(Optional.empty());
+
+        bankDirectory.remove(1L);
+
+        assertThat(bankDirectory.findByBik("111111111")).isEmpty();
+        assertThat(bankDirectory.findByName("Банк")).isEmpty();
+        assertThat(bankDirectory.findById(1L)).isEmpty();
+    }
+
+    @Test
+    void remove_DuringMissLoad_ShouldNotBeOverwrittenByLoadedBank() throws Exception {
+        Bank bank = createTestBank(3L, "Гамма Банк", "333333333");
+        Thread[] deleting = new Thread[1];
+        given(bankRepository.findById(3L)).willAnswer(invocation -> {
+            // Банк удаляется, пока дочитывание по промаху ещё не положило его в справочник
+            deleting[0] = new Thread(() -> bankDirectory.remove(3L));
+            deleting[0].start();
+            deleting[0].join(200);
+            return Optional.of(bank);
+        });
+
+        assertThat(bankDirectory.findById(3L)).contains(bank);
+        deleting[0].join();
+
+        assertThat(bankDirectory.size()).isZero();
+        assertThat(bankDirectory.findByBik("333333333")).isEmpty();
+    }
+
+    private static Bank createTestBank(Long id, String name, String bik) {
+        Bank bank = new Bank(name, bik);
+        bank.setId(id);
+        return bank;
+    }
+}
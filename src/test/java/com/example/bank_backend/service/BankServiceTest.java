@@ -1,15 +1,19 @@
 package com.example.bank_backend.service;
 
+import com.example.bank_backend.dto.BankView;
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.exception.*;
 import com.example.bank_backend.model.Bank;
 import com.example.bank_backend.repository.BankRepository;
 import com.example.bank_backend.repository.DepositRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -19,7 +23,9 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -33,6 +39,9 @@ class BankServiceTest {
     @Mock
     private DepositRepository depositRepository;
 
+    @Mock
+    private BankDirectory bankDirectory;
+
     @InjectMocks
     private BankService bankService;
 
@@ -45,13 +54,13 @@ class BankServiceTest {
 
         List<Bank> banks = Arrays.asList(bank1, bank2);
 
-        given(bankRepository.findAll(any(Sort.class))).willReturn(banks);
+        given(bankRepository.findViews(ArgumentMatchers.<Specification<Bank>>any(), any(Sort.class), anyInt())).willReturn(toViews(banks));
 
-        List<Bank> result = bankService.findAllBanks(null, null, "name", "asc");
+        CursorPage<BankView> result = bankService.findAllBanks(null, null, "name", "asc", null, null);
 
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getName()).isEqualTo("Тест Банк 1");
-        assertThat(result.get(1).getName()).isEqualTo("Тест Банк 2");
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.content().get(0).name()).isEqualTo("Тест Банк 1");
+        assertThat(result.content().get(1).name()).isEqualTo("Тест Банк 2");
     }
 
     @Test
@@ -61,14 +70,12 @@ class BankServiceTest {
         Bank bank2 = new Bank("БББ Банк", "222222222");
         bank2.setId(2L);
 
-        List<Bank> allBanks = Arrays.asList(bank1, bank2);
+        given(bankRepository.findViews(ArgumentMatchers.<Specification<Bank>>any(), any(Sort.class), anyInt())).willReturn(toViews(List.of(bank1)));
 
-        given(bankRepository.findAll(any(Sort.class))).willReturn(allBanks);
+        CursorPage<BankView> result = bankService.findAllBanks("ААА", null, "name", "asc", null, null);
 
-        List<Bank> result = bankService.findAllBanks("ААА", null, "name", "asc");
-
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getName()).isEqualTo("ААА Банк");
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.content().get(0).name()).isEqualTo("ААА Банк");
     }
 
     @Test
@@ -78,14 +85,12 @@ class BankServiceTest {
         Bank bank2 = new Bank("Банк 2", "987654321");
         bank2.setId(2L);
 
-        List<Bank> allBanks = Arrays.asList(bank1, bank2);
-
-        given(bankRepository.findAll(any(Sort.class))).willReturn(allBanks);
+        given(bankRepository.findViews(ArgumentMatchers.<Specification<Bank>>any(), any(Sort.class), anyInt())).willReturn(toViews(List.of(bank1)));
 
-        List<Bank> result = bankService.findAllBanks(null, "123", "name", "asc");
+        CursorPage<BankView> result = bankService.findAllBanks(null, "123", "name", "asc", null, null);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getBik()).isEqualTo("123456789");
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.content().get(0).bik()).isEqualTo("123456789");
     }
 
     @Test
@@ -97,19 +102,20 @@ class BankServiceTest {
 
         List<Bank> banks = Arrays.asList(bank1, bank2);
 
-        given(bankRepository.findAll(any(Sort.class))).willReturn(banks);
+        given(bankRepository.findViews(ArgumentMatchers.<Specification<Bank>>any(), any(Sort.class), anyInt())).willReturn(toViews(banks));
 
-        List<Bank> result = bankService.findAllBanks(null, null, "name", "desc");
+        CursorPage<BankView> result = bankService.findAllBanks(null, null, "name", "desc", null, null);
 
-        assertThat(result).hasSize(2);
-        verify(bankRepository).findAll(Sort.by("name").descending());
+        assertThat(result.content()).hasSize(2);
+        verify(bankRepository).findViews(ArgumentMatchers.<Specification<Bank>>any(),
+                eq(Sort.by(Sort.Direction.DESC, "name").and(Sort.by(Sort.Direction.DESC, "id"))), eq(51));
     }
 
     @Test
     void findAllBanks_WhenNoBanksFound_ShouldThrowException() {
-        given(bankRepository.findAll(any(Sort.class))).willReturn(Collections.emptyList());
+        given(bankRepository.findViews(ArgumentMatchers.<Specification<Bank>>any(), any(Sort.class), anyInt())).willReturn(toViews(Collections.emptyList()));
 
-        assertThatThrownBy(() -> bankService.findAllBanks(null, null, "name", "asc"))
+        assertThatThrownBy(() -> bankService.findAllBanks(null, null, "name", "asc", null, null))
                 .isInstanceOf(NoBanksFoundException.class)
                 .hasMessage("Список банков пуст.");
     }
@@ -118,7 +124,7 @@ class BankServiceTest {
     void findBankById_WithExistingId_ShouldReturnBank() {
         Bank bank = new Bank("Тест Банк", "123456789");
         bank.setId(1L);
-        given(bankRepository.findById(1L)).willReturn(Optional.of(bank));
+        given(bankDirectory.findById(1L)).willReturn(Optional.of(bank));
 
         Bank result = bankService.findBankById(1L);
 
@@ -130,7 +136,7 @@ class BankServiceTest {
 
     @Test
     void findBankById_WithNonExistingId_ShouldThrowException() {
-        given(bankRepository.findById(999L)).willReturn(Optional.empty());
+        given(bankDirectory.findById(999L)).willReturn(Optional.empty());
 
         assertThatThrownBy(() -> bankService.findBankById(999L))
                 .isInstanceOf(BankNotFoundException.class)
@@ -152,6 +158,7 @@ class BankServiceTest {
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getName()).isEqualTo("Новый Банк");
         verify(bankRepository).save(newBank);
+        verify(bankDirectory).put(savedBank);
     }
 
     @Test
@@ -163,6 +170,7 @@ class BankServiceTest {
                 .isInstanceOf(BankAlreadyExistsException.class)
                 .hasMessage("Дубль Банк");
         verify(bankRepository, never()).save(any(Bank.class));
+        verify(bankDirectory, never()).put(any(Bank.class));
     }
 
     @Test
@@ -192,6 +200,7 @@ class BankServiceTest {
         assertThat(result.getName()).isEqualTo("Новое Название");
         assertThat(result.getBik()).isEqualTo("999999999");
         verify(bankRepository).save(existingBank);
+        verify(bankDirectory).put(existingBank);
     }
 
     @Test
@@ -213,6 +222,7 @@ class BankServiceTest {
         bankService.deleteBank(1L);
 
         verify(bankRepository).delete(bank);
+        verify(bankDirectory).remove(1L);
     }
 
     @Test
@@ -236,5 +246,10 @@ class BankServiceTest {
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessage("Нельзя удалить банк с депозитами");
         verify(bankRepository, never()).delete(any(Bank.class));
+        verify(bankDirectory, never()).remove(any());
+    }
+
+    private static List<BankView> toViews(List<Bank> rows) {
+        return rows.stream().map(BankView::from).toList();
     }
-}
\ No newline at end of file
+}
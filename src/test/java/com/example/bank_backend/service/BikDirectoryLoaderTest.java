@@ -0,0 +1,155 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.BankLoadReport;
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.repository.BankRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BikDirectoryLoaderTest {
+
+    @Mock
+    private BankRepository bankRepository;
+
+    @Mock
+    private BankDirectory bankDirectory;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BikDirectoryLoader bikDirectoryLoader;
+
+    @BeforeEach
+    void setUp() {
+        bikDirectoryLoader = new BikDirectoryLoader(bankRepository, bankDirectory, transactionManager, "");
+    }
+
+    @Test
+    void load_ShouldInsertUpdateAndSkipByBik() {
+        Bank renamed = new Bank("Старое наименование", "044525225");
+        Bank same = new Bank("АО Альфа-Банк", "044525593");
+        given(bankRepository.findByBikIn(anyCollection())).willReturn(List.of(renamed, same));
+        given(bankRepository.findByNameIn(anyCollection())).willReturn(List.of(same));
+
+        BankLoadReport report = bikDirectoryLoader.load(input(
+                entry("044525225", "ПАО Сбербанк")
+                        + entry("044525593", "АО Альфа-Банк")
+                        + entry("044525974", "АО Тинькофф Банк")
+                        + entry("12345", "Банк с коротким БИК")
+                        + entry("044525000", " ")));
+
+        assertThat(report.inserted()).isEqualTo(1);
+        assertThat(report.updated()).isEqualTo(1);
+        assertThat(report.unchanged()).isEqualTo(1);
+        assertThat(report.skipped()).isEqualTo(2);
+        assertThat(report.messages()).containsExactly(
+                "Некорректный БИК: 12345",
+                "БИК 044525000: некорректное наименование участника");
+        assertThat(renamed.getName()).isEqualTo("ПАО Сбербанк");
+
+        ArgumentCaptor<List<Bank>> saved = banksCaptor();
+        verify(bankRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement()
+                .satisfies(bank -> assertThat(bank.getBik()).isEqualTo("044525974"));
+        verify(bankRepository, never()).existsByBik(anyString());
+        verify(bankDirectory).refresh();
+    }
+
+    @Test
+    void load_WhenNameBelongsToAnotherBik_ShouldSkipEntry() {
+        given(bankRepository.findByBikIn(anyCollection())).willReturn(List.of());
+        given(bankRepository.findByNameIn(anyCollection())).willReturn(List.of(new Bank("ПАО Сбербанк", "044525225")));
+
+        BankLoadReport report = bikDirectoryLoader.load(input(
+                entry("044525999", "ПАО Сбербанк") + entry("044525998", "АО Новый") + entry("044525997", "АО Новый")));
+
+        assertThat(report.inserted()).isEqualTo(1);
+        assertThat(report.skipped()).isEqualTo(2);
+        assertThat(report.messages()).containsExactly(
+                "БИК 044525999: наименование 'ПАО Сбербанк' уже принадлежит банку с другим БИК",
+                "БИК 044525997: наименование 'АО Новый' уже принадлежит банку с другим БИК");
+    }
+
+    @Test
+    void load_WithManyEntries_ShouldQueryAndSaveInBatches() {
+        given(bankRepository.findByBikIn(anyCollection())).willReturn(List.of());
+        given(bankRepository.findByNameIn(anyCollection())).willReturn(List.of());
+
+        StringBuilder entries = new StringBuilder();
+        int count = BikDirectoryLoader.BATCH_SIZE * 2 + 10;
+        for (int i = 0; i < count; i++) {
+            entries.append(entry(String.format("04%07d", i), "Банк " + i));
+        }
+
+        BankLoadReport report = bikDirectoryLoader.load(input(entries.toString()));
+
+        assertThat(report.inserted()).isEqualTo(count);
+        verify(bankRepository, times(3)).findByBikIn(anyCollection());
+        verify(bankRepository, times(3)).saveAll(anyList());
+        verify(bankDirectory).refresh();
+    }
+
+    @Test
+    void load_WhenBatchFails_ShouldCountItsEntriesAsSkipped() {
+        given(bankRepository.findByBikIn(anyCollection())).willReturn(List.of());
+        given(bankRepository.findByNameIn(anyCollection())).willReturn(List.of());
+        given(bankRepository.saveAll(anyList())).willThrow(new DataIntegrityViolationException("uk_banks_bik"));
+
+        BankLoadReport report = bikDirectoryLoader.load(input(
+                entry("044525225", "ПАО Сбербанк") + entry("044525593", "АО Альфа-Банк")));
+
+        assertThat(report.inserted()).isZero();
+        assertThat(report.skipped()).isEqualTo(2);
+        assertThat(report.messages()).containsExactly("Пачка из 2 записей не сохранена: uk_banks_bik");
+    }
+
+    @Test
+    void load_WithMalformedXml_ShouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> bikDirectoryLoader.load(input("<BICDirectoryEntry BIC=\"044525225\">")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Некорректный XML справочника БИК");
+        verify(bankDirectory).refresh();
+    }
+
+    @Test
+    void load_WithoutConfiguredPath_ShouldThrowIllegalState() {
+        assertThatThrownBy(() -> bikDirectoryLoader.load())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static String entry(String bik, String name) {
+        return "<BICDirectoryEntry BIC=\"" + bik + "\"><ParticipantInfo NameP=\"" + name + "\" PtType=\"20\"/></BICDirectoryEntry>";
+    }
+
+    private static ByteArrayInputStream input(String entries) {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<ED807 xmlns=\"urn:cbr-ru:ed:v2.0\">" + entries + "</ED807>";
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Bank>> banksCaptor() {
+        return ArgumentCaptor.forClass((Class<List<Bank>>) (Class<?>) List.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.CacheStatsView;
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.LegalForm;
+import com.example.bank_backend.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ClientCacheTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    private ClientCache clientCache;
+
+    @BeforeEach
+    void setUp() {
+        clientCache = new ClientCache(clientRepository, 1_000_000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void findById_ShouldHitDatabaseOnlyOnFirstCall() {
+        Client client = createTestClient(1L, "Крупный Клиент");
+        given(clientRepository.findById(1L)).willReturn(Optional.of(client));
+
+        assertThat(clientCache.findById(1L)).contains(client);
+        assertThat(clientCache.findById(1L)).contains(client);
+
+        verify(clientRepository, times(1)).findById(1L);
+        CacheStatsView stats = clientCache.stats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findById_WithNonExistingId_ShouldNotCacheAbsence() {
+        given(clientRepository.findById(999L)).willReturn(Optional.empty());
+
+        assertThat(clientCache.findById(999L)).isEmpty();
+        assertThat(clientCache.findById(999L)).isEmpty();
+
+        verify(clientRepository, times(2)).findById(999L);
+        assertThat(clientCache.stats().estimatedSize()).isZero();
+    }
+
+    @Test
+    void invalidate_ShouldReloadClientOnNextCall() {
+        Client oldClient = createTestClient(1L, "Старое Имя");
+        Client newClient = createTestClient(1L, "Новое Имя");
+        given(clientRepository.findById(1L)).willReturn(Optional.of(oldClient)).willReturn(Optional.of(newClient));
+
+        clientCache.findById(1L);
+        clientCache.invalidate(1L);
+
+        assertThat(clientCache.findById(1L)).map(Client::getName).contains("Новое Имя");
+        verify(clientRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void weigh_ShouldGrowWithStringFields() {
+        Client small = createTestClient(1L, "К");
+        Client large = createTestClient(2L, "К".repeat(255));
+        large.setAddress("А".repeat(500));
+
+        assertThat(ClientCache.weigh(large)).isGreaterThan(ClientCache.weigh(small));
+    }
+
+    private static Client createTestClient(Long id, String name) {
+        Client client = new Client(name, null, null, LegalForm.OOO);
+        client.setId(id);
+        return client;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.BulkItemResult;
+import com.example.bank_backend.dto.BulkResult;
+import com.example.bank_backend.model.Client;
+import com.example.bank_backend.model.LegalForm;
+import com.example.bank_backend.repository.ClientRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ClientImportServiceTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ClientImportService clientImportService;
+
+    @BeforeEach
+    void setUp() {
+        clientImportService = new ClientImportService(clientRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, objectMapper);
+    }
+
+    @Test
+    void importClients_ShouldSaveValidRowsAndReportEachLine() throws Exception {
+        given(clientRepository.findExistingNames(anyCollection())).willReturn(List.of("ПАО Существующий"));
+        givenSaveAssignsIds();
+
+        String csv = """
+                name,shortName,address,legalForm
+                ООО Ромашка,Ромашка,"г. Москва, ул. Ленина, 1",ООО
+                ПАО Существующий,,,ПАО
+                АО Неизвестная форма,,,XYZ
+                ,,,ИП
+                ООО Ромашка,,,ООО
+                """;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkResult summary = clientImportService.importClients(input(csv), out);
+
+        assertThat(summary.created()).isEqualTo(1);
+        assertThat(summary.failed()).isEqualTo(4);
+
+        List<BulkItemResult> items = reportItems(out);
+        assertThat(items).extracting(BulkItemResult::index).containsExactly(2, 3, 4, 5, 6);
+        assertThat(items.get(0).id()).isEqualTo(1L);
+        assertThat(items.get(1).error()).isEqualTo("Клиент с именем 'ПАО Существующий' уже существует.");
+        assertThat(items.get(2).error()).startsWith("legalForm: Некорректная юридическая форма 'XYZ'");
+        assertThat(items.get(3).error()).isEqualTo("name: Наименование клиента обязательно");
+        assertThat(items.get(4).error()).isEqualTo("Клиент с именем 'ООО Ромашка' уже встречался в файле.");
+
+        ArgumentCaptor<List<Client>> saved = clientsCaptor();
+        verify(clientRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(client -> {
+            assertThat(client.getAddress()).isEqualTo("г. Москва, ул. Ленина, 1");
+            assertThat(client.getLegalForm()).isEqualTo(LegalForm.OOO);
+        });
+    }
+
+    @Test
+    void importClients_WithManyRows_ShouldWorkInChunks() throws Exception {
+        given(clientRepository.findExistingNames(anyCollection())).willReturn(List.of());
+        givenSaveAssignsIds();
+
+        StringBuilder csv = new StringBuilder("name,legalForm\n");
+        int rows = ClientImportService.CHUNK_SIZE * 2 + 10;
+        for (int i = 0; i < rows; i++) {
+            csv.append("Клиент ").append(i).append(",ИП\n");
+        }
+
+        BulkResult summary = clientImportService.importClients(input(csv.toString()), new ByteArrayOutputStream());
+
+        assertThat(summary.created()).isEqualTo(rows);
+        verify(clientRepository, times(3)).findExistingNames(anyCollection());
+        verify(clientRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    void importClients_WhenBatchInsertFails_ShouldReportRowsOfThatBatch() throws Exception {
+        given(clientRepository.findExistingNames(anyCollection())).willReturn(List.of());
+        given(clientRepository.saveAll(anyList())).willThrow(new DataIntegrityViolationException("uk_clients_name"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BulkResult summary = clientImportService.importClients(input("name,legalForm\nООО Гонка,ООО\n"), out);
+
+        assertThat(summary.failed()).isEqualTo(1);
+        assertThat(reportItems(out).get(0).error()).isEqualTo("Ошибка сохранения пачки: uk_clients_name");
+    }
+
+    @Test
+    void importClients_WhenBatchInsertFails_ShouldNotTreatItsNamesAsSeen() throws Exception {
+        given(clientRepository.findExistingNames(anyCollection())).willReturn(List.of());
+        given(clientRepository.saveAll(anyList()))
+                .willThrow(new DataIntegrityViolationException("uk_clients_name"))
+                .willAnswer(inv -> inv.getArgument(0));
+
+        StringBuilder csv = new StringBuilder("name,legalForm\n");
+        for (int i = 0; i < ClientImportService.CHUNK_SIZE; i++) {
+            csv.append("Клиент ").append(i).append(",ИП\n");
+        }
+        csv.append("Клиент 0,ИП\n");
+
+        BulkResult summary = clientImportService.importClients(input(csv.toString()), new ByteArrayOutputStream());
+
+        // первая пачка не сохранена, поэтому повтор имени во второй пачке импортируется
+        assertThat(summary.failed()).isEqualTo(ClientImportService.CHUNK_SIZE);
+        assertThat(summary.created()).isEqualTo(1);
+    }
+
+    @Test
+    void importClients_WithoutRequiredColumns_ShouldFailBeforeReadingRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkResult summary = clientImportService.importClients(input("name,address\nООО Ромашка,Москва\n"), out);
+
+        assertThat(summary.failed()).isEqualTo(1);
+        assertThat(reportItems(out).get(0).error()).isEqualTo("В заголовке нет колонок: legalForm");
+        verify(clientRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void importClients_WithUnclosedQuote_ShouldStopAndReportLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkResult summary = clientImportService.importClients(
+                input("name,legalForm\n\"ООО Ромашка,ООО\nООО Лютик,ООО\n"), out);
+
+        assertThat(summary.created()).isZero();
+        assertThat(reportItems(out).get(0).error()).isEqualTo("Незакрытая кавычка в записи со строки 2");
+    }
+
+    private void givenSaveAssignsIds() {
+        AtomicLong ids = new AtomicLong();
+        given(clientRepository.saveAll(anyList())).willAnswer(inv -> {
+            List<Client> clients = inv.getArgument(0);
+            clients.forEach(client -> client.setId(ids.incrementAndGet()));
+            return clients;
+        });
+    }
+
+    // Все строки отчёта, кроме последней (итог)
+    private List<BulkItemResult> reportItems(ByteArrayOutputStream out) throws Exception {
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(objectMapper.readValue(lines[lines.length - 1], BulkResult.class).items()).isEmpty();
+        return Arrays.stream(lines, 0, lines.length - 1)
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, BulkItemResult.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private static ByteArrayInputStream input(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<Client>> clientsCaptor() {
+        return ArgumentCaptor.forClass((Class<List<Client>>) (Class<?>) List.class);
+    }
+}
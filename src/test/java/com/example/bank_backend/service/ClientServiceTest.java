@@ -1,5 +1,7 @@
 package com.example.bank_backend.service;
 
+import com.example.bank_backend.dto.ClientView;
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.exception.ClientAlreadyExistsException;
 import com.example.bank_backend.exception.ClientNotFoundException;
 import com.example.bank_backend.exception.NoClientsFoundException;
@@ -9,10 +11,12 @@ import com.example.bank_backend.repository.ClientRepository;
 import com.example.bank_backend.repository.DepositRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -22,6 +26,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -35,6 +41,9 @@ class ClientServiceTest {
     @Mock
     private DepositRepository depositRepository;
 
+    @Mock
+    private ClientCache clientCache;
+
     @InjectMocks
     private ClientService clientService;
 
@@ -43,55 +52,52 @@ class ClientServiceTest {
         Client client1 = createTestClient(1L, "ААА Клиент", "ААА", "Адрес ААА", LegalForm.OOO);
         Client client2 = createTestClient(2L, "БББ Клиент", "БББ", "Адрес БББ", LegalForm.AO);
         List<Client> clients = Arrays.asList(client1, client2);
-        given(clientRepository.findAll(any(Sort.class))).willReturn(clients);
+        given(clientRepository.findViews(ArgumentMatchers.<Specification<Client>>any(), any(Sort.class), anyInt())).willReturn(toViews(clients));
 
-        List<Client> result = clientService.findAllClients(null, null, null, null, "name", "asc");
+        CursorPage<ClientView> result = clientService.findAllClients(null, null, null, null, "name", "asc", null, null);
 
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getName()).isEqualTo("ААА Клиент");
-        assertThat(result.get(1).getName()).isEqualTo("БББ Клиент");
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.content().get(0).name()).isEqualTo("ААА Клиент");
+        assertThat(result.content().get(1).name()).isEqualTo("БББ Клиент");
     }
 
     @Test
     void findAllClients_WithNameFilter_ShouldReturnFilteredClients() {
         Client client1 = createTestClient(1L, "Клиент ААА", "ААА", "Адрес 1", LegalForm.OOO);
         Client client2 = createTestClient(2L, "Клиент БББ", "БББ", "Адрес 2", LegalForm.AO);
-        List<Client> allClients = Arrays.asList(client1, client2);
-        given(clientRepository.findAll(any(Sort.class))).willReturn(allClients);
+        given(clientRepository.findViews(ArgumentMatchers.<Specification<Client>>any(), any(Sort.class), anyInt())).willReturn(toViews(List.of(client1)));
 
-        List<Client> result = clientService.findAllClients("ААА", null, null, null, "name", "asc");
+        CursorPage<ClientView> result = clientService.findAllClients("ААА", null, null, null, "name", "asc", null, null);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getName()).isEqualTo("Клиент ААА");
-        assertThat(result.get(0).getShortName()).isEqualTo("ААА");
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.content().get(0).name()).isEqualTo("Клиент ААА");
+        assertThat(result.content().get(0).shortName()).isEqualTo("ААА");
     }
 
     @Test
     void findAllClients_WithShortNameFilter_ShouldReturnFilteredClients() {
         Client client1 = createTestClient(1L, "Клиент 1", "ААА", "Адрес 1", LegalForm.OOO);
         Client client2 = createTestClient(2L, "Клиент 2", "БББ", "Адрес 2", LegalForm.AO);
-        List<Client> allClients = Arrays.asList(client1, client2);
-        given(clientRepository.findAll(any(Sort.class))).willReturn(allClients);
+        given(clientRepository.findViews(ArgumentMatchers.<Specification<Client>>any(), any(Sort.class), anyInt())).willReturn(toViews(List.of(client2)));
 
-        List<Client> result = clientService.findAllClients(null, "БББ", null, null, "name", "asc");
+        CursorPage<ClientView> result = clientService.findAllClients(null, "БББ", null, null, "name", "asc", null, null);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getName()).isEqualTo("Клиент 2");
-        assertThat(result.get(0).getShortName()).isEqualTo("БББ");
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.content().get(0).name()).isEqualTo("Клиент 2");
+        assertThat(result.content().get(0).shortName()).isEqualTo("БББ");
     }
 
     @Test
     void findAllClients_WithAddressFilter_ShouldReturnFilteredClients() {
         Client client1 = createTestClient(1L, "Клиент 1", "ААА", "Адрес ААА", LegalForm.OOO);
         Client client2 = createTestClient(2L, "Клиент 2", "БББ", "Адрес БББ", LegalForm.AO);
-        List<Client> allClients = Arrays.asList(client1, client2);
-        given(clientRepository.findAll(any(Sort.class))).willReturn(allClients);
+        given(clientRepository.findViews(ArgumentMatchers.<Specification<Client>>any(), any(Sort.class), anyInt())).willReturn(toViews(List.of(client2)));
 
-        List<Client> result = clientService.findAllClients(null, null, "Адрес БББ", null, "name", "asc");
+        CursorPage<ClientView> result = clientService.findAllClients(null, null, "Адрес БББ", null, "name", "asc", null, null);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getName()).isEqualTo("Клиент 2");
-        assertThat(result.get(0).getAddress()).isEqualTo("Адрес БББ");
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.content().get(0).name()).isEqualTo("Клиент 2");
+        assertThat(result.content().get(0).address()).isEqualTo("Адрес БББ");
     }
 
     @Test
@@ -99,14 +105,13 @@ class ClientServiceTest {
         Client client1 = createTestClient(1L, "Клиент 1", "ААА", "Адрес 1", LegalForm.OOO);
         Client client2 = createTestClient(2L, "Клиент 2", "БББ", "Адрес 2", LegalForm.AO);
         Client client3 = createTestClient(3L, "Клиент 3", "ВВВ", "Адрес 3", LegalForm.IP);
-        List<Client> allClients = Arrays.asList(client1, client2, client3);
-        given(clientRepository.findAll(any(Sort.class))).willReturn(allClients);
+        given(clientRepository.findViews(ArgumentMatchers.<Specification<Client>>any(), any(Sort.class), anyInt())).willReturn(toViews(List.of(client2)));
 
-        List<Client> result = clientService.findAllClients(null, null, null, LegalForm.AO, "name", "asc");
+        CursorPage<ClientView> result = clientService.findAllClients(null, null, null, LegalForm.AO, "name", "asc", null, null);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getName()).isEqualTo("Клиент 2");
-        assertThat(result.get(0).getLegalForm()).isEqualTo(LegalForm.AO);
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.content().get(0).name()).isEqualTo("Клиент 2");
+        assertThat(result.content().get(0).legalForm()).isEqualTo(LegalForm.AO);
     }
 
     @Test
@@ -114,18 +119,19 @@ class ClientServiceTest {
         Client client1 = createTestClient(1L, "БББ Клиент", "БББ", "Адрес 1", LegalForm.OOO);
         Client client2 = createTestClient(2L, "ААА Клиент", "ААА", "Адрес 2", LegalForm.AO);
         List<Client> clients = Arrays.asList(client1, client2);
-        given(clientRepository.findAll(any(Sort.class))).willReturn(clients);
+        given(clientRepository.findViews(ArgumentMatchers.<Specification<Client>>any(), any(Sort.class), anyInt())).willReturn(toViews(clients));
 
-        List<Client> result = clientService.findAllClients(null, null, null, null, "name", "desc");
+        CursorPage<ClientView> result = clientService.findAllClients(null, null, null, null, "name", "desc", null, null);
 
-        assertThat(result).hasSize(2);
-        verify(clientRepository).findAll(Sort.by("name").descending());
+        assertThat(result.content()).hasSize(2);
+        verify(clientRepository).findViews(ArgumentMatchers.<Specification<Client>>any(),
+                eq(Sort.by(Sort.Direction.DESC, "name").and(Sort.by(Sort.Direction.DESC, "id"))), eq(51));
     }
 
     @Test
     void findAllClients_WhenNoClientsFound_ShouldThrowException() {
-        given(clientRepository.findAll(any(Sort.class))).willReturn(Collections.emptyList());
-        assertThatThrownBy(() -> clientService.findAllClients(null, null, null, null, "name", "asc"))
+        given(clientRepository.findViews(ArgumentMatchers.<Specification<Client>>any(), any(Sort.class), anyInt())).willReturn(toViews(Collections.emptyList()));
+        assertThatThrownBy(() -> clientService.findAllClients(null, null, null, null, "name", "asc", null, null))
                 .isInstanceOf(NoClientsFoundException.class)
                 .hasMessage("Список клиентов пуст.");
     }
@@ -133,7 +139,7 @@ class ClientServiceTest {
     @Test
     void findClientById_WithExistingId_ShouldReturnClient() {
         Client client = createTestClient(1L, "Тест Клиент", "ТК", "Тест Адрес", LegalForm.IP);
-        given(clientRepository.findById(1L)).willReturn(Optional.of(client));
+        given(clientCache.findById(1L)).willReturn(Optional.of(client));
 
         Client result = clientService.findClientById(1L);
 
@@ -146,7 +152,7 @@ class ClientServiceTest {
 
     @Test
     void findClientById_WithNonExistingId_ShouldThrowException() {
-        given(clientRepository.findById(999L)).willReturn(Optional.empty());
+        given(clientCache.findById(999L)).willReturn(Optional.empty());
         assertThatThrownBy(() -> clientService.findClientById(999L))
                 .isInstanceOf(ClientNotFoundException.class)
                 .hasMessage("Клиент с ID: 999 не найден.");
@@ -193,6 +199,7 @@ class ClientServiceTest {
         assertThat(result.getAddress()).isEqualTo("Новый Адрес");
         assertThat(result.getLegalForm()).isEqualTo(LegalForm.AO);
         verify(clientRepository).save(existingClient);
+        verify(clientCache).invalidate(1L);
     }
 
     @Test
@@ -212,6 +219,7 @@ class ClientServiceTest {
         given(depositRepository.existsByClientId(1L)).willReturn(false);
         clientService.deleteClient(1L);
         verify(clientRepository).delete(client);
+        verify(clientCache).invalidate(1L);
     }
 
     @Test
@@ -235,6 +243,7 @@ class ClientServiceTest {
                 .hasMessage("Нельзя удалить клиента с депозитами");
 
         verify(clientRepository, never()).delete(any(Client.class));
+        verify(clientCache, never()).invalidate(any());
     }
 
     private Client createTestClient(Long id, String name, String shortName, String address, LegalForm legalForm) {
@@ -248,4 +257,8 @@ class ClientServiceTest {
         client.setLegalForm(legalForm);
         return client;
     }
-}
\ No newline at end of file
+
+    private static List<ClientView> toViews(List<Client> rows) {
+        return rows.stream().map(ClientView::from).toList();
+    }
+}
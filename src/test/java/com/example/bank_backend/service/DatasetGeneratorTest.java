@@ -0,0 +1,89 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.model.LegalForm;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatasetGeneratorTest {
+
+    private static final DatasetGenerator.Settings SETTINGS =
+            DatasetGenerator.Settings.defaults().withScale(50, 2_000, 50_000);
+
+    @Test
+    void generate_WithSameSeed_ShouldProduceSameRows() throws Exception {
+        assertThat(deposits(new DatasetGenerator(SETTINGS)))
+                .isEqualTo(deposits(new DatasetGenerator(SETTINGS)));
+        assertThat(deposits(new DatasetGenerator(SETTINGS.withSeed(7))))
+                .isNotEqualTo(deposits(new DatasetGenerator(SETTINGS)));
+    }
+
+    @Test
+    void clients_ShouldBeUniqueAndCoverAllLegalForms() throws Exception {
+        Set<String> names = new HashSet<>();
+        Set<LegalForm> forms = EnumSet.noneOf(LegalForm.class);
+        new DatasetGenerator(SETTINGS).clients(client -> {
+            names.add(client.name());
+            forms.add(client.legalForm());
+        });
+
+        assertThat(names).hasSize(SETTINGS.clients());
+        assertThat(forms).containsExactlyInAnyOrder(LegalForm.values());
+    }
+
+    @Test
+    void deposits_ShouldBeSkewedAndWithinDepositConstraints() throws Exception {
+        List<DatasetGenerator.DepositRow> deposits = deposits(new DatasetGenerator(SETTINGS));
+        Map<Long, Integer> perClient = new HashMap<>();
+        Map<Integer, Integer> perTerm = new HashMap<>();
+        for (DatasetGenerator.DepositRow deposit : deposits) {
+            assertThat(deposit.clientId()).isBetween(1L, (long) SETTINGS.clients());
+            assertThat(deposit.bankId()).isBetween(1, SETTINGS.banks());
+            assertThat(deposit.percentage()).isGreaterThanOrEqualTo(0.01);
+            assertThat(deposit.termMonths()).isBetween(1, 600);
+            assertThat(deposit.openingDate()).isBetween(SETTINGS.from(), SETTINGS.to());
+            perClient.merge(deposit.clientId(), 1, Integer::sum);
+            perTerm.merge(deposit.termMonths(), 1, Integer::sum);
+        }
+
+        // 1% самых активных клиентов держит заметно больше 1% депозитов
+        int top = perClient.values().stream().sorted((a, b) -> b - a)
+                .limit(SETTINGS.clients() / 100).mapToInt(Integer::intValue).sum();
+        assertThat(top).isGreaterThan(deposits.size() / 10);
+        assertThat(perTerm.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey())
+                .isEqualTo(12);
+    }
+
+    @Test
+    void write_ShouldProduceFilesInImportFormats() throws Exception {
+        Path directory = Files.createTempDirectory("dataset");
+        DatasetGenerator generator = new DatasetGenerator(SETTINGS.withScale(3, 10, 20));
+
+        DatasetFileWriter.write(generator, directory);
+
+        List<String> deposits = Files.readAllLines(directory.resolve("deposits.csv"), StandardCharsets.UTF_8);
+        assertThat(deposits).hasSize(21);
+        assertThat(deposits.get(0)).isEqualTo("clientName,bik,openingDate,percentage,termMonths");
+        assertThat(Files.readAllLines(directory.resolve("clients.csv"), StandardCharsets.UTF_8))
+                .hasSize(11)
+                .first().isEqualTo("name,shortName,address,legalForm");
+        assertThat(Files.readAllLines(directory.resolve("banks.csv"), StandardCharsets.UTF_8)).hasSize(4);
+    }
+
+    private static List<DatasetGenerator.DepositRow> deposits(DatasetGenerator generator) throws Exception {
+        List<DatasetGenerator.DepositRow> rows = new ArrayList<>();
+        generator.deposits(rows::add);
+        return rows;
+    }
+}
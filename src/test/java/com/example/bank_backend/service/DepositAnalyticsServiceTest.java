@@ -0,0 +1,145 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.BankConcentration;
+import com.example.bank_backend.dto.MaturityLadder;
+import com.example.bank_backend.exception.InvalidLadderMonthsException;
+import com.example.bank_backend.exception.NoDepositsFoundException;
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.repository.DepositBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class DepositAnalyticsServiceTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 3, 15);
+
+    @Mock
+    private DepositBookRepository depositBookRepository;
+
+    @Mock
+    private BankDirectory bankDirectory;
+
+    private final List<DepositBook.Row> rows = new ArrayList<>();
+
+    private DepositAnalyticsService depositAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(depositBookRepository.estimateSize()).thenReturn(-1L);
+        lenient().doAnswer(inv -> {
+            DepositBookRepository.RowHandler handler = inv.getArgument(0);
+            rows.forEach(row -> handler.accept(row.id(), row.clientId(), row.bankId(),
+                    row.openingDate(), row.percentage(), row.termMonths()));
+            return null;
+        }).when(depositBookRepository).scan(any());
+        lenient().when(bankDirectory.findById(anyLong())).thenAnswer(inv -> {
+            Long id = inv.getArgument(0);
+            Bank bank = new Bank("Банк " + id, "04452500" + id);
+            bank.setId(id);
+            return Optional.of(bank);
+        });
+        depositAnalyticsService = new DepositAnalyticsService(new DepositBook(depositBookRepository, false), bankDirectory);
+    }
+
+    @Test
+    void maturityLadder_ShouldBucketActiveDepositsByMaturityMonth() {
+        add(1, LocalDate.of(2025, 1, 20), 6.0, 2);   // гасится 20.03 — текущий месяц
+        add(1, LocalDate.of(2024, 4, 30), 8.0, 11);  // 30.03
+        add(2, LocalDate.of(2025, 3, 1), 10.0, 1);   // 01.04
+        add(2, LocalDate.of(2024, 1, 1), 9.0, 36);   // позже лестницы
+        add(1, LocalDate.of(2024, 3, 15), 5.0, 12);  // погашен ровно в asOf — не действует
+        add(1, LocalDate.of(2025, 3, 16), 7.0, 3);   // ещё не открыт
+
+        MaturityLadder ladder = depositAnalyticsService.maturityLadder(AS_OF, 3, null);
+
+        assertThat(ladder.deposits()).isEqualTo(4);
+        assertThat(ladder.buckets()).extracting(MaturityLadder.Bucket::month)
+                .containsExactly(YearMonth.of(2025, 3), YearMonth.of(2025, 4), YearMonth.of(2025, 5));
+        assertThat(ladder.buckets()).extracting(MaturityLadder.Bucket::deposits).containsExactly(2L, 1L, 0L);
+        assertThat(ladder.buckets().get(0).averagePercentage()).isCloseTo(7.0, within(1e-12));
+        assertThat(ladder.later().deposits()).isEqualTo(1);
+
+        MaturityLadder bank = depositAnalyticsService.maturityLadder(AS_OF, 3, 2L);
+
+        assertThat(bank.buckets()).extracting(MaturityLadder.Bucket::deposits).containsExactly(0L, 1L, 0L);
+        assertThat(bank.later().deposits()).isEqualTo(1);
+    }
+
+    @Test
+    void maturityLadder_WithUnknownBank_ShouldThrowException() {
+        add(1, LocalDate.of(2025, 1, 20), 6.0, 12);
+
+        assertThatThrownBy(() -> depositAnalyticsService.maturityLadder(AS_OF, null, 99L))
+                .isInstanceOf(NoDepositsFoundException.class);
+    }
+
+    @Test
+    void maturityLadder_WithTooManyMonths_ShouldThrowException() {
+        assertThatThrownBy(() -> depositAnalyticsService.maturityLadder(AS_OF, 121, null))
+                .isInstanceOf(InvalidLadderMonthsException.class);
+    }
+
+    @Test
+    void concentration_ShouldMatchPerDepositReferenceAcrossChunks() {
+        SplittableRandom random = new SplittableRandom(11);
+        int count = DepositBook.CHUNK_SIZE * 2 + 5;
+        for (int i = 0; i < count; i++) {
+            // банк 1 — примерно половина книги
+            add(random.nextBoolean() ? 1 : 2 + random.nextInt(30),
+                    LocalDate.of(2020, 1, 1).plusDays(random.nextInt(2000)), 1 + random.nextInt(2000) / 100.0,
+                    1 + random.nextInt(60));
+        }
+
+        BankConcentration concentration = depositAnalyticsService.concentration(AS_OF, 3);
+
+        long[] deposits = new long[32];
+        double[] percentages = new double[32];
+        for (DepositBook.Row row : rows) {
+            LocalDate matures = row.openingDate().plusMonths(row.termMonths());
+            if (!row.openingDate().isAfter(AS_OF) && AS_OF.isBefore(matures)) {
+                deposits[(int) row.bankId()]++;
+                percentages[(int) row.bankId()] += row.percentage();
+            }
+        }
+        long total = 0;
+        for (long bankDeposits : deposits) {
+            total += bankDeposits;
+        }
+        double hhi = 0;
+        for (long bankDeposits : deposits) {
+            hhi += Math.pow(100.0 * bankDeposits / total, 2);
+        }
+        assertThat(concentration.deposits()).isEqualTo(total);
+        assertThat(concentration.hhi()).isCloseTo(hhi, within(1e-6));
+        assertThat(concentration.top()).hasSize(3);
+        BankConcentration.BankShare first = concentration.top().get(0);
+        assertThat(first.bankId()).isEqualTo(1L);
+        assertThat(first.bankName()).isEqualTo("Банк 1");
+        assertThat(first.deposits()).isEqualTo(deposits[1]);
+        assertThat(first.averagePercentage()).isCloseTo(percentages[1] / deposits[1], within(1e-9));
+        assertThat(concentration.top()).extracting(BankConcentration.BankShare::deposits).isSortedAccordingTo(
+                (a, b) -> Long.compare(b, a));
+    }
+
+    private void add(long bankId, LocalDate openingDate, double percentage, int termMonths) {
+        rows.add(new DepositBook.Row(rows.size() + 1, 1, bankId, openingDate, percentage, termMonths));
+    }
+}
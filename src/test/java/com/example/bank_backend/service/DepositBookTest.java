@@ -0,0 +1,280 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.repository.DepositBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Снимок с изменениями поверх загрузки должен совпадать с тем, что дала бы загрузка заново
+@ExtendWith(MockitoExtension.class)
+class DepositBookTest {
+
+    @Mock
+    private DepositBookRepository depositBookRepository;
+
+    // Строки в порядке, в котором их отдаёт полный проход (scan)
+    private final List<DepositBook.Row> rows = new ArrayList<>();
+    // Текущее содержимое БД для чтения по id (findByIds)
+    private final TreeMap<Long, DepositBook.Row> database = new TreeMap<>();
+    // Сколько следующих чтений по id завершится ошибкой
+    private int failingReads;
+
+    private DepositBook depositBook;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(depositBookRepository.estimateSize()).thenReturn(-1L);
+        lenient().doAnswer(inv -> {
+            DepositBookRepository.RowHandler handler = inv.getArgument(0);
+            rows.forEach(row -> accept(handler, row));
+            return null;
+        }).when(depositBookRepository).scan(any());
+        lenient().doAnswer(inv -> {
+            if (failingReads > 0) {
+                failingReads--;
+                throw new DataAccessResourceFailureException("нет соединения");
+            }
+            Collection<Long> ids = inv.getArgument(0);
+            DepositBookRepository.RowHandler handler = inv.getArgument(1);
+            ids.stream().distinct().map(database::get).filter(row -> row != null).forEach(row -> accept(handler, row));
+            return null;
+        }).when(depositBookRepository).findByIds(any(), any());
+        // изменения применяются в потоке теста, сразу после события
+        depositBook = new DepositBook(depositBookRepository, false, Runnable::run);
+    }
+
+    @Test
+    void snapshot_ShouldSortRowsReadOutOfIdOrder() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            rows.add(row(random, 1 + random.nextLong(1_000_000)));
+        }
+        Map<Long, DepositBook.Row> expected = index(rows);
+        rows.clear();
+        rows.addAll(expected.values());
+        Collections.shuffle(rows, new Random(7));
+
+        assertThat(contents(depositBook.snapshot())).containsExactlyElementsOf(expected.values());
+    }
+
+    @Test
+    void onDepositsChanged_ShouldMatchReloadAcrossCompactions() {
+        SplittableRandom random = new SplittableRandom(42);
+        int initial = DepositBook.CHUNK_SIZE + 1000;
+        for (long id = 1; id <= initial; id++) {
+            rows.add(row(random, id));
+        }
+        database.putAll(index(rows));
+        DepositBook.Snapshot loaded = depositBook.snapshot();
+        long nextId = initial + 1;
+
+        for (int step = 1; step <= 3 * DepositBook.COMPACT_THRESHOLD; step++) {
+            int kind = random.nextInt(3);
+            long id;
+            if (kind == 0) {
+                id = nextId++;
+                database.put(id, row(random, id));
+            } else if (kind == 1) {
+                // в том числе повторное изменение уже изменённого депозита
+                id = existing(random, database);
+                database.put(id, row(random, id));
+            } else {
+                id = existing(random, database);
+                database.remove(id);
+            }
+            depositBook.onDepositsChanged(DepositChangedEvent.of(id));
+            if (step % 5000 == 0) {
+                assertThat(contents(depositBook.snapshot())).containsExactlyElementsOf(database.values());
+            }
+        }
+
+        DepositBook.Snapshot current = depositBook.snapshot();
+        assertThat(current.size()).isEqualTo(database.size());
+        assertThat(contents(current)).containsExactlyElementsOf(database.values());
+        // ранее выданный снимок не меняется
+        assertThat(contents(loaded)).containsExactlyElementsOf(index(rows).values());
+    }
+
+    @Test
+    void onDepositsChanged_InReverseCommitOrder_ShouldKeepLastCommittedVersion() {
+        SplittableRandom random = new SplittableRandom(3);
+        rows.add(row(random, 1));
+        database.putAll(index(rows));
+        depositBook.snapshot();
+
+        // две транзакции изменили депозит одна за другой, слушатель второй сработал раньше первой
+        database.put(1L, row(random, 1));
+        DepositChangedEvent first = DepositChangedEvent.of(1);
+        DepositBook.Row second = row(random, 1);
+        database.put(1L, second);
+        depositBook.onDepositsChanged(DepositChangedEvent.of(1));
+        depositBook.onDepositsChanged(first);
+
+        assertThat(contents(depositBook.snapshot())).containsExactly(second);
+    }
+
+    @Test
+    void onDepositsChanged_WithIdRepeatedInOneEvent_ShouldKeepOneRow() {
+        SplittableRandom random = new SplittableRandom(4);
+        rows.add(row(random, 1));
+        database.putAll(index(rows));
+        depositBook.snapshot();
+
+        DepositBook.Row added = row(random, 2);
+        database.put(2L, added);
+        depositBook.onDepositsChanged(new DepositChangedEvent(List.of(2L, 2L)));
+
+        assertThat(contents(depositBook.snapshot())).containsExactly(rows.get(0), added);
+    }
+
+    @Test
+    void refresh_ShouldReplayChangesArrivingDuringLoad() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (long id = 1; id <= 3; id++) {
+            rows.add(row(random, id));
+        }
+        database.putAll(index(rows));
+        DepositBook.Row added = row(random, 10);
+        doAnswer(inv -> {
+            DepositBookRepository.RowHandler handler = inv.getArgument(0);
+            accept(handler, rows.get(0));
+            accept(handler, rows.get(1));
+            // коммиты во время чтения: удаление уже прочитанной строки и новая строка, которой чтение не увидит
+            database.remove(2L);
+            database.put(10L, added);
+            depositBook.onDepositsChanged(new DepositChangedEvent(List.of(10L, 2L)));
+            accept(handler, rows.get(2));
+            return null;
+        }).when(depositBookRepository).scan(any());
+
+        depositBook.refresh();
+
+        assertThat(contents(depositBook.snapshot())).containsExactly(rows.get(0), rows.get(2), added);
+    }
+
+    @Test
+    void onDepositsChanged_WhenReadFails_ShouldReloadWholeBook() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (long id = 1; id <= 3; id++) {
+            rows.add(row(random, id));
+        }
+        database.putAll(index(rows));
+        depositBook.snapshot();
+
+        DepositBook.Row updated = row(random, 2);
+        database.put(2L, updated);
+        rows.set(1, updated);
+        failingReads = 1;
+        depositBook.onDepositsChanged(DepositChangedEvent.of(2));
+
+        verify(depositBookRepository, times(2)).scan(any());
+        assertThat(depositBook.stale()).isFalse();
+        assertThat(contents(depositBook.snapshot())).containsExactly(rows.get(0), updated, rows.get(2));
+    }
+
+    @Test
+    void onDepositsChanged_WhenReadAndReloadFail_ShouldStayStaleUntilRefresh() {
+        SplittableRandom random = new SplittableRandom(13);
+        rows.add(row(random, 1));
+        database.putAll(index(rows));
+        DepositBook.Snapshot loaded = depositBook.snapshot();
+
+        DepositBook.Row updated = row(random, 1);
+        database.put(1L, updated);
+        rows.set(0, updated);
+        failingReads = 1;
+        doThrow(new DataAccessResourceFailureException("нет соединения"))
+                .doAnswer(inv -> {
+                    rows.forEach(row -> accept(inv.getArgument(0), row));
+                    return null;
+                })
+                .when(depositBookRepository).scan(any());
+        depositBook.onDepositsChanged(DepositChangedEvent.of(1));
+
+        assertThat(depositBook.stale()).isTrue();
+        assertThat(depositBook.snapshot()).isSameAs(loaded);
+
+        depositBook.refresh();
+
+        assertThat(depositBook.stale()).isFalse();
+        assertThat(contents(depositBook.snapshot())).containsExactly(updated);
+    }
+
+    @Test
+    void onDepositsChanged_BeforeFirstLoad_ShouldBeIgnored() {
+        SplittableRandom random = new SplittableRandom(9);
+        rows.add(row(random, 1));
+
+        database.putAll(index(rows));
+
+        depositBook.onDepositsChanged(DepositChangedEvent.of(1));
+
+        // изменение уже есть в БД, книга прочитает его при загрузке
+        verify(depositBookRepository, never()).findByIds(any(), any());
+        assertThat(contents(depositBook.snapshot())).containsExactly(rows.get(0));
+    }
+
+    private static void accept(DepositBookRepository.RowHandler handler, DepositBook.Row row) {
+        handler.accept(row.id(), row.clientId(), row.bankId(), row.openingDate(), row.percentage(), row.termMonths());
+    }
+
+    private static DepositBook.Row row(SplittableRandom random, long id) {
+        return new DepositBook.Row(id, 1 + random.nextInt(500), 1 + random.nextInt(20),
+                LocalDate.of(2015, 1, 1).plusDays(random.nextInt(4000)),
+                0.05 * (1 + random.nextInt(400)), 1 + random.nextInt(120));
+    }
+
+    private static long existing(SplittableRandom random, TreeMap<Long, DepositBook.Row> rows) {
+        Long id = rows.ceilingKey(1 + random.nextLong(rows.lastKey()));
+        return id != null ? id : rows.lastKey();
+    }
+
+    private static TreeMap<Long, DepositBook.Row> index(List<DepositBook.Row> rows) {
+        TreeMap<Long, DepositBook.Row> index = new TreeMap<>();
+        rows.forEach(row -> index.put(row.id(), row));
+        return index;
+    }
+
+    // Содержимое снимка по возрастанию id; заодно проверяются производные колонки дат
+    private static List<DepositBook.Row> contents(DepositBook.Snapshot snapshot) {
+        long[] bankIds = snapshot.bankIds();
+        List<DepositBook.Row> contents = snapshot.scan(ArrayList::new, (columns, from, to, acc) -> {
+            for (int i = from; i < to; i++) {
+                LocalDate openingDate = LocalDate.ofEpochDay(columns.openingDay()[i]);
+                assertThat(columns.maturityDay()[i])
+                        .isEqualTo((int) openingDate.plusMonths(columns.termMonths()[i]).toEpochDay());
+                assertThat(columns.openingDom()[i]).isEqualTo((byte) openingDate.getDayOfMonth());
+                acc.add(new DepositBook.Row(columns.id()[i], columns.clientId()[i], bankIds[columns.bank()[i]],
+                        openingDate, columns.percentage()[i], columns.termMonths()[i]));
+            }
+        }, (a, b) -> {
+            a.addAll(b);
+            return a;
+        });
+        assertThat(contents).hasSize(snapshot.size());
+        contents.sort((a, b) -> Long.compare(a.id(), b.id()));
+        return contents;
+    }
+}
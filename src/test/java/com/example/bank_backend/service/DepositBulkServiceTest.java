@@ -0,0 +1,153 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.BulkResult;
+import com.example.bank_backend.dto.DepositRequest;
+import com.example.bank_backend.model.Bank;
+import com.example.bank_backend.repository.ClientRepository;
+import com.example.bank_backend.repository.DepositBulkRepository;
+import com.example.bank_backend.repository.DepositSummaryRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class DepositBulkServiceTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private BankDirectory bankDirectory;
+
+    @Mock
+    private DepositBulkRepository depositBulkRepository;
+
+    @Mock
+    private DepositSummaryRepository depositSummaryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DepositBulkService depositBulkService;
+
+    @BeforeEach
+    void setUp() {
+        depositBulkService = new DepositBulkService(clientRepository, bankDirectory, depositBulkRepository,
+                depositSummaryRepository, Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher);
+    }
+
+    @Test
+    void createDeposits_WithValidRequests_ShouldInsertAllInOneBatch() {
+        given(clientRepository.findExistingIds(anyCollection())).willReturn(List.of(1L, 2L));
+        given(bankDirectory.findAllById(anyCollection())).willReturn(Map.of(1L, createTestBank(1L)));
+        given(depositBulkRepository.allocateIds(2)).willReturn(List.of(100L, 101L));
+
+        BulkResult result = depositBulkService.createDeposits(List.of(request(1L, 1L), request(2L, 1L)));
+
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.failed()).isZero();
+        assertThat(result.items()).extracting("id").containsExactly(100L, 101L);
+
+        ArgumentCaptor<List<DepositBulkRepository.Row>> rows = rowsCaptor();
+        verify(depositBulkRepository).insertAll(rows.capture());
+        assertThat(rows.getValue()).extracting(DepositBulkRepository.Row::clientId).containsExactly(1L, 2L);
+        verify(depositSummaryRepository).addAll(List.of(
+                new DepositSummaryRepository.Entry(1L, 12, 7.5), new DepositSummaryRepository.Entry(1L, 12, 7.5)));
+        ArgumentCaptor<DepositChangedEvent> event = ArgumentCaptor.forClass(DepositChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().ids()).containsExactly(100L, 101L);
+    }
+
+    @Test
+    void createDeposits_WithBadRows_ShouldReportThemAndInsertTheRest() {
+        given(clientRepository.findExistingIds(anyCollection())).willReturn(List.of(1L));
+        given(bankDirectory.findAllById(anyCollection())).willReturn(Map.of(1L, createTestBank(1L)));
+        given(depositBulkRepository.allocateIds(1)).willReturn(List.of(100L));
+
+        BulkResult result = depositBulkService.createDeposits(Arrays.asList(
+                request(1L, 1L),
+                request(999L, 1L),
+                request(1L, 999L),
+                new DepositRequest(1L, 1L, LocalDate.now(), null, 0),
+                null));
+
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(4);
+        assertThat(result.items().get(0).id()).isEqualTo(100L);
+        assertThat(result.items().get(1).error()).isEqualTo("Клиент не найден с ID: 999");
+        assertThat(result.items().get(2).error()).isEqualTo("Банк не найден с ID: 999");
+        assertThat(result.items().get(3).error())
+                .isEqualTo("percentage: Укажите процентную ставку; termMonths: Минимальный срок - 1 месяц");
+        assertThat(result.items().get(4).error()).isEqualTo("Пустая запись");
+    }
+
+    @Test
+    void createDeposits_WithNoValidRows_ShouldNotTouchDepositsTable() {
+        given(clientRepository.findExistingIds(anyCollection())).willReturn(List.of());
+        given(bankDirectory.findAllById(anyCollection())).willReturn(Map.of(1L, createTestBank(1L)));
+
+        BulkResult result = depositBulkService.createDeposits(List.of(request(999L, 1L)));
+
+        assertThat(result.created()).isZero();
+        verify(depositBulkRepository, never()).allocateIds(anyInt());
+        verify(depositBulkRepository, never()).insertAll(any());
+        verify(depositSummaryRepository, never()).addAll(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createDeposits_WithManyClients_ShouldLookThemUpInChunks() {
+        int count = DepositBulkService.LOOKUP_CHUNK_SIZE * 2 + 1;
+        List<DepositRequest> requests = new ArrayList<>();
+        LongStream.rangeClosed(1, count).forEach(id -> requests.add(request(id, 1L)));
+        given(clientRepository.findExistingIds(anyCollection()))
+                .willAnswer(inv -> new ArrayList<>(inv.<Collection<Long>>getArgument(0)));
+        given(bankDirectory.findAllById(anyCollection())).willReturn(Map.of(1L, createTestBank(1L)));
+        given(depositBulkRepository.allocateIds(count))
+                .willReturn(LongStream.rangeClosed(1, count).boxed().toList());
+
+        BulkResult result = depositBulkService.createDeposits(requests);
+
+        assertThat(result.created()).isEqualTo(count);
+        verify(clientRepository, times(3)).findExistingIds(anyCollection());
+        verify(bankDirectory, times(1)).findAllById(anyCollection());
+    }
+
+    private static DepositRequest request(Long clientId, Long bankId) {
+        return new DepositRequest(clientId, bankId, LocalDate.now(), 7.5, 12);
+    }
+
+    private static Bank createTestBank(Long id) {
+        Bank bank = new Bank("Банк " + id, "00000000" + id);
+        bank.setId(id);
+        return bank;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<DepositBulkRepository.Row>> rowsCaptor() {
+        return ArgumentCaptor.forClass((Class<List<DepositBulkRepository.Row>>) (Class<?>) List.class);
+    }
+}
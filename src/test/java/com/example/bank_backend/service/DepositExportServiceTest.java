@@ -0,0 +1,93 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.dto.ExportFormat;
+import com.example.bank_backend.model.Deposit;
+import com.example.bank_backend.repository.DepositRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class DepositExportServiceTest {
+
+    @Mock
+    private DepositRepository depositRepository;
+
+    private DepositExportService depositExportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        depositExportService = new DepositExportService(depositRepository, objectMapper);
+    }
+
+    @Test
+    void exportDeposits_AsNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        givenRows(view(1L, "ААА Клиент", "БББ Банк"), view(2L, "ВВВ Клиент", "ГГГ Банк"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = depositExportService.exportDeposits(null, null, null, null, null, null, null, null,
+                ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").endsWith("}")
+                .contains("\"id\":1", "\"client\":{\"id\":1,\"name\":\"ААА Клиент\"}");
+        assertThat(lines[1]).contains("\"openingDate\":\"2024-03-01\"");
+    }
+
+    @Test
+    void exportDeposits_AsCsv_ShouldWriteHeaderAndQuoteSpecialCharacters() throws Exception {
+        givenRows(view(1L, "ООО \"Ромашка\", филиал", "БББ Банк"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        depositExportService.exportDeposits(null, null, null, null, null, null, null, null,
+                ExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                DepositExportService.CSV_HEADER + "\n"
+                        + "1,1,\"ООО \"\"Ромашка\"\", филиал\",1,БББ Банк,044525225,2024-03-01,7.5,12,2025-03-01\n");
+    }
+
+    @Test
+    void exportDeposits_ShouldCloseCursor() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        given(depositRepository.streamViews(ArgumentMatchers.<Specification<Deposit>>any(), eq(DepositExportService.EXPORT_FETCH_SIZE)))
+                .willReturn(Stream.of(view(1L, "Клиент", "Банк")).onClose(() -> closed.set(true)));
+
+        depositExportService.exportDeposits(null, null, null, null, null, null, null, null,
+                ExportFormat.CSV, new ByteArrayOutputStream());
+
+        assertThat(closed).isTrue();
+    }
+
+    private void givenRows(DepositView... rows) {
+        given(depositRepository.streamViews(ArgumentMatchers.<Specification<Deposit>>any(), eq(DepositExportService.EXPORT_FETCH_SIZE)))
+                .willReturn(Stream.of(rows));
+    }
+
+    private static DepositView view(Long id, String clientName, String bankName) {
+        return new DepositView(id, 1L, clientName, 1L, bankName, "044525225",
+                LocalDate.of(2024, 3, 1), 7.5, 12, LocalDate.of(2025, 3, 1));
+    }
+}
@@ -1,21 +1,30 @@
 package com.example.bank_backend.service;
 
+import com.example.bank_backend.dto.CursorPage;
 import com.example.bank_backend.dto.DepositRequest;
+import com.example.bank_backend.dto.DepositView;
+import com.example.bank_backend.dto.PageCursor;
 import com.example.bank_backend.exception.BankNotFoundException;
 import com.example.bank_backend.exception.ClientNotFoundException;
+import com.example.bank_backend.exception.InvalidPageRequestException;
 import com.example.bank_backend.exception.NoDepositsFoundException;
 import com.example.bank_backend.model.Bank;
 import com.example.bank_backend.model.Client;
 import com.example.bank_backend.model.Deposit;
-import com.example.bank_backend.repository.BankRepository;
-import com.example.bank_backend.repository.ClientRepository;
 import com.example.bank_backend.repository.DepositRepository;
+import com.example.bank_backend.repository.DepositSpecifications;
+import com.example.bank_backend.repository.DepositSummaryRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -26,10 +35,15 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class DepositServiceTest {
@@ -38,10 +52,16 @@ class DepositServiceTest {
     private DepositRepository depositRepository;
 
     @Mock
-    private ClientRepository clientRepository;
+    private ClientCache clientCache;
 
     @Mock
-    private BankRepository bankRepository;
+    private BankDirectory bankDirectory;
+
+    @Mock
+    private DepositSummaryRepository depositSummaryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private DepositService depositService;
@@ -55,135 +75,119 @@ class DepositServiceTest {
 
         List<Deposit> deposits = Arrays.asList(deposit1, deposit2);
 
-        given(depositRepository.findAll(any(Sort.class))).willReturn(deposits);
+        given(depositRepository.findViews(ArgumentMatchers.<Specification<Deposit>>any(), any(Sort.class), anyInt())).willReturn(toViews(deposits));
 
-        List<Deposit> result = depositService.findAllDeposits(
-                null, null, null, null, null, null, null, null, "id", "asc"
+        CursorPage<DepositView> result = depositService.findAllDeposits(
+                null, null, null, null, null, null, null, null, "id", "asc", null, null
         );
 
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).getId()).isEqualTo(1L);
-        assertThat(result.get(1).getId()).isEqualTo(2L);
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.content().get(0).id()).isEqualTo(1L);
+        assertThat(result.content().get(1).id()).isEqualTo(2L);
     }
 
+    // Фильтрация выполняется в БД (условия проверяются в DepositRepositoryTest): сервис только передаёт
+    // параметры запроса в DepositSpecifications.filter и отдаёт полученное условие репозиторию
     @Test
-    void findAllDeposits_WithClientFilter_ShouldReturnFilteredDeposits() {
-        Client client1 = createTestClient(1L, "Клиент ААА");
-        Client client2 = createTestClient(2L, "Клиент БББ");
-        Bank bank = createTestBank(1L, "ВВВ Банк", "222222222");
-        Deposit deposit1 = createTestDeposit(1L, client1, bank, LocalDate.now(), 4.5, 6);
-        Deposit deposit2 = createTestDeposit(2L, client2, bank, LocalDate.now(), 5.5, 12);
-
-        List<Deposit> allDeposits = Arrays.asList(deposit1, deposit2);
-
-        given(depositRepository.findAll(any(Sort.class))).willReturn(allDeposits);
-
-        List<Deposit> result = depositService.findAllDeposits(
-                1L, null, null, null, null, null, null, null, "id", "asc"
-        );
+    void findAllDeposits_WithFilters_ShouldPassThemToRepository() {
+        Specification<Deposit> filter = (root, query, cb) -> null;
+        LocalDate from = LocalDate.of(2024, 1, 15);
+        LocalDate to = LocalDate.of(2024, 2, 15);
+        Deposit deposit = createTestDeposit(2L, createTestClient(1L, "Клиент ДДД"), createTestBank(3L, "Банк ЕЕЕ", "333333333"),
+                LocalDate.of(2024, 2, 1), 5.5, 12);
+
+        try (MockedStatic<DepositSpecifications> specifications = mockStatic(DepositSpecifications.class)) {
+            specifications.when(() -> DepositSpecifications.filter(1L, 3L, from, to, 5.0, 6.0, 10, 18)).thenReturn(filter);
+            given(depositRepository.findViews(filter, Sort.by(Sort.Direction.DESC, "percentage")
+                    .and(Sort.by(Sort.Direction.DESC, "id")), 21)).willReturn(toViews(List.of(deposit)));
+
+            CursorPage<DepositView> result = depositService.findAllDeposits(
+                    1L, 3L, from, to, 5.0, 6.0, 10, 18, "percentage", "desc", null, 20
+            );
+
+            assertThat(result.content()).extracting(DepositView::id).containsExactly(2L);
+            assertThat(result.nextCursor()).isNull();
+        }
+    }
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(1L);
-        assertThat(result.get(0).getClient().getId()).isEqualTo(1L);
-        assertThat(result.get(0).getClient().getName()).isEqualTo("Клиент ААА");
+    @Test
+    void findAllDeposits_WhenNoDepositsFound_ShouldThrowException() {
+        given(depositRepository.findViews(ArgumentMatchers.<Specification<Deposit>>any(), any(Sort.class), anyInt())).willReturn(toViews(Collections.emptyList()));
+        assertThatThrownBy(() -> depositService.findAllDeposits(
+                null, null, null, null, null, null, null, null, "id", "asc", null, null
+        ))
+                .isInstanceOf(NoDepositsFoundException.class)
+                .hasMessage("Депозиты с указанными критериями не найдены");
     }
 
     @Test
-    void findAllDeposits_WithBankFilter_ShouldReturnFilteredDeposits() {
-        Client client = createTestClient(1L, "ККК Клиент");
-        Bank bank1 = createTestBank(1L, "Банк ААА", "111111111");
-        Bank bank2 = createTestBank(2L, "Банк БББ", "222222222");
-        Deposit deposit1 = createTestDeposit(1L, client, bank1, LocalDate.now(), 4.0, 6);
-        Deposit deposit2 = createTestDeposit(2L, client, bank2, LocalDate.now(), 5.0, 12);
-
-        List<Deposit> allDeposits = Arrays.asList(deposit1, deposit2);
-
-        given(depositRepository.findAll(any(Sort.class))).willReturn(allDeposits);
-        List<Deposit> result = depositService.findAllDeposits(
-                null, 1L, null, null, null, null, null, null, "id", "asc"
+    void findAllDeposits_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
+        Client client = createTestClient(1L, "Клиент ЯЯЯ");
+        Bank bank = createTestBank(1L, "Банк ЯЯЯ", "121212121");
+        Deposit deposit1 = createTestDeposit(1L, client, bank, LocalDate.now(), 5.0, 12);
+        Deposit deposit2 = createTestDeposit(2L, client, bank, LocalDate.now(), 6.0, 12);
+        Deposit deposit3 = createTestDeposit(3L, client, bank, LocalDate.now(), 7.0, 12);
+
+        given(depositRepository.findViews(ArgumentMatchers.<Specification<Deposit>>any(), any(Sort.class), eq(3)))
+                .willReturn(toViews(List.of(deposit1, deposit2, deposit3)));
+
+        CursorPage<DepositView> result = depositService.findAllDeposits(
+                null, null, null, null, null, null, null, null, "percentage", "asc", null, 2
         );
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(1L);
-        assertThat(result.get(0).getBank().getId()).isEqualTo(1L);
-        assertThat(result.get(0).getBank().getName()).isEqualTo("Банк ААА");
+        assertThat(result.content()).extracting(DepositView::id).containsExactly(1L, 2L);
+        assertThat(result.nextCursor()).isNotNull();
+        assertThat(PageCursor.decode(result.nextCursor()))
+                .isEqualTo(new PageCursor("percentage", Sort.Direction.ASC, "6.0", 2L));
     }
 
     @Test
-    void findAllDeposits_WithDateFilters_ShouldReturnFilteredDeposits() {
-        // Given
-        Client client = createTestClient(1L, "Клиент ДДД");
-        Bank bank = createTestBank(1L, "Банк ЕЕЕ", "333333333");
+    void findAllDeposits_WithCursorForAnotherSort_ShouldThrowException() {
+        String cursor = new PageCursor("percentage", Sort.Direction.ASC, "6.0", 2L).encode();
 
-        LocalDate date1 = LocalDate.of(2024, 1, 1);
-        LocalDate date2 = LocalDate.of(2024, 2, 1);
-        LocalDate date3 = LocalDate.of(2024, 3, 1);
-
-        Deposit deposit1 = createTestDeposit(1L, client, bank, date1, 4.5, 6);
-        Deposit deposit2 = createTestDeposit(2L, client, bank, date2, 5.5, 12);
-        Deposit deposit3 = createTestDeposit(3L, client, bank, date3, 6.5, 24);
-
-        List<Deposit> allDeposits = Arrays.asList(deposit1, deposit2, deposit3);
-        given(depositRepository.findAll(any(Sort.class))).willReturn(allDeposits);
+        assertThatThrownBy(() -> depositService.findAllDeposits(
+                null, null, null, null, null, null, null, null, "termMonths", "asc", cursor, null
+        ))
+                .isInstanceOf(InvalidPageRequestException.class);
 
-        List<Deposit> result = depositService.findAllDeposits(
-                null, null, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 15),
-                null, null, null, null, "id", "asc"
-        );
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(2L);
-        assertThat(result.get(0).getOpeningDate()).isEqualTo(date2);
+        verify(depositRepository, never()).findViews(ArgumentMatchers.<Specification<Deposit>>any(), any(Sort.class), anyInt());
     }
 
     @Test
-    void findAllDeposits_WithPercentageFilters_ShouldReturnFilteredDeposits() {
-        Client client = createTestClient(1L, "Клиент ЖЖЖ");
-        Bank bank = createTestBank(1L, "Банк ЗЗЗ", "444444444");
-        Deposit deposit1 = createTestDeposit(1L, client, bank, LocalDate.now(), 4.5, 6);
-        Deposit deposit2 = createTestDeposit(2L, client, bank, LocalDate.now(), 5.5, 12);
-        Deposit deposit3 = createTestDeposit(3L, client, bank, LocalDate.now(), 6.5, 24);
-        List<Deposit> allDeposits = Arrays.asList(deposit1, deposit2, deposit3);
-
-        given(depositRepository.findAll(any(Sort.class))).willReturn(allDeposits);
-
-        List<Deposit> result = depositService.findAllDeposits(
-                null, null, null, null, 5.0, 6.0, null, null, "id", "asc"
-        );
-
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(2L);
-        assertThat(result.get(0).getPercentage()).isEqualTo(5.5);
+    void findAllDeposits_WithUnsupportedSortField_ShouldThrowException() {
+        assertThatThrownBy(() -> depositService.findAllDeposits(
+                null, null, null, null, null, null, null, null, "client.name", "asc", null, null
+        ))
+                .isInstanceOf(InvalidPageRequestException.class);
     }
 
     @Test
-    void findAllDeposits_WithTermFilters_ShouldReturnFilteredDeposits() {
-        Client client = createTestClient(1L, "Клиент ИИИ");
-        Bank bank = createTestBank(1L, "Банк ККК", "555555555");
-
-        Deposit deposit1 = createTestDeposit(1L, client, bank, LocalDate.now(), 4.0, 6);
-        Deposit deposit2 = createTestDeposit(2L, client, bank, LocalDate.now(), 5.0, 12);
-        Deposit deposit3 = createTestDeposit(3L, client, bank, LocalDate.now(), 6.0, 24);
-        List<Deposit> allDeposits = Arrays.asList(deposit1, deposit2, deposit3);
-
-        given(depositRepository.findAll(any(Sort.class))).willReturn(allDeposits);
-
-        List<Deposit> result = depositService.findAllDeposits(
-                null, null, null, null, null, null, 10, 18, "id", "asc"
-        );
-
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(2L);
-        assertThat(result.get(0).getTermMonths()).isEqualTo(12);
+    void findMaturingDeposits_ShouldPageByMaturityDate() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        given(depositRepository.findViews(ArgumentMatchers.<Specification<Deposit>>any(),
+                eq(Sort.by(Sort.Direction.ASC, "maturityDate").and(Sort.by(Sort.Direction.ASC, "id"))), eq(3)))
+                .willReturn(List.of(
+                        maturingView(5L, from.plusDays(1)),
+                        maturingView(2L, from.plusDays(3)),
+                        maturingView(9L, from.plusDays(3))));
+
+        CursorPage<DepositView> result = depositService.findMaturingDeposits(
+                from, from.plusDays(30), null, null, "asc", null, 2);
+
+        assertThat(result.content()).extracting(DepositView::id).containsExactly(5L, 2L);
+        assertThat(PageCursor.decode(result.nextCursor()))
+                .isEqualTo(new PageCursor("maturityDate", Sort.Direction.ASC, "2025-03-04", 2L));
     }
 
     @Test
-    void findAllDeposits_WhenNoDepositsFound_ShouldThrowException() {
-        given(depositRepository.findAll(any(Sort.class))).willReturn(Collections.emptyList());
-        assertThatThrownBy(() -> depositService.findAllDeposits(
-                null, null, null, null, null, null, null, null, "id", "asc"
-        ))
-                .isInstanceOf(NoDepositsFoundException.class)
-                .hasMessage("Депозиты с указанными критериями не найдены");
+    void findMaturingDeposits_WithReversedPeriod_ShouldThrowException() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+
+        assertThatThrownBy(() -> depositService.findMaturingDeposits(
+                from, from.minusDays(1), null, null, "asc", null, null))
+                .isInstanceOf(InvalidPageRequestException.class);
+
+        verify(depositRepository, never()).findViews(ArgumentMatchers.<Specification<Deposit>>any(), any(Sort.class), anyInt());
     }
 
     @Test
@@ -205,7 +209,7 @@ class DepositServiceTest {
     void findDepositById_WithNonExistingId_ShouldThrowException() {
         given(depositRepository.findById(999L)).willReturn(Optional.empty());
         assertThatThrownBy(() -> depositService.findDepositById(999L))
-                .isInstanceOf(ClientNotFoundException.class)
+                .isInstanceOf(NoDepositsFoundException.class)
                 .hasMessage("Депозита с ID: 999 не существует.");
     }
 
@@ -217,8 +221,8 @@ class DepositServiceTest {
         DepositRequest request = new DepositRequest(1L, 1L, LocalDate.now(), 5.5, 12);
         Deposit deposit = createTestDeposit(1L, client, bank, LocalDate.now(), 5.5, 12);
 
-        given(clientRepository.findById(1L)).willReturn(Optional.of(client));
-        given(bankRepository.findById(1L)).willReturn(Optional.of(bank));
+        given(clientCache.findById(1L)).willReturn(Optional.of(client));
+        given(bankDirectory.findById(1L)).willReturn(Optional.of(bank));
         given(depositRepository.save(any(Deposit.class))).willReturn(deposit);
 
         // When
@@ -233,6 +237,8 @@ class DepositServiceTest {
         assertThat(result.getClient().getName()).isEqualTo("Клиент ННН");
         assertThat(result.getBank().getName()).isEqualTo("Банк ООО");
         verify(depositRepository).save(any(Deposit.class));
+        verify(depositSummaryRepository).add(1L, 12, 5.5);
+        verify(eventPublisher).publishEvent(DepositChangedEvent.of(1L));
     }
 
     @Test
@@ -240,7 +246,7 @@ class DepositServiceTest {
         // Given
         // Исправлено: добавлен openingDate в конструктор
         DepositRequest request = new DepositRequest(999L, 1L, LocalDate.now(), 5.5, 12);
-        given(clientRepository.findById(999L)).willReturn(Optional.empty());
+        given(clientCache.findById(999L)).willReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> depositService.createDeposit(request))
@@ -248,6 +254,7 @@ class DepositServiceTest {
                 .hasMessage("Клиент не найден с ID: 999");
 
         verify(depositRepository, never()).save(any(Deposit.class));
+        verifyNoInteractions(depositSummaryRepository);
     }
 
     @Test
@@ -257,8 +264,8 @@ class DepositServiceTest {
         // Исправлено: добавлен openingDate в конструктор
         DepositRequest request = new DepositRequest(1L, 999L, LocalDate.now(), 5.5, 12);
 
-        given(clientRepository.findById(1L)).willReturn(Optional.of(client));
-        given(bankRepository.findById(999L)).willReturn(Optional.empty());
+        given(clientCache.findById(1L)).willReturn(Optional.of(client));
+        given(bankDirectory.findById(999L)).willReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> depositService.createDeposit(request))
@@ -281,9 +288,9 @@ class DepositServiceTest {
         DepositRequest request = new DepositRequest(1L, 1L, openingDate, 6.0, 24);
         Deposit updatedDeposit = createTestDeposit(1L, client, bank, openingDate, 6.0, 24);
 
-        given(depositRepository.findById(1L)).willReturn(Optional.of(existingDeposit));
-        given(clientRepository.findById(1L)).willReturn(Optional.of(client));
-        given(bankRepository.findById(1L)).willReturn(Optional.of(bank));
+        given(depositRepository.findForUpdateById(1L)).willReturn(Optional.of(existingDeposit));
+        given(clientCache.findById(1L)).willReturn(Optional.of(client));
+        given(bankDirectory.findById(1L)).willReturn(Optional.of(bank));
         given(depositRepository.save(existingDeposit)).willReturn(updatedDeposit);
 
         // When
@@ -297,6 +304,11 @@ class DepositServiceTest {
         assertThat(result.getClient().getName()).isEqualTo("Клиент РРР");
         assertThat(result.getBank().getName()).isEqualTo("Банк ССС");
         verify(depositRepository).save(existingDeposit);
+        // депозит переходит из группы 4-6 мес. в 13-24: старые значения вычитаются, новые прибавляются
+        InOrder summary = inOrder(depositRepository, depositSummaryRepository);
+        summary.verify(depositRepository).flush();
+        summary.verify(depositSummaryRepository).move(new DepositSummaryRepository.Entry(1L, 6, 4.0),
+                new DepositSummaryRepository.Entry(1L, 24, 6.0));
     }
 
     @Test
@@ -304,14 +316,14 @@ class DepositServiceTest {
         // Ищем клиент и банк
         Client client = createTestClient(1L, "Клиент РРР");
         Bank bank = createTestBank(1L, "Банк ССС", "888888888");
-        given(clientRepository.findById(1L)).willReturn(Optional.of(client));
-        given(bankRepository.findById(1L)).willReturn(Optional.of(bank));
-        given(depositRepository.findById(999L)).willReturn(Optional.empty());
+        given(clientCache.findById(1L)).willReturn(Optional.of(client));
+        given(bankDirectory.findById(1L)).willReturn(Optional.of(bank));
+        given(depositRepository.findForUpdateById(999L)).willReturn(Optional.empty());
 
         DepositRequest request = new DepositRequest(1L, 1L, LocalDate.now(), 5.5, 12);
 
         assertThatThrownBy(() -> depositService.updateDeposit(999L, request))
-                .isInstanceOf(ClientNotFoundException.class)
+                .isInstanceOf(NoDepositsFoundException.class)
                 .hasMessage("Депозита с ID: 999 не существует.");
     }
 
@@ -321,20 +333,25 @@ class DepositServiceTest {
         Bank bank = createTestBank(1L, "Банк УУУ", "999999999");
         Deposit deposit = createTestDeposit(1L, client, bank, LocalDate.now(), 5.0, 12);
 
-        given(depositRepository.findById(1L)).willReturn(Optional.of(deposit));
+        given(depositRepository.findForUpdateById(1L)).willReturn(Optional.of(deposit));
         depositService.deleteDeposit(1L);
 
         verify(depositRepository).delete(deposit);
+        InOrder summary = inOrder(depositRepository, depositSummaryRepository);
+        summary.verify(depositRepository).flush();
+        summary.verify(depositSummaryRepository).remove(1L, 12, 5.0);
+        verify(eventPublisher).publishEvent(DepositChangedEvent.of(1L));
     }
 
     @Test
     void deleteDeposit_WithNonExistingId_ShouldThrowException() {
-        given(depositRepository.findById(999L)).willReturn(Optional.empty());
+        given(depositRepository.findForUpdateById(999L)).willReturn(Optional.empty());
         assertThatThrownBy(() -> depositService.deleteDeposit(999L))
-                .isInstanceOf(ClientNotFoundException.class)
+                .isInstanceOf(NoDepositsFoundException.class)
                 .hasMessage("Депозита с ID: 999 не существует.");
 
         verify(depositRepository, never()).delete(any(Deposit.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     // методы-конструкторы для создания тест. данных
@@ -364,4 +381,13 @@ class DepositServiceTest {
         deposit.setTermMonths(termMonths);
         return deposit;
     }
-}
\ No newline at end of file
+
+    private static DepositView maturingView(Long id, LocalDate maturityDate) {
+        return new DepositView(id, 1L, "Клиент", 1L, "Банк", "044525225",
+                maturityDate.minusMonths(12), 7.5, 12, maturityDate);
+    }
+
+    private static List<DepositView> toViews(List<Deposit> rows) {
+        return rows.stream().map(DepositView::from).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.BankDepositStats;
+import com.example.bank_backend.dto.ClientDepositStats;
+import com.example.bank_backend.dto.TermDepositStats;
+import com.example.bank_backend.exception.InvalidPageRequestException;
+import com.example.bank_backend.exception.NoDepositsFoundException;
+import com.example.bank_backend.model.Deposit;
+import com.example.bank_backend.repository.DepositRepository;
+import com.example.bank_backend.repository.DepositSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class DepositStatsServiceTest {
+
+    @Mock
+    private DepositRepository depositRepository;
+
+    @Mock
+    private DepositSummaryRepository depositSummaryRepository;
+
+    @InjectMocks
+    private DepositStatsService depositStatsService;
+
+    @Test
+    void findBankStats_ShouldComputeTermWeightedPercentage() {
+        // ставки 6 и 9 на сроки 3 и 12 месяцев: (6 * 3 + 9 * 12) / 15 = 8.4
+        given(depositRepository.findBankStats(ArgumentMatchers.<Specification<Deposit>>any())).willReturn(List.of(
+                new BankDepositStats(1L, "ПАО Сбербанк", "044525225", 2L, 7.5, 6.0, 9.0, 7.5, 126.0, 15L,
+                        1L, 0L, 1L, 0L, 0L)));
+
+        List<BankDepositStats> stats = depositStatsService.findBankStats(
+                null, null, LocalDate.of(2024, 1, 1), null, null, null, null, null);
+
+        assertThat(stats).singleElement().satisfies(bank -> {
+            assertThat(bank.weightedPercentage()).isEqualTo(8.4);
+            assertThat(bank.terms().months1To3()).isEqualTo(1L);
+            assertThat(bank.terms().months7To12()).isEqualTo(1L);
+        });
+    }
+
+    @Test
+    void findBankStats_WithoutFiltersOtherThanBank_ShouldReadMaintainedSummary() {
+        BankDepositStats summary = new BankDepositStats(2L, "АО Альфа-Банк", "044525593", 3L, 7.0, 7.2, 6.5, 7.5, 10.0,
+                new BankDepositStats.TermBuckets(0L, 1L, 2L, 0L, 0L));
+        given(depositSummaryRepository.findBankStats(2L)).willReturn(List.of(summary));
+
+        assertThat(depositStatsService.findBankStats(null, 2L, null, null, null, null, null, null))
+                .containsExactly(summary);
+        verifyNoInteractions(depositRepository);
+    }
+
+    @Test
+    void rebuildSummary_ShouldReportRows() {
+        given(depositSummaryRepository.rebuild()).willReturn(42);
+
+        assertThat(depositStatsService.rebuildSummary().rows()).isEqualTo(42);
+    }
+
+    @Test
+    void findTopClientStats_ShouldLimitRowsByPageSize() {
+        given(depositRepository.findTopClientStats(ArgumentMatchers.<Specification<Deposit>>any(), eq(500)))
+                .willReturn(List.of(new ClientDepositStats(3L, "ООО Ромашка", 12L, 2L, 7.25)));
+
+        List<ClientDepositStats> stats = depositStatsService.findTopClientStats(
+                null, 1L, null, null, null, null, null, null, 10_000);
+
+        assertThat(stats).extracting(ClientDepositStats::clientId).containsExactly(3L);
+    }
+
+    @Test
+    void findTopClientStats_WithNonPositiveSize_ShouldThrowException() {
+        assertThatThrownBy(() -> depositStatsService.findTopClientStats(
+                null, null, null, null, null, null, null, null, 0))
+                .isInstanceOf(InvalidPageRequestException.class);
+
+        verifyNoInteractions(depositRepository);
+    }
+
+    @Test
+    void findTermStats_WhenNoDepositsFound_ShouldThrowException() {
+        given(depositRepository.findTermStats(ArgumentMatchers.<Specification<Deposit>>any())).willReturn(List.of());
+
+        assertThatThrownBy(() -> depositStatsService.findTermStats(null, null, null, null, 50.0, null, null, null))
+                .isInstanceOf(NoDepositsFoundException.class);
+    }
+
+    @Test
+    void findTermStats_ShouldReturnRowsAsIs() {
+        List<TermDepositStats> rows = List.of(new TermDepositStats(6, 4L, 6.5), new TermDepositStats(12, 9L, 7.0));
+        given(depositRepository.findTermStats(ArgumentMatchers.<Specification<Deposit>>any())).willReturn(rows);
+
+        assertThat(depositStatsService.findTermStats(null, null, null, null, null, null, 6, 12)).isEqualTo(rows);
+    }
+}
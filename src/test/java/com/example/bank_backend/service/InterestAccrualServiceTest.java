@@ -0,0 +1,122 @@
+package com.example.bank_backend.service;
+
+import com.example.bank_backend.dto.AccrualConvention;
+import com.example.bank_backend.dto.AccrualSummary;
+import com.example.bank_backend.repository.DepositBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class InterestAccrualServiceTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 3, 15);
+
+    @Mock
+    private DepositBookRepository depositBookRepository;
+
+    private final List<Row> rows = new ArrayList<>();
+
+    private InterestAccrualService interestAccrualService;
+
+    @BeforeEach
+    void setUp() {
+        // книга читается при первом расчёте; epochDay_ShouldMatchLocalDate её не трогает
+        lenient().when(depositBookRepository.estimateSize()).thenReturn(-1L);
+        lenient().doAnswer(inv -> {
+            DepositBookRepository.RowHandler handler = inv.getArgument(0);
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                handler.accept(i + 1, 1, 1, row.openingDate(), row.percentage(), row.termMonths());
+            }
+            return null;
+        }).when(depositBookRepository).scan(any());
+        interestAccrualService = new InterestAccrualService(new DepositBook(depositBookRepository, false));
+    }
+
+    @Test
+    void accrue_Simple_ShouldAccrueActual365UntilMaturity() {
+        rows.add(new Row(LocalDate.of(2025, 1, 1), 10.0, 12));   // 73 дня из 365
+        rows.add(new Row(LocalDate.of(2024, 1, 15), 7.3, 12));   // погашен, 366 дней
+        rows.add(new Row(LocalDate.of(2025, 4, 1), 20.0, 6));    // ещё не открыт
+
+        AccrualSummary summary = interestAccrualService.accrue(AS_OF, AccrualConvention.SIMPLE);
+
+        assertThat(summary.deposits()).isEqualTo(2);
+        assertThat(summary.matured()).isEqualTo(1);
+        assertThat(summary.accruedInterest()).isCloseTo(0.10 * 73 / 365 + 0.073 * 366 / 365, within(1e-12));
+        assertThat(summary.maturityValue()).isCloseTo(1.10 + 1 + 0.073 * 366 / 365, within(1e-12));
+    }
+
+    @Test
+    void accrue_Monthly_ShouldCompoundOnMonthlyAnniversaries() {
+        rows.add(new Row(LocalDate.of(2025, 1, 31), 12.0, 12));  // 28.02 — годовщина, дальше 15 дней
+
+        AccrualSummary summary = interestAccrualService.accrue(AS_OF, AccrualConvention.MONTHLY);
+
+        assertThat(summary.accruedInterest()).isCloseTo(1.01 * (1 + 0.12 * 15 / 365) - 1, within(1e-12));
+        assertThat(summary.maturityValue()).isCloseTo(Math.pow(1.01, 12), within(1e-12));
+        assertThat(summary.averageEffectiveYield()).isCloseTo((Math.pow(1.01, 12) - 1) * 100, within(1e-9));
+    }
+
+    @Test
+    void accrue_ShouldMatchLocalDateArithmeticAcrossChunks() {
+        SplittableRandom random = new SplittableRandom(1);
+        int count = DepositBook.CHUNK_SIZE * 2 + 17;
+        for (int i = 0; i < count; i++) {
+            rows.add(new Row(LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3700)),
+                    0.01 + random.nextInt(2000) / 100.0, 1 + random.nextInt(120)));
+        }
+
+        for (AccrualConvention convention : AccrualConvention.values()) {
+            AccrualSummary summary = interestAccrualService.accrue(AS_OF, convention);
+
+            double expected = rows.stream().mapToDouble(row -> reference(row, convention)).sum();
+            assertThat(summary.accruedInterest()).isCloseTo(expected, within(1e-6));
+        }
+    }
+
+    @Test
+    void epochDay_ShouldMatchLocalDate() {
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.isBefore(LocalDate.of(2101, 3, 1)); date = date.plusDays(1)) {
+            assertThat(InterestAccrualService.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()))
+                    .isEqualTo(date.toEpochDay());
+        }
+    }
+
+    // Тот же расчёт через LocalDate
+    private static double reference(Row row, AccrualConvention convention) {
+        LocalDate opened = row.openingDate();
+        if (opened.isAfter(AS_OF)) {
+            return 0;
+        }
+        LocalDate matures = opened.plusMonths(row.termMonths());
+        double rate = row.percentage() / 100;
+        if (convention == AccrualConvention.SIMPLE) {
+            LocalDate end = AS_OF.isBefore(matures) ? AS_OF : matures;
+            return rate * ChronoUnit.DAYS.between(opened, end) / 365;
+        }
+        if (!AS_OF.isBefore(matures)) {
+            return Math.pow(1 + rate / 12, row.termMonths()) - 1;
+        }
+        long months = ChronoUnit.MONTHS.between(opened, AS_OF);
+        long days = ChronoUnit.DAYS.between(opened.plusMonths(months), AS_OF);
+        return Math.pow(1 + rate / 12, months) * (1 + rate * days / 365) - 1;
+    }
+
+    private record Row(LocalDate openingDate, double percentage, int termMonths) {
+    }
+}